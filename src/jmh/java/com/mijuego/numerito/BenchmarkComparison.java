@@ -0,0 +1,77 @@
+package com.mijuego.numerito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dos resultados JMH en formato JSON (por ejemplo, de dos commits).
+ *
+ * Muestra para cada benchmark el tiempo por operación y los bytes asignados
+ * por operación (gc.alloc.rate.norm) de ambos archivos y la diferencia relativa.
+ *
+ * Uso: BenchmarkComparison baseline.json actual.json
+ */
+public class BenchmarkComparison {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    record Measurement(double score, double allocNorm) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: BenchmarkComparison <baseline.json> <actual.json>");
+            System.exit(1);
+        }
+
+        Map<String, Measurement> baseline = read(new File(args[0]));
+        Map<String, Measurement> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s %12s %12s%n",
+            "Benchmark", "Baseline", "Actual", "Delta", "B/op base", "B/op actual");
+
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement now = entry.getValue();
+            Measurement before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %12s %12.1f%n",
+                    entry.getKey(), "-", now.score(), "nuevo", "-", now.allocNorm());
+                continue;
+            }
+            double delta = (now.score() - before.score()) / before.score() * 100.0;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%n",
+                entry.getKey(), before.score(), now.score(), delta,
+                before.allocNorm(), now.allocNorm());
+        }
+    }
+
+    /**
+     * Lee un archivo de resultados JMH indexado por nombre de benchmark y parámetros.
+     */
+    static Map<String, Measurement> read(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, Measurement> results = new LinkedHashMap<>();
+
+        for (JsonNode run : root) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(p ->
+                    key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            }
+
+            JsonNode primary = run.get("primaryMetric");
+            JsonNode alloc = run.path("secondaryMetrics").get(ALLOC_NORM);
+            results.put(key.toString(), new Measurement(
+                primary.get("score").asDouble(),
+                alloc != null ? alloc.get("score").asDouble() : Double.NaN
+            ));
+        }
+        return results;
+    }
+}
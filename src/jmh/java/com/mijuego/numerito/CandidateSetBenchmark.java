@@ -0,0 +1,65 @@
+package com.mijuego.numerito;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de {@link CandidateSet}: una partida completa seguida desde cero
+ * (crear el conjunto y aplicar cada intento) y un intento sobre un conjunto
+ * ya filtrado, el caso de todos los intentos después del primero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CandidateSetBenchmark {
+
+    private static final int SECRET = CodeIndex.indexOf(4271);
+
+    // Una partida típica de seis intentos hasta el acierto
+    private final int[] guesses = {
+        CodeIndex.indexOf(1234), CodeIndex.indexOf(5678), CodeIndex.indexOf(1290),
+        CodeIndex.indexOf(4217), CodeIndex.indexOf(4712), SECRET
+    };
+    private final int[] scores = new int[guesses.length];
+
+    private CandidateSet filtered;
+
+    @Setup
+    public void setUp() {
+        ScoreTable.preload();
+        for (int i = 0; i < guesses.length; i++) {
+            scores[i] = ScoreTable.score(guesses[i], SECRET);
+        }
+        filtered = new CandidateSet();
+        filtered.apply(guesses[0], scores[0]);
+    }
+
+    @Benchmark
+    public int trackedGame() {
+        CandidateSet candidates = new CandidateSet();
+        int report = 0;
+        for (int i = 0; i < guesses.length; i++) {
+            report = candidates.apply(guesses[i], scores[i]);
+        }
+        return report;
+    }
+
+    @Benchmark
+    public int guessOnFilteredSet() {
+        // Repetir un intento no quita más códigos: el conjunto queda igual entre llamadas
+        return filtered.apply(guesses[0], scores[0]);
+    }
+}
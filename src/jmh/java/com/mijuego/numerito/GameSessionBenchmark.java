@@ -0,0 +1,86 @@
+package com.mijuego.numerito;
+
+import com.mijuego.numerito.exception.InvalidGuessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del camino caliente de GameSession: evaluación de intentos
+ * válidos e inválidos y la validación de reglas por separado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSessionBenchmark {
+
+    // Intentos válidos que nunca ganan contra el secreto "1234"
+    private static final String[] VALID_GUESSES = {"5678", "1243", "4321", "9012", "1325", "3456"};
+
+    /**
+     * Entradas inválidas, una por cada regla de validación.
+     */
+    @State(Scope.Thread)
+    public static class InvalidInput {
+        @Param({"123", "12a4", "0123", "1223"})
+        public String guess;
+    }
+
+    private GameSession session;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        session = new GameSession("1234");
+        next = 0;
+    }
+
+    private String nextValidGuess() {
+        String guess = VALID_GUESSES[next];
+        next = (next + 1) % VALID_GUESSES.length;
+        return guess;
+    }
+
+    @Benchmark
+    public GuessResult guessValid() throws InvalidGuessException {
+        return session.guess(nextValidGuess());
+    }
+
+    @Benchmark
+    public Object guessInvalid(InvalidInput input) {
+        try {
+            return session.guess(input.guess);
+        } catch (InvalidGuessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public int validateGuessValid() throws InvalidGuessException {
+        return GameSession.validateGuess(nextValidGuess());
+    }
+
+    @Benchmark
+    public Object validateGuessInvalid(InvalidInput input) {
+        try {
+            GameSession.validateGuess(input.guess);
+            return input.guess;
+        } catch (InvalidGuessException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mijuego.numerito;
+
+import com.mijuego.numerito.exception.InvalidGuessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intentos concurrentes sobre GameSession con todos los núcleos disponibles.
+ *
+ * independentGames mide partidas distintas por hilo (debe escalar con los
+ * núcleos); sharedGame mide el peor caso, todos los hilos sobre la misma
+ * partida compitiendo por el compare-and-set del estado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class GameSessionContentionBenchmark {
+
+    @State(Scope.Thread)
+    public static class PerThreadGame {
+        public final GameSession session = new GameSession("1234");
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedGame {
+        public final GameSession session = new GameSession("1234");
+    }
+
+    @Benchmark
+    public GuessResult independentGames(PerThreadGame game) throws InvalidGuessException {
+        return game.session.guess("5678");
+    }
+
+    @Benchmark
+    public GuessResult sharedGame(SharedGame game) throws InvalidGuessException {
+        return game.session.guess("5678");
+    }
+}
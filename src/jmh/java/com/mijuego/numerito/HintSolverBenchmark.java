@@ -0,0 +1,86 @@
+package com.mijuego.numerito;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de las pistas de HintSolver (SampleTime reporta p99 y p99.9).
+ *
+ * secondMoveUncached es el peor caso real: una partida con una sola jugada cuya
+ * pista todavía no está en el caché, que reparte hasta ~1500 secretos posibles
+ * por cada uno de los 4536 intentos.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HintSolverBenchmark {
+
+    @Param({"MINIMAX", "ENTROPY"})
+    public HintSolver.Strategy strategy;
+
+    private HintSolver solver;
+    private int[][] secondMoves;
+    private int[][] thirdMoves;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        solver = new HintSolver(strategy, 0);
+        int opening = solver.hint(new int[0]).guessIndex();
+
+        // Una jugada por resultado posible de la apertura, y una segunda jugada fija
+        secondMoves = new int[CodeIndex.SIZE][];
+        thirdMoves = new int[CodeIndex.SIZE][];
+        int second = CodeIndex.indexOf(5678);
+        for (int secret = 0; secret < CodeIndex.SIZE; secret++) {
+            secondMoves[secret] = new int[] {MoveHistory.pack(opening, ScoreTable.score(opening, secret))};
+            thirdMoves[secret] = new int[] {
+                secondMoves[secret][0],
+                MoveHistory.pack(second, ScoreTable.score(second, secret))
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        solver.close();
+    }
+
+    @Benchmark
+    public Hint opening() {
+        return solver.hint(new int[0]);
+    }
+
+    @Benchmark
+    public Hint secondMoveUncached() {
+        // Con dos jugadas no pasa por el caché de segunda jugada: se repite la misma
+        int[] moves = secondMoves[ThreadLocalRandom.current().nextInt(CodeIndex.SIZE)];
+        return solver.hint(new int[] {moves[0], moves[0]});
+    }
+
+    @Benchmark
+    public Hint secondMoveCached() {
+        return solver.hint(secondMoves[ThreadLocalRandom.current().nextInt(CodeIndex.SIZE)]);
+    }
+
+    @Benchmark
+    public Hint thirdMove() {
+        return solver.hint(thirdMoves[ThreadLocalRandom.current().nextInt(CodeIndex.SIZE)]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mijuego.numerito;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la lectura en {@link ScoreTable} cuando muchas partidas
+ * comparten el secreto, como en el desafío diario: intentos al azar contra un
+ * único secreto, leyendo la columna del secreto ({@link ScoreTable#score}, un
+ * salto de 4536 bytes por intento) o su fila ({@link ScoreTable#scoreAgainst},
+ * 4.5 KB contiguos).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreTableBenchmark {
+
+    private static final int GUESSES = 1 << 16;
+
+    private final int[] guesses = new int[GUESSES];
+    private int secret;
+
+    @Setup
+    public void setUp() {
+        ScoreTable.preload();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < GUESSES; i++) {
+            guesses[i] = random.nextInt(CodeIndex.SIZE);
+        }
+        secret = random.nextInt(CodeIndex.SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GUESSES)
+    public int sharedSecretColumn() {
+        int sum = 0;
+        for (int guess : guesses) {
+            sum += ScoreTable.score(guess, secret);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GUESSES)
+    public int sharedSecretRow() {
+        int sum = 0;
+        for (int guess : guesses) {
+            sum += ScoreTable.scoreAgainst(guess, secret);
+        }
+        return sum;
+    }
+}
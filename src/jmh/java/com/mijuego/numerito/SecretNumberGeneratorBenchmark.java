@@ -0,0 +1,71 @@
+package com.mijuego.numerito;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de generación del número secreto.
+ *
+ * Cada generador se comparte entre hilos como en producción, para medir la
+ * contención en ráfagas de creación de partidas: el por defecto
+ * (ThreadLocalRandom por hilo), el de semilla (una suma atómica por secreto)
+ * y uno con un SecureRandom compartido, como era el generador por defecto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecretNumberGeneratorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Generators {
+        public final SecretNumberGenerator threadLocal = new SecretNumberGenerator();
+        public final SecretNumberGenerator seeded = new SecretNumberGenerator(42);
+        public final SecretNumberGenerator secureRandom = new SecretNumberGenerator(new SecureRandom());
+    }
+
+    @Benchmark
+    public int threadLocal(Generators state) {
+        return state.threadLocal.nextIndex();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int threadLocalContended(Generators state) {
+        return state.threadLocal.nextIndex();
+    }
+
+    @Benchmark
+    public int seeded(Generators state) {
+        return state.seeded.nextIndex();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int seededContended(Generators state) {
+        return state.seeded.nextIndex();
+    }
+
+    @Benchmark
+    public int secureRandom(Generators state) {
+        return state.secureRandom.nextIndex();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int secureRandomContended(Generators state) {
+        return state.secureRandom.nextIndex();
+    }
+}
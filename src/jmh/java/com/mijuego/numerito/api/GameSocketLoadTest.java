@@ -0,0 +1,301 @@
+package com.mijuego.numerito.api;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.NumeoritoGameApplication;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mide cuánto cuesta mantener abiertas muchas conexiones al canal de eventos
+ * de las partidas (/api/game/{gameId}/ws) y cuánto tarda en llegar un intento.
+ *
+ * Lanza la aplicación en modo reactivo en un proceso aparte (para que la
+ * memoria medida sea solo la del servidor), crea una partida por conexión y
+ * abre las conexiones, más W conexiones extra mirando una misma partida.
+ * Con todas abiertas y sin tráfico compara el heap tras un GC completo y la
+ * memoria residente (RSS) contra las de antes de conectar. Después mide:
+ *
+ * - push: desde que se envía un intento por REST a una partida al azar hasta
+ *   que llega a la conexión que la mira
+ * - fan-out: desde que se envía un intento a la partida compartida hasta que
+ *   llegó a todas sus conexiones
+ *
+ * El heap se lee de /actuator/prometheus tras un jcmd GC.run y la RSS de
+ * /proc, así que la memoria solo se informa en Linux con un JDK completo.
+ * Cada conexión es un descriptor de archivo en cada proceso: el límite del
+ * sistema (ulimit -n) tiene que superar conexiones + W.
+ *
+ * Uso: GameSocketLoadTest [conexiones] [conexiones-a-una-partida] [intentos]
+ */
+public class GameSocketLoadTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final int CONNECTING = 256;
+    private static final int IDLE_SECONDS = 5;
+    private static final int FAN_OUT_ROUNDS = 20;
+    private static final Pattern GAME_ID = Pattern.compile("\"([0-9a-f-]{8,})\"");
+    private static final Pattern HEAP_USED = Pattern.compile(
+        "^jvm_memory_used_bytes\\{area=\"heap\".*} (\\S+)$", Pattern.MULTILINE);
+
+    private static String base;
+    private static final java.net.http.HttpClient http = java.net.http.HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(1))
+        .build();
+
+    // Intento que se está esperando en la medición de push o fan-out
+    private static volatile int awaitedGame = -1;
+    private static volatile String awaitedGuess;
+    private static volatile CountDownLatch arrivals;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int watchers = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int guesses = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        int port = freePort();
+        base = "http://127.0.0.1:" + port;
+        List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-Xmx512m",
+            "-classpath", System.getProperty("java.class.path"),
+            NumeoritoGameApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.main.web-application-type=reactive",
+            "--supabase.url=http://127.0.0.1:9",
+            "--supabase.key=socket-load"));
+        Process server = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            awaitStarted(server);
+            run(server.pid(), port, connections, watchers, guesses);
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+        // Los event loops de Reactor Netty no son daemon
+        System.exit(0);
+    }
+
+    private static void run(long pid, int port, int connections, int watchers, int guesses) throws Exception {
+        String[] gameIds = createGames(connections);
+        long[] before = measure(pid);
+
+        // Conexión i mira la partida i; las W extra miran la partida 0
+        int total = connections + watchers;
+        CountDownLatch opened = new CountDownLatch(total);
+        Semaphore connecting = new Semaphore(CONNECTING);
+        HttpClient client = HttpClient.newConnection();
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            int game = i < connections ? i : 0;
+            connecting.acquire();
+            client.websocket()
+                .uri("ws://127.0.0.1:" + port + "/api/game/" + gameIds[game] + "/ws")
+                .handle((in, out) -> in.receiveFrames()
+                    .ofType(TextWebSocketFrame.class)
+                    .doOnNext(frame -> {
+                        String text = frame.text();
+                        if (text.startsWith("{\"type\":\"state\"")) {
+                            connecting.release();
+                            opened.countDown();
+                        } else if (game == awaitedGame && text.contains(awaitedGuess)) {
+                            arrivals.countDown();
+                        }
+                    })
+                    .then())
+                .subscribe(null, error -> {
+                    System.err.println("❌ Conexión " + game + ": " + error);
+                    connecting.release();
+                });
+        }
+        if (!opened.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Solo se abrieron " + (total - opened.getCount()) + " conexiones");
+        }
+        long openMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(IDLE_SECONDS));
+        long[] after = measure(pid);
+
+        System.out.printf("Java %s, %d procesadores, %,d conexiones (%,d a una misma partida), abiertas en %,d ms%n",
+            Runtime.version(), Runtime.getRuntime().availableProcessors(), total, watchers + 1, openMillis);
+        System.out.printf("%-10s %12s %12s %14s%n", "memoria", "antes MB", "con ellas MB", "por cada una");
+        printMemory("heap", before[0], after[0], total);
+        printMemory("RSS", before[1], after[1], total);
+
+        long[] push = new long[guesses];
+        int measured = 0;
+        for (int i = 0; i < guesses; i++) {
+            int game = 1 + ThreadLocalRandom.current().nextInt(connections - 1);
+            long nanos = guessAndAwait(gameIds, game, 1);
+            if (nanos >= 0) {
+                push[measured++] = nanos;
+            }
+        }
+        long[] fanOut = new long[FAN_OUT_ROUNDS];
+        int rounds = 0;
+        for (int i = 0; i < FAN_OUT_ROUNDS; i++) {
+            long nanos = guessAndAwait(gameIds, 0, watchers + 1);
+            if (nanos >= 0) {
+                fanOut[rounds++] = nanos;
+            }
+        }
+
+        System.out.printf("%-10s %8s %10s %10s %10s%n", "latencia", "n", "p50 ms", "p99 ms", "max ms");
+        printLatency("push", Arrays.copyOf(push, measured));
+        printLatency("fan-out", Arrays.copyOf(fanOut, rounds));
+    }
+
+    /**
+     * Envía un intento por REST y espera a que llegue a las conexiones de la
+     * partida; retorna los nanos transcurridos, o -1 si la partida ya terminó.
+     */
+    private static long guessAndAwait(String[] gameIds, int game, int expected) throws Exception {
+        String guess = CodeIndex.toString(ThreadLocalRandom.current().nextInt(CodeIndex.SIZE));
+        awaitedGuess = "\"guess\":\"" + guess + "\"";
+        arrivals = new CountDownLatch(expected);
+        awaitedGame = game;
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = http.send(
+            HttpRequest.newBuilder(URI.create(base + "/api/game/" + gameIds[game] + "/guess"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"guess\":\"" + guess + "\"}"))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            awaitedGame = -1;
+            return -1;
+        }
+        if (!arrivals.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("El intento no llegó a " + arrivals.getCount() + " conexiones");
+        }
+        long nanos = System.nanoTime() - start;
+        awaitedGame = -1;
+        return nanos;
+    }
+
+    private static String[] createGames(int count) throws Exception {
+        List<String> gameIds = new ArrayList<>(count);
+        while (gameIds.size() < count) {
+            int batch = Math.min(1000, count - gameIds.size());
+            String body = http.send(
+                HttpRequest.newBuilder(URI.create(base + "/api/game/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"count\":" + batch + "}"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = GAME_ID.matcher(body);
+            while (matcher.find()) {
+                gameIds.add(matcher.group(1));
+            }
+        }
+        return gameIds.toArray(String[]::new);
+    }
+
+    /**
+     * Heap usado tras un GC completo y RSS del servidor, en bytes (-1 si no se pueden leer).
+     */
+    private static long[] measure(long pid) throws Exception {
+        Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+        long heap = -1;
+        if (Files.isExecutable(jcmd)) {
+            new ProcessBuilder(jcmd.toString(), Long.toString(pid), "GC.run")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start()
+                .waitFor(1, TimeUnit.MINUTES);
+            String scrape = http.send(HttpRequest.newBuilder(URI.create(base + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = HEAP_USED.matcher(scrape);
+            heap = 0;
+            while (matcher.find()) {
+                heap += (long) Double.parseDouble(matcher.group(1));
+            }
+        }
+        return new long[] {heap, residentBytes(pid)};
+    }
+
+    private static void printMemory(String name, long before, long after, int connections) {
+        if (before < 0 || after < 0) {
+            System.out.printf("%-10s %12s %12s %14s%n", name, "-", "-", "-");
+            return;
+        }
+        System.out.printf("%-10s %12.1f %12.1f %,12d B%n", name, before / 1048576.0, after / 1048576.0,
+            (after - before) / connections);
+    }
+
+    private static void printLatency(String name, long[] nanos) {
+        if (nanos.length == 0) {
+            System.out.printf("%-10s %8d %10s %10s %10s%n", name, 0, "-", "-", "-");
+            return;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-10s %8d %10.2f %10.2f %10.2f%n", name, nanos.length,
+            nanos[nanos.length / 2] / 1e6, nanos[(int) (nanos.length * 0.99)] / 1e6, nanos[nanos.length - 1] / 1e6);
+    }
+
+    private static void awaitStarted(Process server) throws Exception {
+        HttpRequest create = HttpRequest.newBuilder(URI.create(base + "/api/game"))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó con código " + server.exitValue());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("La aplicación no respondió en " + TIMEOUT);
+            }
+            try {
+                if (http.send(create, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Todavía no escucha
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Sin /proc (no es Linux)
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
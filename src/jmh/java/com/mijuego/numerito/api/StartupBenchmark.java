@@ -0,0 +1,184 @@
+package com.mijuego.numerito.api;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el arranque en frío de la aplicación empaquetada con -Pfastboot.
+ *
+ * Para cada modo lanza la aplicación en un proceso nuevo varias veces y mide
+ * el tiempo desde que arranca el proceso hasta el primer POST /api/game que
+ * responde 201, y la memoria residente (RSS) tras unos segundos sin carga:
+ *
+ * - fat: el jar ejecutable de siempre (java -jar)
+ * - thin: el jar delgado con las dependencias en target/lib
+ * - aot: el jar delgado con el contexto procesado en build (spring.aot.enabled)
+ * - aot+cds: lo anterior más un archivo AppCDS generado con una corrida de
+ *   entrenamiento que sale al terminar el refresh del contexto
+ *
+ * El archivo CDS se regenera en cada ejecución, igual que en Dockerfile.fastboot.
+ * La RSS se lee de /proc, así que la memoria solo se informa en Linux.
+ *
+ * Uso: StartupBenchmark directorio-target nombre-final [corridas] [segundos-idle] [modo ...]
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(args[0]);
+        String finalName = args[1];
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int idleSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        List<String> modes = args.length > 4
+            ? Arrays.asList(args).subList(4, args.length)
+            : List.of("fat", "thin", "aot", "aot+cds");
+
+        Path fatJar = target.resolve(finalName + ".jar");
+        Path thinJar = target.resolve(finalName + "-fastboot.jar");
+        Path archive = target.resolve("fastboot.jsa");
+        if (!Files.exists(thinJar)) {
+            throw new IllegalStateException("Falta " + thinJar + ": compilar con mvn -Pfastboot package");
+        }
+        if (modes.contains("aot+cds")) {
+            train(thinJar, archive);
+        }
+
+        System.out.printf("Java %s, %d procesadores, %d corridas por modo%n",
+            Runtime.version(), Runtime.getRuntime().availableProcessors(), runs);
+        System.out.printf("%-8s %12s %12s %12s %12s%n", "modo", "p50 ms", "min ms", "max ms", "RSS idle MB");
+        for (String mode : modes) {
+            List<String> command = switch (mode) {
+                case "fat" -> java("-jar", fatJar.toString());
+                case "thin" -> java("-jar", thinJar.toString());
+                case "aot" -> java("-Dspring.aot.enabled=true", "-jar", thinJar.toString());
+                case "aot+cds" -> java("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+                    "-Dspring.aot.enabled=true", "-jar", thinJar.toString());
+                default -> throw new IllegalArgumentException("Modo desconocido: " + mode);
+            };
+            long[] millis = new long[runs];
+            long[] rss = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long[] result = coldStart(command, idleSeconds);
+                millis[i] = result[0];
+                rss[i] = result[1];
+            }
+            Arrays.sort(millis);
+            Arrays.sort(rss);
+            System.out.printf("%-8s %,12d %,12d %,12d %12s%n", mode, millis[runs / 2], millis[0], millis[runs - 1],
+                rss[runs / 2] < 0 ? "-" : Long.toString(rss[runs / 2] >> 10));
+        }
+    }
+
+    private static List<String> java(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(args));
+        return command;
+    }
+
+    /**
+     * Corrida de entrenamiento: carga las clases del arranque y las vuelca al archivo al salir.
+     */
+    private static void train(Path thinJar, Path archive) throws Exception {
+        Files.deleteIfExists(archive);
+        List<String> command = java("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=off",
+            "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh", "-jar", thinJar.toString());
+        command.addAll(appArguments(0));
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        if (!process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("La corrida de entrenamiento no generó " + archive);
+        }
+    }
+
+    /**
+     * Arranca la aplicación y devuelve los millis hasta el primer 201 y la RSS
+     * en KB tras idleSeconds sin carga (-1 si no se puede leer).
+     */
+    private static long[] coldStart(List<String> javaCommand, int idleSeconds) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(javaCommand);
+        command.addAll(appArguments(port));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest create = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/game"))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("La aplicación no respondió en " + TIMEOUT);
+                }
+                try {
+                    if (client.send(create, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // Todavía no escucha
+                }
+                Thread.sleep(5);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(idleSeconds));
+            return new long[] {millis, residentKb(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // Supabase apunta a un puerto cerrado: el arranque no debe depender de él
+    private static List<String> appArguments(int port) {
+        return List.of(
+            "--server.port=" + port,
+            "--supabase.url=http://127.0.0.1:9",
+            "--supabase.key=startup");
+    }
+
+    private static long residentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Sin /proc (no es Linux)
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
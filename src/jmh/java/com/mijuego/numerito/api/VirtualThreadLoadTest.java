@@ -0,0 +1,272 @@
+package com.mijuego.numerito.api;
+
+import com.mijuego.numerito.NumeoritoGameApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compara la capacidad de la API con hilos de plataforma y con virtual threads
+ * (spring.threads.virtual.enabled) cuando Supabase responde lento.
+ *
+ * Levanta un stub de Supabase que tarda la latencia indicada en responder y,
+ * para cada latencia y cada modo, la aplicación apuntando a él. La carga son N
+ * clientes concurrentes guardando scores en lazo cerrado más unos pocos
+ * jugando partidas, para ver si las partidas se resienten mientras los scores
+ * esperan a Supabase. El pool de conexiones a Supabase se agranda a N para que
+ * el límite sea el servidor y no el pool.
+ *
+ * Informa scores por segundo, latencias, errores y el pico de hilos de
+ * plataforma del servidor (los virtual threads no cuentan). Sin Java 21 el
+ * modo virtual se ignora y se comporta como el de plataforma.
+ *
+ * Uso: VirtualThreadLoadTest [concurrencia] [segundos] [latencia-ms ...]
+ */
+public class VirtualThreadLoadTest {
+
+    private static final int GAME_CLIENTS = 8;
+    private static final String[] GUESSES = {"1234", "5678", "9012", "3456", "7890", "2468"};
+    private static final String LOAD_THREAD_PREFIX = "load-";
+    private static final String STUB_THREAD_PREFIX = "stub-";
+
+    private static final byte[] SCORE = ("{\"playerName\":\"Carga\",\"attempts\":5,"
+        + "\"gameId\":\"load\",\"timeSeconds\":60}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SAVED = ("[{\"id\":1,\"player_name\":\"Carga\",\"attempts\":5,"
+        + "\"game_id\":\"load\",\"time_seconds\":60,\"created_at\":\"2024-01-01T00:00:00Z\"}]")
+        .getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int[] latencies = args.length > 2
+            ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+            : new int[] {50, 500};
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version().feature()
+                + ": sin virtual threads, los dos modos usan hilos de plataforma");
+        }
+        System.out.printf("%8s %-9s %5s %10s %9s %9s %10s %7s %8s%n",
+            "upstream", "threads", "conc", "scores/s", "p50 ms", "p99 ms", "game p99", "errors", "peak");
+
+        for (int latency : latencies) {
+            HttpServer supabase = supabaseStub(latency);
+            try {
+                for (boolean virtual : new boolean[] {false, true}) {
+                    try (ConfigurableApplicationContext context = start(supabase, virtual, concurrency)) {
+                        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                        // Calentamiento: un tercio del tiempo, sin medir
+                        run(port, concurrency, Math.max(1, seconds / 3));
+                        Result result = run(port, concurrency, seconds);
+                        System.out.printf("%6dms %-9s %5d %,10.0f %9.1f %9.1f %10.1f %7d %8d%n",
+                            latency, virtual ? "virtual" : "platform", concurrency,
+                            (double) result.scores().length / seconds,
+                            percentile(result.scores(), 0.50), percentile(result.scores(), 0.99),
+                            percentile(result.games(), 0.99), result.errors(), result.peakThreads());
+                    }
+                }
+            } finally {
+                supabase.stop(0);
+            }
+        }
+        // Quedan hilos no daemon de los recursos globales de Reactor Netty
+        System.exit(0);
+    }
+
+    /**
+     * Stub de la API REST de Supabase: cada inserción tarda latencyMillis.
+     */
+    private static HttpServer supabaseStub(int latencyMillis) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> thread(runnable, STUB_THREAD_PREFIX)));
+        server.createContext("/rest/v1/scores", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "GET".equals(exchange.getRequestMethod()) ? "[]".getBytes(StandardCharsets.UTF_8) : SAVED;
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static ConfigurableApplicationContext start(HttpServer supabase, boolean virtual, int concurrency) {
+        // Como argumentos de línea de comandos, para que ganen sobre application.properties
+        return new SpringApplicationBuilder(NumeoritoGameApplication.class).run(
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--logging.level.com.mijuego.numerito=WARN",
+            "--supabase.url=http://127.0.0.1:" + supabase.getAddress().getPort(),
+            "--supabase.key=benchmark",
+            "--numerito.supabase.max-connections=" + concurrency,
+            "--numerito.supabase.pending-acquire-max=" + concurrency,
+            "--numerito.supabase.response-timeout=30s",
+            "--numerito.leaderboard.index-capacity=0");
+    }
+
+    private static Result run(int port, int concurrency, int seconds) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4, runnable -> thread(runnable, LOAD_THREAD_PREFIX));
+        ExecutorService players = Executors.newFixedThreadPool(GAME_CLIENTS, runnable -> thread(runnable, LOAD_THREAD_PREFIX));
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> thread(runnable, LOAD_THREAD_PREFIX));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+        String base = "http://127.0.0.1:" + port + "/api";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        AtomicLong peakThreads = new AtomicLong();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet(serverThreads(), Math::max),
+            0, 100, TimeUnit.MILLISECONDS);
+        try {
+            Recorder scores = new Recorder();
+            List<CompletableFuture<Void>> savers = new ArrayList<>();
+            HttpRequest save = HttpRequest.newBuilder(URI.create(base + "/scores"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(SCORE))
+                .build();
+            for (int i = 0; i < concurrency; i++) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                saveLoop(client, save, deadline, scores, done);
+                savers.add(done);
+            }
+
+            Recorder games = new Recorder();
+            List<Future<?>> gamers = new ArrayList<>();
+            for (int i = 0; i < GAME_CLIENTS; i++) {
+                gamers.add(players.submit(() -> play(client, base, deadline, games)));
+            }
+
+            CompletableFuture.allOf(savers.toArray(CompletableFuture[]::new)).get(seconds + 60L, TimeUnit.SECONDS);
+            for (Future<?> gamer : gamers) {
+                gamer.get();
+            }
+            return new Result(scores.sorted(), games.sorted(), scores.errors.sum() + games.errors.sum(),
+                peakThreads.get());
+        } finally {
+            sampler.shutdownNow();
+            players.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    // Cliente de scores en lazo cerrado, sin ocupar un hilo mientras espera
+    private static void saveLoop(HttpClient client, HttpRequest save, long deadline, Recorder recorder,
+                                 CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(save, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            recorder.record(System.nanoTime() - start, error == null && response.statusCode() < 300);
+            saveLoop(client, save, deadline, recorder, done);
+        });
+    }
+
+    private static Void play(HttpClient client, String base, long deadline, Recorder recorder) throws Exception {
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base + "/game"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(System.nanoTime() - start, created.statusCode() == 201);
+
+            String body = created.body();
+            String gameId = body.substring(body.indexOf("\"gameId\":\"") + 10, body.indexOf("\",", 11));
+            URI guess = URI.create(base + "/game/" + gameId + "/guess");
+            for (int i = 0; i < GUESSES.length && System.nanoTime() < deadline; i++) {
+                start = System.nanoTime();
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(guess)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"guess\":\"" + GUESSES[i] + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+                recorder.record(System.nanoTime() - start, response.statusCode() < 500);
+            }
+        }
+        return null;
+    }
+
+    private static Thread thread(Runnable runnable, String prefix) {
+        Thread thread = new Thread(runnable, prefix + "thread");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Hilos de plataforma vivos sin contar los del generador de carga ni los del stub.
+     */
+    private static long serverThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .map(Thread::getName)
+            .filter(name -> !name.startsWith(LOAD_THREAD_PREFIX))
+            .filter(name -> !name.startsWith(STUB_THREAD_PREFIX))
+            .filter(name -> !name.startsWith("HttpClient-"))
+            .count();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    private record Result(long[] scores, long[] games, long errors, long peakThreads) {
+    }
+
+    /**
+     * Latencias de las peticiones correctas en nanos y cantidad de errores.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        final LongAdder errors = new LongAdder();
+
+        synchronized void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.increment();
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.mijuego.numerito.api;
+
+import com.mijuego.numerito.NumeoritoGameApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara latencia y throughput de la API en el modo servlet (Tomcat) y en el
+ * modo reactivo (Netty) con la misma carga.
+ *
+ * Levanta la aplicación en cada modo en un puerto libre y la carga con
+ * N clientes concurrentes en lazo cerrado: cada uno crea una partida, hace
+ * intentos y consulta el estado. Primero calienta el JIT y después mide; al
+ * final informa peticiones por segundo, percentiles de latencia, heap usado
+ * tras GC e hilos del servidor.
+ *
+ * Los scores no se cargan: dependen de la latencia de Supabase, no del stack.
+ *
+ * Uso: WebStackLoadTest [concurrencia] [segundos] [servlet|reactive ...]
+ */
+public class WebStackLoadTest {
+
+    private static final int GUESSES_PER_GAME = 6;
+    private static final String LOAD_THREAD_PREFIX = "load-";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String[] stacks = args.length > 2
+            ? Arrays.copyOfRange(args, 2, args.length)
+            : new String[] {"servlet", "reactive"};
+
+        System.out.printf("%-9s %5s %10s %9s %9s %9s %9s %8s%n",
+            "stack", "conc", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "heap MB", "threads");
+        for (String stack : stacks) {
+            try (ConfigurableApplicationContext context = start(stack)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                // Calentamiento: un tercio del tiempo, sin medir
+                run(port, concurrency, Math.max(1, seconds / 3));
+                Result result = run(port, concurrency, seconds);
+                System.out.printf("%-9s %5d %,10.0f %9.2f %9.2f %9.2f %9d %8d%n",
+                    stack, concurrency, result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                    usedHeapMb(), serverThreads());
+            }
+        }
+        // Quedan hilos no daemon de los recursos globales de Reactor Netty
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(String stack) {
+        // Como argumentos de línea de comandos, para que ganen sobre application.properties
+        return new SpringApplicationBuilder(NumeoritoGameApplication.class).run(
+            "--spring.main.web-application-type=" + stack,
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--logging.level.com.mijuego.numerito=WARN",
+            "--supabase.url=http://127.0.0.1:9",
+            "--supabase.key=benchmark",
+            "--numerito.leaderboard.index-capacity=0");
+    }
+
+    private static Result run(int port, int concurrency, int seconds) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2, WebStackLoadTest::loadThread);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+        String base = "http://127.0.0.1:" + port + "/api/game";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService players = Executors.newFixedThreadPool(concurrency, WebStackLoadTest::loadThread);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(players.submit(() -> play(client, base, deadline)));
+            }
+            long[][] perPlayer = new long[concurrency][];
+            for (int i = 0; i < concurrency; i++) {
+                perPlayer[i] = futures.get(i).get();
+            }
+            return Result.of(perPlayer, seconds);
+        } finally {
+            players.shutdownNow();
+            clientExecutor.shutdownNow();
+            players.awaitTermination(5, TimeUnit.SECONDS);
+            clientExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Thread loadThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, LOAD_THREAD_PREFIX);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Hilos vivos del proceso sin contar los del generador de carga.
+     */
+    private static long serverThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> !thread.getName().startsWith(LOAD_THREAD_PREFIX))
+            .filter(thread -> !thread.getName().startsWith("HttpClient-"))
+            .count();
+    }
+
+    /**
+     * Juega partidas hasta el deadline y devuelve la latencia de cada petición en nanos.
+     */
+    private static long[] play(HttpClient client, String base, long deadline) throws Exception {
+        long[] latencies = new long[1 << 16];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            String created = send(client, HttpRequest.newBuilder(URI.create(base))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+            latencies = record(latencies, count++, System.nanoTime() - start);
+
+            String gameId = created.substring(created.indexOf("\"gameId\":\"") + 10, created.indexOf("\",", 11));
+            URI guess = URI.create(base + "/" + gameId + "/guess");
+            URI state = URI.create(base + "/" + gameId);
+            for (int i = 0; i < GUESSES_PER_GAME && System.nanoTime() < deadline; i++) {
+                String body = "{\"guess\":\"" + (1023 + random.nextInt(8_000)) + "\"}";
+                start = System.nanoTime();
+                send(client, HttpRequest.newBuilder(guess)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+                latencies = record(latencies, count++, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                send(client, HttpRequest.newBuilder(state).GET());
+                latencies = record(latencies, count++, System.nanoTime() - start);
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String send(HttpClient client, HttpRequest.Builder request) throws Exception {
+        // Los intentos con cifras repetidas responden 400: también cuentan como petición atendida
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static long[] record(long[] latencies, int index, long nanos) {
+        if (index == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[index] = nanos;
+        return latencies;
+    }
+
+    private static long usedHeapMb() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+    }
+
+    private record Result(long[] sorted, int seconds) {
+
+        static Result of(long[][] perPlayer, int seconds) {
+            long[] all = Arrays.stream(perPlayer).flatMapToLong(Arrays::stream).toArray();
+            Arrays.sort(all);
+            return new Result(all, seconds);
+        }
+
+        double throughput() {
+            return (double) sorted.length / seconds;
+        }
+
+        double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mijuego.numerito.api.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.ScoreTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la serialización JSON de GuessResponse, con un ObjectMapper
+ * construido igual que el que usa Spring MVC, contra los bytes precodificados
+ * de GuessResponseEncoder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuessResponseSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectWriter writer = objectMapper.writerFor(GuessResponse.class);
+    private final GuessResult result = new GuessResult(1, 2, 1, false, 3);
+    private final int outcome = GuessOutcome.pack(ScoreTable.pack(1, 2), 3);
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(GuessResponse.from(result, false));
+    }
+
+    @Benchmark
+    public byte[] encodePrecomputed() {
+        return GuessResponseEncoder.encode(outcome);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mijuego.numerito.api.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.api.service.GameIds;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del costo de formato de un intento: leer el request y escribir la
+ * respuesta en JSON contra el frame binario de {@link GuessFrame}. El
+ * resultado del intento es fijo para medir solo la conversión.
+ *
+ * - json: Jackson lee GuessRequest (con un ObjectMapper como el de Spring
+ *   MVC), se valida el intento y se escribe con GuessResponseEncoder
+ * - jsonValidated: lo anterior más la Bean Validation de @Valid (@NotBlank y
+ *   el @Pattern de GuessRequest), como en el endpoint JSON
+ * - binary: GuessFrame.decode, CodeIndex.parse(int) y GuessFrame.encode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuessWireBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectReader reader = objectMapper.readerFor(GuessRequest.class);
+    private final String gameId = UUID.randomUUID().toString();
+    private final int outcome = GuessOutcome.pack(ScoreTable.pack(1, 2), 3);
+
+    private final byte[] json = "{\"guess\":\"1234\"}".getBytes(StandardCharsets.UTF_8);
+    private final byte[] frame = ByteBuffer.allocate(GuessFrame.REQUEST_LENGTH)
+        .putLong(GameIds.high(gameId))
+        .putLong(GameIds.low(gameId))
+        .putShort((short) 1234)
+        .array();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        GuessRequest request = reader.readValue(json);
+        int guessIndex = CodeIndex.parse(request.guess());
+        return GuessResponseEncoder.encode(outcome + (guessIndex & 0));
+    }
+
+    @Benchmark
+    public byte[] jsonValidated() throws Exception {
+        GuessRequest request = reader.readValue(json);
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int guessIndex = CodeIndex.parse(request.guess());
+        return GuessResponseEncoder.encode(outcome + (guessIndex & 0));
+    }
+
+    @Benchmark
+    public byte[] binary() throws Exception {
+        int guessIndex = CodeIndex.parse(GuessFrame.decode(frame, gameId));
+        return GuessFrame.encode(outcome + (guessIndex & 0));
+    }
+}
@@ -0,0 +1,49 @@
+package com.mijuego.numerito.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de generación del gameId al crear una partida:
+ * {@link GameIds#random()} (varios SecureRandom DRBG repartidos por hilo, 16
+ * gameIds por llamada) contra UUID.randomUUID(), que comparte un SecureRandom
+ * entre todos los hilos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameIdsBenchmark {
+
+    @Benchmark
+    public UUID gameIds() {
+        return GameIds.random();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID gameIdsContended() {
+        return GameIds.random();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+}
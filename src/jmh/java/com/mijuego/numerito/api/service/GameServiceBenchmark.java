@@ -0,0 +1,90 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de GameService con todos los hilos disponibles compitiendo
+ * sobre el mismo mapa de sesiones, como ocurre bajo carga real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class GameServiceBenchmark {
+
+    private static final int GAMES = 4096;
+
+    // Intentos válidos; si alguno acierta el secreto, la partida terminada
+    // se reemplaza por una nueva en el siguiente intento sobre ella.
+    private static final String[] GUESSES = {"1234", "5678", "9012", "3456", "7890", "2468"};
+
+    @State(Scope.Benchmark)
+    public static class Games {
+        @Param({"map", "compact"})
+        public String store;
+
+        public GameService service;
+        public String[] gameIds;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            SessionStore sessions = store.equals("compact")
+                ? new CompactSessionStore()
+                : new MapSessionStore();
+            ExpiryPolicy policy = new ExpiryPolicy(1800, 21600, 60);
+            service = new GameService(sessions,
+                new SessionExpiry(sessions, policy, new GameArchive(1 << 16), SessionClock.SYSTEM),
+                new SecretNumberGenerator(),
+                new GameMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)),
+                new GameEvents(),
+                new DailyChallenge(0, ZoneOffset.UTC, 10));
+            gameIds = new String[GAMES];
+            for (int i = 0; i < GAMES; i++) {
+                gameIds[i] = service.createGame();
+            }
+        }
+    }
+
+    @Benchmark
+    public String createGame(Games games) {
+        return games.service.createGame();
+    }
+
+    @Benchmark
+    public Object makeGuess(Games games) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(GAMES);
+        String guess = GUESSES[random.nextInt(GUESSES.length)];
+        try {
+            return games.service.makeGuessOutcome(games.gameIds[slot], guess);
+        } catch (InvalidGuessException e) {
+            // La partida ya fue ganada por otro hilo: se reemplaza
+            games.gameIds[slot] = games.service.createGame();
+            return e;
+        } catch (GameNotFoundException e) {
+            return e;
+        }
+    }
+}
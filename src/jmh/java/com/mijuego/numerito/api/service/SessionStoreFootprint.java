@@ -0,0 +1,62 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.exception.InvalidGuessException;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mide los bytes de heap por partida de cada SessionStore.
+ *
+ * Crea N partidas con M intentos cada una (-Dfootprint.moves, 1 por defecto)
+ * y compara el heap usado antes y después (tras forzar GC). El gameId de cada
+ * partida no se retiene, igual que en el servidor, donde solo lo guarda el
+ * cliente.
+ *
+ * Uso: SessionStoreFootprint [games] [map|compact ...]
+ */
+public class SessionStoreFootprint {
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int moves = Integer.getInteger("footprint.moves", 1);
+        String[] stores = args.length > 1
+            ? Arrays.copyOfRange(args, 1, args.length)
+            : new String[] {"map", "compact"};
+
+        for (String type : stores) {
+            long before = usedHeap();
+            SessionStore store = type.equals("compact")
+                ? new CompactSessionStore(games)
+                : new MapSessionStore();
+            fill(store, games, moves);
+            long after = usedHeap();
+
+            System.out.printf("%-8s %,d partidas de %d intentos: %,d bytes (%.1f bytes/partida)%n",
+                type, store.size(), moves, after - before, (double) (after - before) / games);
+        }
+    }
+
+    private static void fill(SessionStore store, int games, int moves)
+            throws GameNotFoundException, InvalidGuessException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < games; i++) {
+            // Los intentos son códigos distintos del secreto: nunca ganan
+            int secret = random.nextInt(CodeIndex.SIZE);
+            String gameId = store.create(secret);
+            for (int move = 1; move <= moves; move++) {
+                store.guess(gameId, CodeIndex.toString((secret + move) % CodeIndex.SIZE));
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,170 @@
+package com.mijuego.numerito;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Secretos todavía compatibles con las jugadas de una partida, como un bitset
+ * de {@link CodeIndex#SIZE} bits (71 long).
+ *
+ * Empieza con todos los códigos y cada intento lo filtra en el lugar: solo se
+ * recorren los bits que siguen encendidos, así que el primer intento lee como
+ * mucho una fila de {@link ScoreTable} y los siguientes, cada vez menos. No
+ * reserva objetos después de crearse.
+ *
+ * Filtrar es una intersección, así que el orden no importa: cada palabra se
+ * actualiza con un AND atómico y dos intentos concurrentes sobre la misma
+ * partida dejan el mismo conjunto que aplicados uno detrás del otro. El
+ * informe de cada intento (ver {@link #apply(int, int)}) puede reflejar en ese
+ * caso solo una parte del otro.
+ *
+ * Cuesta unos 600 bytes por partida entre el objeto y el array.
+ */
+public final class CandidateSet {
+
+    /**
+     * Cantidad de palabras de 64 bits del bitset.
+     */
+    public static final int WORDS = (CodeIndex.SIZE + Long.SIZE - 1) / Long.SIZE;
+
+    private static final VarHandle WORD = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words = new long[WORDS];
+
+    /**
+     * Crea un conjunto con todos los códigos.
+     */
+    public CandidateSet() {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = -1L;
+        }
+        // Bits sobrantes de la última palabra: no corresponden a ningún código
+        words[WORDS - 1] = -1L >>> (WORDS * Long.SIZE - CodeIndex.SIZE);
+    }
+
+    /**
+     * Reconstruye el conjunto a partir de jugadas ya realizadas (por ejemplo al
+     * restaurar un snapshot).
+     *
+     * @param moves jugadas según {@link MoveHistory}, en orden
+     * @param moveCount cantidad de jugadas válidas en moves
+     */
+    public static CandidateSet replay(int[] moves, int moveCount) {
+        CandidateSet candidates = new CandidateSet();
+        for (int i = 0; i < moveCount; i++) {
+            candidates.apply(MoveHistory.guessIndex(moves[i]), MoveHistory.score(moves[i]));
+        }
+        return candidates;
+    }
+
+    /**
+     * true si el código sigue siendo compatible con las jugadas aplicadas.
+     */
+    public boolean contains(int codeIndex) {
+        long word = (long) WORD.getVolatile(words, codeIndex >>> 6);
+        return (word & (1L << codeIndex)) != 0;
+    }
+
+    /**
+     * Retorna la cantidad de códigos compatibles.
+     */
+    public int count() {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount((long) WORD.getVolatile(words, i));
+        }
+        return count;
+    }
+
+    /**
+     * Aplica el resultado de un intento: quita los códigos que, de ser el
+     * secreto, habrían dado otro resultado.
+     *
+     * @param guessIndex índice del intento según {@link CodeIndex}
+     * @param score resultado empaquetado según {@link ScoreTable}
+     * @return informe del intento: ver {@link #remaining(int)} y {@link #consistent(int)}
+     */
+    public int apply(int guessIndex, int score) {
+        boolean consistent = contains(guessIndex);
+        int remaining = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = (long) WORD.getVolatile(words, i);
+            if (word == 0) {
+                continue;
+            }
+            int base = i << 6;
+            long drop = 0;
+            for (long bits = word; bits != 0; bits &= bits - 1) {
+                int candidate = base + Long.numberOfTrailingZeros(bits);
+                // La fila del intento: los candidatos de la palabra son bytes contiguos
+                if (ScoreTable.score(guessIndex, candidate) != score) {
+                    drop |= bits & -bits;
+                }
+            }
+            if (drop != 0) {
+                word = (long) WORD.getAndBitwiseAnd(words, i, ~drop) & ~drop;
+            }
+            remaining += Long.bitCount(word);
+        }
+        return pack(remaining, consistent);
+    }
+
+    /**
+     * Aplica los resultados de una secuencia de intentos en orden y guarda el
+     * informe de cada uno. Sin candidatos los informes quedan en 0.
+     *
+     * @param candidates candidatos de la partida, o null si no se siguen
+     * @param guessIndexes intentos según {@link CodeIndex}
+     * @param outcomes resultados empaquetados según {@link GuessOutcome}
+     * @param reports destino de los informes, al menos {@code count} posiciones
+     * @param count cantidad de intentos a aplicar
+     */
+    public static void applyAll(CandidateSet candidates, int[] guessIndexes, int[] outcomes, int[] reports, int count) {
+        for (int i = 0; i < count; i++) {
+            reports[i] = candidates == null ? 0 : candidates.apply(guessIndexes[i], GuessOutcome.score(outcomes[i]));
+        }
+    }
+
+    private static int pack(int remaining, boolean consistent) {
+        return remaining << 1 | (consistent ? 1 : 0);
+    }
+
+    /**
+     * Cantidad de secretos compatibles después del intento. Un informe nunca
+     * es 0: el secreto siempre queda entre los compatibles.
+     */
+    public static int remaining(int report) {
+        return report >>> 1;
+    }
+
+    /**
+     * true si el intento era compatible con las jugadas anteriores, es decir,
+     * si podía ser el secreto.
+     */
+    public static boolean consistent(int report) {
+        return (report & 1) != 0;
+    }
+
+    /**
+     * Empaqueta un resultado según {@link GuessOutcome} con el informe de
+     * candidatos de su intento (0 si la partida no los sigue).
+     */
+    public static long track(int outcome, int report) {
+        return (long) report << 32 | (outcome & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Resultado según {@link GuessOutcome} de un valor de {@link #track(int, int)}.
+     */
+    public static int outcome(long tracked) {
+        return (int) tracked;
+    }
+
+    /**
+     * Informe de candidatos de un valor de {@link #track(int, int)}, 0 si la
+     * partida no los sigue.
+     */
+    public static int report(long tracked) {
+        return (int) (tracked >>> 32);
+    }
+}
@@ -0,0 +1,182 @@
+package com.mijuego.numerito;
+
+import com.mijuego.numerito.exception.InvalidGuessException;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
+
+import java.util.Arrays;
+
+/**
+ * Índice denso de todos los números válidos del juego.
+ *
+ * Un número válido tiene 4 cifras distintas y no empieza con 0, por lo que hay
+ * exactamente 9 * 9 * 8 * 7 = 4536 códigos. Cada uno se identifica con un índice
+ * entre 0 y {@link #SIZE} - 1, en orden numérico ascendente (1023 es el 0, 9876 el último).
+ *
+ * Todas las tablas se calculan una única vez al cargar la clase; las consultas
+ * no reservan memoria.
+ */
+public final class CodeIndex {
+
+    /**
+     * Cantidad de códigos válidos.
+     */
+    public static final int SIZE = 4536;
+
+    // Índice de cada valor numérico 0-9999, o -1 si no es un código válido
+    private static final short[] INDEX_BY_VALUE = new short[10000];
+
+    private static final short[] VALUE_BY_INDEX = new short[SIZE];
+
+    // Cifras de cada código (4 por índice) y máscara de bits de las cifras presentes
+    private static final byte[] DIGITS = new byte[SIZE * 4];
+    private static final short[] DIGIT_MASK = new short[SIZE];
+
+    private static final String[] TEXT = new String[SIZE];
+
+    static {
+        Arrays.fill(INDEX_BY_VALUE, (short) -1);
+        int index = 0;
+        for (int value = 1000; value <= 9999; value++) {
+            int d0 = value / 1000;
+            int d1 = value / 100 % 10;
+            int d2 = value / 10 % 10;
+            int d3 = value % 10;
+            int mask = (1 << d0) | (1 << d1) | (1 << d2) | (1 << d3);
+            if (Integer.bitCount(mask) != 4) {
+                continue;
+            }
+            INDEX_BY_VALUE[value] = (short) index;
+            VALUE_BY_INDEX[index] = (short) value;
+            DIGITS[index * 4] = (byte) d0;
+            DIGITS[index * 4 + 1] = (byte) d1;
+            DIGITS[index * 4 + 2] = (byte) d2;
+            DIGITS[index * 4 + 3] = (byte) d3;
+            DIGIT_MASK[index] = (short) mask;
+            TEXT[index] = Integer.toString(value);
+            index++;
+        }
+    }
+
+    private CodeIndex() {
+    }
+
+    /**
+     * Valida un intento según las reglas del juego y retorna su índice.
+     *
+     * @param guess el intento como String de 4 dígitos
+     * @return índice del código entre 0 y {@link #SIZE} - 1
+     * @throws InvalidGuessException si el intento no cumple las reglas
+     */
+    public static int parse(String guess) throws InvalidGuessException {
+        if (guess == null) {
+            throw new InvalidGuessException(Rule.MISSING, "El intento no puede ser null");
+        }
+
+        if (guess.length() != 4) {
+            throw new InvalidGuessException(Rule.LENGTH,
+                "El intento debe tener exactamente 4 dígitos, recibido: " + guess.length()
+            );
+        }
+
+        // Validar que todos son dígitos
+        for (int i = 0; i < 4; i++) {
+            char c = guess.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new InvalidGuessException(Rule.NOT_A_DIGIT,
+                    "El intento debe contener solo dígitos, carácter inválido: " + c
+                );
+            }
+        }
+
+        // Validar que el primer dígito no sea 0
+        if (guess.charAt(0) == '0') {
+            throw new InvalidGuessException(Rule.LEADING_ZERO,
+                "El primer dígito no puede ser 0"
+            );
+        }
+
+        // Validar que todas las cifras sean distintas
+        int seen = 0;
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = guess.charAt(i) - '0';
+            if ((seen & (1 << digit)) != 0) {
+                throw new InvalidGuessException(Rule.REPEATED_DIGIT,
+                    "Todas las cifras deben ser distintas, dígito repetido: " + guess.charAt(i)
+                );
+            }
+            seen |= 1 << digit;
+            value = value * 10 + digit;
+        }
+
+        return INDEX_BY_VALUE[value];
+    }
+
+    /**
+     * Valida un intento en forma numérica (ej: 1234) y retorna su índice.
+     *
+     * Aplica las mismas reglas que {@link #parse(String)} al número escrito
+     * con 4 cifras: 123 es "0123" y se rechaza por empezar con 0.
+     *
+     * @param value el intento como número
+     * @return índice del código entre 0 y {@link #SIZE} - 1
+     * @throws InvalidGuessException si el intento no cumple las reglas
+     */
+    public static int parse(int value) throws InvalidGuessException {
+        int index = indexOf(value);
+        if (index >= 0) {
+            return index;
+        }
+        // Solo al rechazar: el texto da la regla y el mensaje
+        return parse(value >= 0 && value < 1000 ? String.format("%04d", value) : Integer.toString(value));
+    }
+
+    /**
+     * Retorna el índice de un valor numérico, o -1 si no es un código válido.
+     */
+    public static int indexOf(int value) {
+        if (value < 0 || value > 9999) {
+            return -1;
+        }
+        return INDEX_BY_VALUE[value];
+    }
+
+    /**
+     * Retorna el índice de un código en texto, o -1 si no es válido.
+     */
+    public static int indexOf(String code) {
+        try {
+            return parse(code);
+        } catch (InvalidGuessException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Retorna el valor numérico del código con el índice dado (ej: 1234).
+     */
+    public static int valueOf(int index) {
+        return VALUE_BY_INDEX[index];
+    }
+
+    /**
+     * Retorna el código como String de 4 dígitos. La instancia es compartida.
+     */
+    public static String toString(int index) {
+        return TEXT[index];
+    }
+
+    /**
+     * Retorna la cifra en la posición dada (0-3) del código.
+     */
+    public static int digit(int index, int position) {
+        return DIGITS[index * 4 + position];
+    }
+
+    /**
+     * Retorna la máscara de bits de las cifras del código (bit d encendido si contiene d).
+     */
+    public static int digitMask(int index) {
+        return DIGIT_MASK[index];
+    }
+}
@@ -1,19 +1,49 @@
 package com.mijuego.numerito;
 
 import com.mijuego.numerito.exception.InvalidGuessException;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 
 /**
  * Representa una sesión de juego de Numerito.
  * Mantiene el estado de una partida: número secreto, intentos realizados, etc.
+ *
+ * Es thread-safe sin locks: los intentos y el indicador de partida terminada
+ * se guardan empaquetados en un único int que se actualiza con compare-and-set,
+ * así que intentos concurrentes nunca pierden incrementos y solo uno puede ganar.
  */
 public class GameSession {
 
-    private final String secretNumber;
-    private int attempts;
-    private boolean finished;
+    private static final VarHandle STATE;
+    private static final VarHandle HISTORY;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STATE = lookup.findVarHandle(GameSession.class, "state", int.class);
+            HISTORY = lookup.findVarHandle(GameSession.class, "history", MoveHistory.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Bit de partida terminada dentro del estado empaquetado
+    private static final int FINISHED = 1;
+
+    // Índice del secreto según CodeIndex
+    private final int secretIndex;
+
+    // Estado empaquetado: intentos << 1 | terminada
+    private volatile int state;
+
+    // Jugadas realizadas, se crea con el primer intento
+    private volatile MoveHistory history;
+
+    // Secretos compatibles con las jugadas, null si la partida no los sigue
+    private final CandidateSet candidates;
 
     /**
      * Crea una nueva sesión con un generador de números por defecto
@@ -26,18 +56,70 @@ public class GameSession {
      * Crea una nueva sesión con un generador específico (útil para testing)
      */
     public GameSession(SecretNumberGenerator generator) {
-        this.secretNumber = generator.generate();
-        this.attempts = 0;
-        this.finished = false;
+        this(generator.generate());
+    }
+
+    /**
+     * Crea una nueva sesión a partir del índice del secreto según {@link CodeIndex}
+     */
+    public GameSession(int secretIndex) {
+        this(secretIndex, null);
+    }
+
+    /**
+     * Crea una nueva sesión que, si trackCandidates es true, sigue los
+     * secretos compatibles con sus jugadas ({@link CandidateSet}).
+     */
+    public GameSession(int secretIndex, boolean trackCandidates) {
+        this(secretIndex, trackCandidates ? new CandidateSet() : null);
+    }
+
+    private GameSession(int secretIndex, CandidateSet candidates) {
+        if (secretIndex < 0 || secretIndex >= CodeIndex.SIZE) {
+            throw new IllegalArgumentException("Índice de secreto inválido: " + secretIndex);
+        }
+        this.secretIndex = secretIndex;
+        this.candidates = candidates;
+        this.state = 0;
+    }
+
+    /**
+     * Reconstruye una sesión guardada (por ejemplo en un snapshot).
+     *
+     * @param secretIndex índice del secreto según {@link CodeIndex}
+     * @param attempts intentos realizados
+     * @param finished true si la partida terminó
+     * @param moves jugadas según {@link MoveHistory}, en orden
+     * @param moveCount cantidad de jugadas válidas en moves
+     */
+    public static GameSession restore(int secretIndex, int attempts, boolean finished, int[] moves, int moveCount) {
+        return restore(secretIndex, attempts, finished, moves, moveCount, false);
+    }
+
+    /**
+     * Reconstruye una sesión guardada; si trackCandidates es true recalcula
+     * los secretos compatibles a partir de sus jugadas.
+     */
+    public static GameSession restore(int secretIndex, int attempts, boolean finished, int[] moves, int moveCount,
+                                      boolean trackCandidates) {
+        GameSession session = new GameSession(secretIndex,
+            trackCandidates ? CandidateSet.replay(moves, moveCount) : null);
+        session.state = (attempts << 1) | (finished ? FINISHED : 0);
+        if (moveCount > 0) {
+            MoveHistory restored = new MoveHistory();
+            for (int i = 0; i < moveCount; i++) {
+                restored.record(i + 1, moves[i]);
+            }
+            session.history = restored;
+        }
+        return session;
     }
 
     /**
      * Constructor para testing que permite especificar el número secreto
      */
     GameSession(String secretNumber) {
-        this.secretNumber = secretNumber;
-        this.attempts = 0;
-        this.finished = false;
+        this(CodeIndex.indexOf(secretNumber));
     }
 
     /**
@@ -48,106 +130,158 @@ public class GameSession {
      * @throws InvalidGuessException si el intento no cumple las reglas
      */
     public GuessResult guess(String guess) throws InvalidGuessException {
-        if (finished) {
-            throw new InvalidGuessException("La partida ya ha terminado");
-        }
+        return GuessOutcome.toResult(guessOutcome(guess));
+    }
+
+    /**
+     * Evalúa un intento del jugador sin reservar objetos.
+     *
+     * @param guess El intento del jugador como String de 4 dígitos
+     * @return resultado empaquetado según {@link GuessOutcome}
+     * @throws InvalidGuessException si el intento no cumple las reglas
+     */
+    public int guessOutcome(String guess) throws InvalidGuessException {
+        return CandidateSet.outcome(guessTracked(guess));
+    }
 
-        validateGuess(guess);
-        attempts++;
+    /**
+     * Evalúa un intento del jugador y, si la partida sigue sus candidatos,
+     * los filtra con el resultado. Tampoco reserva objetos.
+     *
+     * @param guess El intento del jugador como String de 4 dígitos
+     * @return resultado e informe de candidatos según {@link CandidateSet#track(int, int)}
+     * @throws InvalidGuessException si el intento no cumple las reglas
+     */
+    public long guessTracked(String guess) throws InvalidGuessException {
+        int current = state;
+        if ((current & FINISHED) != 0) {
+            throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+        }
 
-        int bien = 0;
-        int regular = 0;
+        int guessIndex = validateGuess(guess);
 
-        // Array para marcar qué posiciones del secreto ya fueron usadas
-        boolean[] secretUsed = new boolean[4];
-        boolean[] guessUsed = new boolean[4];
+        // Una sola lectura en la tabla precalculada, sin reservar memoria
+        int score = ScoreTable.scoreAgainst(guessIndex, secretIndex);
+        boolean isWin = score == ScoreTable.WIN;
 
-        // Primera pasada: contar BIEN (posición y valor correctos)
-        for (int i = 0; i < 4; i++) {
-            if (guess.charAt(i) == secretNumber.charAt(i)) {
-                bien++;
-                secretUsed[i] = true;
-                guessUsed[i] = true;
+        // Contar el intento y marcar la victoria en una sola transición atómica
+        while (true) {
+            if ((current & FINISHED) != 0) {
+                throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+            }
+            int attempts = (current >>> 1) + 1;
+            int next = (attempts << 1) | (isWin ? FINISHED : 0);
+            if (STATE.compareAndSet(this, current, next)) {
+                history().record(attempts, MoveHistory.pack(guessIndex, score));
+                int report = candidates == null ? 0 : candidates.apply(guessIndex, score);
+                return CandidateSet.track(GuessOutcome.pack(score, attempts), report);
             }
+            current = state;
         }
+    }
 
-        // Segunda pasada: contar REGULAR (valor correcto, posición incorrecta)
-        for (int i = 0; i < 4; i++) {
-            if (!guessUsed[i]) {
-                for (int j = 0; j < 4; j++) {
-                    if (!secretUsed[j] && guess.charAt(i) == secretNumber.charAt(j)) {
-                        regular++;
-                        secretUsed[j] = true;
-                        break;
-                    }
-                }
+    /**
+     * Evalúa una secuencia de intentos ya validados como una única transición
+     * atómica, deteniéndose en el primer acierto.
+     *
+     * @param guessIndexes intentos según {@link CodeIndex}
+     * @param outcomes destino de los resultados empaquetados, al menos del mismo largo
+     * @param reports destino de los informes de candidatos según
+     *                {@link CandidateSet#apply(int, int)}, 0 si la partida no los sigue
+     * @return cantidad de intentos evaluados
+     * @throws InvalidGuessException si la partida ya terminó
+     */
+    public int guessAll(int[] guessIndexes, int[] outcomes, int[] reports) throws InvalidGuessException {
+        while (true) {
+            int current = state;
+            if ((current & FINISHED) != 0) {
+                throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+            }
+            int attempts = current >>> 1;
+            int count = GuessOutcome.scoreAll(guessIndexes, secretIndex, attempts + 1, outcomes);
+            boolean isWin = count > 0 && GuessOutcome.isWin(outcomes[count - 1]);
+            int next = ((attempts + count) << 1) | (isWin ? FINISHED : 0);
+            if (STATE.compareAndSet(this, current, next)) {
+                history().recordAll(outcomes, guessIndexes, count);
+                CandidateSet.applyAll(candidates, guessIndexes, outcomes, reports, count);
+                return count;
             }
         }
+    }
 
-        int mal = 4 - bien - regular;
-        boolean isWin = bien == 4;
-
-        if (isWin) {
-            finished = true;
+    /**
+     * Retorna las jugadas realizadas, en orden, empaquetadas según {@link MoveHistory}.
+     */
+    public int[] getMoves() {
+        int attempts = getAttempts();
+        MoveHistory moves = history;
+        if (moves == null || attempts == 0) {
+            return new int[0];
         }
-
-        return new GuessResult(bien, regular, mal, isWin, attempts);
+        int[] result = new int[attempts];
+        int count = moves.copyTo(result, attempts);
+        return count == attempts ? result : Arrays.copyOf(result, count);
     }
 
     /**
-     * Valida que un intento cumpla todas las reglas del juego.
+     * Copia las jugadas realizadas, en orden, sin reservar un array nuevo.
+     *
+     * @param destination array destino, de al menos {@link #getAttempts()} posiciones
+     * @param count cantidad máxima de jugadas a copiar
+     * @return cantidad de jugadas copiadas
      */
-    private void validateGuess(String guess) throws InvalidGuessException {
-        if (guess == null) {
-            throw new InvalidGuessException("El intento no puede ser null");
-        }
+    public int copyMoves(int[] destination, int count) {
+        MoveHistory moves = history;
+        return moves == null || count == 0 ? 0 : moves.copyTo(destination, count);
+    }
 
-        if (guess.length() != 4) {
-            throw new InvalidGuessException(
-                "El intento debe tener exactamente 4 dígitos, recibido: " + guess.length()
-            );
-        }
+    /**
+     * Retorna la cantidad de secretos compatibles con las jugadas, o -1 si la
+     * partida no sigue sus candidatos.
+     */
+    public int getRemainingCandidates() {
+        return candidates == null ? -1 : candidates.count();
+    }
 
-        // Validar que todos son dígitos
-        for (int i = 0; i < 4; i++) {
-            char c = guess.charAt(i);
-            if (!Character.isDigit(c)) {
-                throw new InvalidGuessException(
-                    "El intento debe contener solo dígitos, carácter inválido: " + c
-                );
-            }
-        }
+    /**
+     * Retorna el índice del secreto según {@link CodeIndex}, para persistir la
+     * sesión. No debe exponerse en la API.
+     */
+    public int getSecretIndex() {
+        return secretIndex;
+    }
 
-        // Validar que el primer dígito no sea 0
-        if (guess.charAt(0) == '0') {
-            throw new InvalidGuessException(
-                "El primer dígito no puede ser 0"
-            );
+    private MoveHistory history() {
+        MoveHistory current = history;
+        if (current != null) {
+            return current;
         }
+        MoveHistory created = new MoveHistory();
+        return HISTORY.compareAndSet(this, null, created) ? created : history;
+    }
 
-        // Validar que todas las cifras sean distintas
-        Set<Character> uniqueDigits = new HashSet<>();
-        for (int i = 0; i < 4; i++) {
-            if (!uniqueDigits.add(guess.charAt(i))) {
-                throw new InvalidGuessException(
-                    "Todas las cifras deben ser distintas, dígito repetido: " + guess.charAt(i)
-                );
-            }
-        }
+    /**
+     * Valida que un intento cumpla todas las reglas del juego.
+     * Visibilidad de paquete para poder medirlo en los benchmarks JMH.
+     *
+     * @return índice del intento según {@link CodeIndex}
+     */
+    static int validateGuess(String guess) throws InvalidGuessException {
+        return CodeIndex.parse(guess);
     }
 
     /**
      * Retorna true si la partida ha terminado (el jugador ganó)
      */
     public boolean isFinished() {
-        return finished;
+        return (state & FINISHED) != 0;
     }
 
     /**
      * Retorna el número de intentos realizados
      */
     public int getAttempts() {
-        return attempts;
+        return state >>> 1;
     }
 
     /**
@@ -155,6 +289,6 @@ public class GameSession {
      * NO debería usarse en producción
      */
     String getSecretNumber() {
-        return secretNumber;
+        return CodeIndex.toString(secretIndex);
     }
 }
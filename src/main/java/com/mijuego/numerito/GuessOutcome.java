@@ -0,0 +1,74 @@
+package com.mijuego.numerito;
+
+/**
+ * Resultado de un intento empaquetado en un int, sin reservar objetos.
+ *
+ * Los 8 bits bajos llevan el resultado de {@link ScoreTable} (bien, regular) y
+ * el resto el número de intento. Como un intento sobre una partida terminada se
+ * rechaza, después de un intento válido la partida está terminada si y solo si
+ * ese intento ganó: el resultado alcanza también para informar "finished".
+ */
+public final class GuessOutcome {
+
+    private static final int SCORE_BITS = 8;
+    private static final int SCORE_MASK = (1 << SCORE_BITS) - 1;
+
+    private GuessOutcome() {
+    }
+
+    /**
+     * Empaqueta el resultado de la tabla y el número de intento.
+     */
+    public static int pack(int score, int attemptNumber) {
+        return (attemptNumber << SCORE_BITS) | score;
+    }
+
+    /**
+     * Resultado empaquetado según {@link ScoreTable}.
+     */
+    public static int score(int outcome) {
+        return outcome & SCORE_MASK;
+    }
+
+    public static int attemptNumber(int outcome) {
+        return outcome >>> SCORE_BITS;
+    }
+
+    public static boolean isWin(int outcome) {
+        return score(outcome) == ScoreTable.WIN;
+    }
+
+    /**
+     * Evalúa una secuencia de intentos contra un secreto, deteniéndose en el primer acierto.
+     *
+     * @param guessIndexes intentos según {@link CodeIndex}
+     * @param secretIndex secreto según {@link CodeIndex}
+     * @param firstAttempt número del primer intento de la secuencia
+     * @param outcomes destino de los resultados empaquetados
+     * @return cantidad de intentos evaluados
+     */
+    public static int scoreAll(int[] guessIndexes, int secretIndex, int firstAttempt, int[] outcomes) {
+        for (int i = 0; i < guessIndexes.length; i++) {
+            int score = ScoreTable.scoreAgainst(guessIndexes[i], secretIndex);
+            outcomes[i] = pack(score, firstAttempt + i);
+            if (score == ScoreTable.WIN) {
+                return i + 1;
+            }
+        }
+        return guessIndexes.length;
+    }
+
+    /**
+     * Convierte el resultado empaquetado en un {@link GuessResult}.
+     */
+    public static GuessResult toResult(int outcome) {
+        int score = score(outcome);
+        return new GuessResult(
+            ScoreTable.bien(score),
+            ScoreTable.regular(score),
+            ScoreTable.mal(score),
+            score == ScoreTable.WIN,
+            attemptNumber(outcome)
+        );
+    }
+}
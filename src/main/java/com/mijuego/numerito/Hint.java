@@ -0,0 +1,17 @@
+package com.mijuego.numerito;
+
+/**
+ * Pista calculada por {@link HintSolver}.
+ *
+ * @param guessIndex próximo intento recomendado, según {@link CodeIndex}
+ * @param candidates cantidad de secretos todavía compatibles con las jugadas
+ */
+public record Hint(int guessIndex, int candidates) {
+
+    /**
+     * Próximo intento recomendado como String de 4 dígitos.
+     */
+    public String guess() {
+        return CodeIndex.toString(guessIndex);
+    }
+}
@@ -0,0 +1,235 @@
+package com.mijuego.numerito;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Solver de Numerito: a partir de las jugadas de una partida calcula los
+ * secretos todavía posibles y el mejor próximo intento.
+ *
+ * Para cada intento candidato (los {@link CodeIndex#SIZE} códigos) reparte los
+ * secretos posibles según el resultado que daría y elige el de menor costo:
+ * - MINIMAX (Knuth): minimiza el tamaño del peor grupo
+ * - ENTROPY: maximiza la información esperada (minimiza la suma de n·log n)
+ * A igual costo prefiere un intento que pueda ser el secreto, y después el de
+ * menor índice, así que el resultado es determinista.
+ *
+ * El reparto se hace en paralelo en un ForkJoinPool propio cuando el trabajo
+ * lo justifica. Las pistas más caras son las primeras (sin jugadas o con una
+ * sola), así que se calculan una vez y se guardan: la de apertura al crear el
+ * solver y las de segunda jugada al pedirlas por primera vez.
+ */
+public class HintSolver implements AutoCloseable {
+
+    /**
+     * Criterio para elegir el próximo intento.
+     */
+    public enum Strategy {
+        MINIMAX,
+        ENTROPY
+    }
+
+    // Por debajo de este trabajo (intentos x candidatos) no conviene paralelizar
+    private static final long SEQUENTIAL_WORK = 1 << 18;
+
+    // Intentos evaluados por tarea hoja
+    private static final int LEAF_GUESSES = 64;
+
+    // n·log2(n) precalculado para la entropía
+    private static final double[] N_LOG_N = new double[CodeIndex.SIZE + 1];
+
+    static {
+        for (int n = 2; n <= CodeIndex.SIZE; n++) {
+            N_LOG_N[n] = n * (Math.log(n) / Math.log(2));
+        }
+    }
+
+    private final Strategy strategy;
+    private final ForkJoinPool pool;
+    private final Hint opening;
+    private final Map<Integer, Hint> afterFirstMove = new ConcurrentHashMap<>();
+
+    /**
+     * @param strategy criterio de elección
+     * @param parallelism hilos del pool; 0 usa la cantidad de procesadores
+     */
+    public HintSolver(Strategy strategy, int parallelism) {
+        this.strategy = strategy;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        ScoreTable.preload();
+        this.opening = search(allCodes());
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Calcula la pista para una partida.
+     *
+     * @param moves jugadas realizadas, empaquetadas según {@link MoveHistory}
+     * @return el próximo intento recomendado y los secretos todavía posibles
+     * @throws IllegalArgumentException si ningún secreto es compatible con las jugadas
+     */
+    public Hint hint(int[] moves) {
+        if (moves.length == 0) {
+            return opening;
+        }
+        if (moves.length == 1) {
+            // Se calcula fuera del mapa para no bloquear otras claves mientras tanto
+            Hint cached = afterFirstMove.get(moves[0]);
+            if (cached == null) {
+                cached = solve(moves);
+                afterFirstMove.putIfAbsent(moves[0], cached);
+            }
+            return cached;
+        }
+        return solve(moves);
+    }
+
+    /**
+     * Retorna los índices de los secretos compatibles con las jugadas.
+     */
+    public static int[] candidates(int[] moves) {
+        int[] candidates = new int[CodeIndex.SIZE];
+        int count = 0;
+        for (int secret = 0; secret < CodeIndex.SIZE; secret++) {
+            if (isConsistent(secret, moves)) {
+                candidates[count++] = secret;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private static boolean isConsistent(int secret, int[] moves) {
+        for (int move : moves) {
+            if (ScoreTable.score(MoveHistory.guessIndex(move), secret) != MoveHistory.score(move)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Hint solve(int[] moves) {
+        int[] candidates = candidates(moves);
+        if (candidates.length == 0) {
+            throw new IllegalArgumentException("Ningún secreto es compatible con las jugadas");
+        }
+        if (candidates.length <= 2) {
+            // Cualquiera de los dos resuelve o deja un único candidato
+            return new Hint(candidates[0], candidates.length);
+        }
+        return search(candidates);
+    }
+
+    private Hint search(int[] candidates) {
+        boolean[] isCandidate = new boolean[CodeIndex.SIZE];
+        for (int candidate : candidates) {
+            isCandidate[candidate] = true;
+        }
+
+        SearchTask task = new SearchTask(candidates, isCandidate, 0, CodeIndex.SIZE);
+        Choice best = (long) CodeIndex.SIZE * candidates.length < SEQUENTIAL_WORK
+            ? task.compute()
+            : pool.invoke(task);
+        return new Hint(best.guess, candidates.length);
+    }
+
+    private static int[] allCodes() {
+        int[] codes = new int[CodeIndex.SIZE];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+        return codes;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Mejor intento de un rango, para combinar los resultados de las tareas.
+     */
+    private record Choice(int guess, double cost, boolean candidate) {
+
+        boolean isBetterThan(Choice other) {
+            if (cost != other.cost) {
+                return cost < other.cost;
+            }
+            if (candidate != other.candidate) {
+                return candidate;
+            }
+            return guess < other.guess;
+        }
+    }
+
+    /**
+     * Evalúa los intentos de un rango, partiéndolo a la mitad mientras sea grande.
+     */
+    private final class SearchTask extends RecursiveTask<Choice> {
+
+        private final int[] candidates;
+        private final boolean[] isCandidate;
+        private final int from;
+        private final int to;
+
+        SearchTask(int[] candidates, boolean[] isCandidate, int from, int to) {
+            this.candidates = candidates;
+            this.isCandidate = isCandidate;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Choice compute() {
+            if (to - from > LEAF_GUESSES && getPool() == pool) {
+                int middle = (from + to) >>> 1;
+                SearchTask left = new SearchTask(candidates, isCandidate, from, middle);
+                left.fork();
+                Choice right = new SearchTask(candidates, isCandidate, middle, to).compute();
+                Choice leftChoice = left.join();
+                return leftChoice.isBetterThan(right) ? leftChoice : right;
+            }
+            return evaluateRange();
+        }
+
+        private Choice evaluateRange() {
+            int[] buckets = new int[ScoreTable.SCORE_RANGE];
+            Choice best = null;
+            for (int guess = from; guess < to; guess++) {
+                Arrays.fill(buckets, 0);
+                for (int secret : candidates) {
+                    buckets[ScoreTable.score(guess, secret)]++;
+                }
+                double cost = cost(buckets);
+                // Solo se crea un Choice cuando mejora (o empata) al mejor actual
+                if (best == null || cost <= best.cost) {
+                    Choice choice = new Choice(guess, cost, isCandidate[guess]);
+                    if (best == null || choice.isBetterThan(best)) {
+                        best = choice;
+                    }
+                }
+            }
+            return best;
+        }
+
+        private double cost(int[] buckets) {
+            if (strategy == Strategy.MINIMAX) {
+                int worst = 0;
+                for (int size : buckets) {
+                    worst = Math.max(worst, size);
+                }
+                return worst;
+            }
+            double sum = 0;
+            for (int size : buckets) {
+                sum += N_LOG_N[size];
+            }
+            return sum;
+        }
+    }
+}
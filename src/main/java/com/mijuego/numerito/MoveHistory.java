@@ -0,0 +1,134 @@
+package com.mijuego.numerito;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Historial de jugadas de una partida: un int por intento.
+ *
+ * Cada jugada guarda el índice del intento según {@link CodeIndex} y su
+ * resultado según {@link ScoreTable}, que es todo lo que necesita el solver y
+ * para reconstruir el tablero (GET /api/game/{gameId}/history).
+ * Las jugadas se guardan en bloques encadenados que duplican su tamaño (8, 16,
+ * 32...): una partida típica entra en el primero, de unos 72 bytes con sus
+ * cabeceras, una larga recorre pocos bloques, y las jugadas nunca se copian al
+ * crecer.
+ *
+ * Una jugada cabría en un short si se numeraran los 14 resultados posibles
+ * (4536 × 14 < 65536), lo que ahorraría 16 bytes en el primer bloque. Se
+ * mantiene el int para que el solver y {@link CandidateSet} lean el resultado
+ * tal cual lo deja {@link ScoreTable}, sin una tabla de conversión por jugada.
+ *
+ * No usa locks: el número de intento lo asigna el compare-and-set del estado de
+ * la partida, de modo que cada posición la escribe un único hilo. Un lector
+ * concurrente puede ver una jugada todavía no escrita como ausente; en ese caso
+ * la copia se corta ahí.
+ */
+public final class MoveHistory {
+
+    private static final int FIRST_CHUNK_SIZE = 8;
+
+    private static final VarHandle MOVES = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(MoveHistory.class, "next", MoveHistory.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 0 marca una posición aún no escrita (ver pack)
+    private final int[] moves;
+    private volatile MoveHistory next;
+
+    public MoveHistory() {
+        this(FIRST_CHUNK_SIZE);
+    }
+
+    private MoveHistory(int chunkSize) {
+        this.moves = new int[chunkSize];
+    }
+
+    /**
+     * Empaqueta una jugada. Nunca retorna 0.
+     */
+    public static int pack(int guessIndex, int score) {
+        return ((guessIndex + 1) << 8) | score;
+    }
+
+    public static int guessIndex(int move) {
+        return (move >>> 8) - 1;
+    }
+
+    public static int score(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Registra la jugada de un intento.
+     *
+     * @param attemptNumber número de intento (desde 1), asignado a un solo hilo
+     * @param move jugada empaquetada con {@link #pack(int, int)}
+     */
+    public void record(int attemptNumber, int move) {
+        int position = attemptNumber - 1;
+        MoveHistory chunk = this;
+        while (position >= chunk.moves.length) {
+            position -= chunk.moves.length;
+            chunk = chunk.nextOrCreate();
+        }
+        MOVES.setRelease(chunk.moves, position, move);
+    }
+
+    /**
+     * Registra las jugadas de una secuencia de resultados consecutivos.
+     *
+     * @param outcomes resultados empaquetados según {@link GuessOutcome}
+     * @param guessIndexes intentos correspondientes a cada resultado
+     * @param count cantidad de resultados a registrar
+     */
+    public void recordAll(int[] outcomes, int[] guessIndexes, int count) {
+        for (int i = 0; i < count; i++) {
+            int outcome = outcomes[i];
+            record(GuessOutcome.attemptNumber(outcome), pack(guessIndexes[i], GuessOutcome.score(outcome)));
+        }
+    }
+
+    /**
+     * Copia las primeras jugadas en orden.
+     *
+     * @param destination array destino
+     * @param count cantidad máxima de jugadas a copiar
+     * @return cantidad de jugadas copiadas
+     */
+    public int copyTo(int[] destination, int count) {
+        MoveHistory chunk = this;
+        int offset = 0;
+        for (int position = 0; position < count; position++, offset++) {
+            if (offset == chunk.moves.length) {
+                chunk = chunk.next;
+                if (chunk == null) {
+                    return position;
+                }
+                offset = 0;
+            }
+            int move = (int) MOVES.getAcquire(chunk.moves, offset);
+            if (move == 0) {
+                return position;
+            }
+            destination[position] = move;
+        }
+        return count;
+    }
+
+    private MoveHistory nextOrCreate() {
+        MoveHistory current = next;
+        if (current != null) {
+            return current;
+        }
+        MoveHistory created = new MoveHistory(moves.length * 2);
+        return NEXT.compareAndSet(this, null, created) ? created : next;
+    }
+}
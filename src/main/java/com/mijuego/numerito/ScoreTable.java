@@ -0,0 +1,126 @@
+package com.mijuego.numerito;
+
+import java.util.stream.IntStream;
+
+/**
+ * Tabla precalculada con el resultado (bien, regular) de cada par de códigos.
+ *
+ * Para los {@link CodeIndex#SIZE} códigos válidos guarda un byte por par
+ * (intento, secreto), unos 20 MB en total. La tabla se construye en paralelo la
+ * primera vez que se usa; a partir de ahí evaluar un intento es una única lectura
+ * de memoria, sin reservar objetos.
+ *
+ * El resultado empaquetado lleva BIEN en el nibble alto y REGULAR en el bajo:
+ * usar {@link #bien(int)} y {@link #regular(int)} para decodificarlo.
+ */
+public final class ScoreTable {
+
+    /**
+     * Resultado empaquetado de un acierto completo (4 BIEN).
+     */
+    public static final int WIN = 4 << 4;
+
+    /**
+     * Cantidad de resultados empaquetados distintos posibles (valores 0 a WIN).
+     */
+    public static final int SCORE_RANGE = WIN + 1;
+
+    private ScoreTable() {
+    }
+
+    // Inicialización diferida y thread-safe (holder idiom)
+    private static final class Holder {
+        static final byte[] TABLE = build();
+    }
+
+    private static byte[] build() {
+        int size = CodeIndex.SIZE;
+        byte[] table = new byte[size * size];
+        IntStream.range(0, size).parallel().forEach(guess -> {
+            int row = guess * size;
+            for (int secret = 0; secret < size; secret++) {
+                table[row + secret] = (byte) compute(guess, secret);
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Fuerza la construcción de la tabla (para hacerlo al arrancar y no en el primer intento).
+     */
+    public static void preload() {
+        score(0, 0);
+    }
+
+    /**
+     * Retorna el resultado empaquetado de evaluar un intento contra un secreto.
+     *
+     * @param guessIndex  índice del intento según {@link CodeIndex}
+     * @param secretIndex índice del secreto según {@link CodeIndex}
+     */
+    public static int score(int guessIndex, int secretIndex) {
+        return Holder.TABLE[guessIndex * CodeIndex.SIZE + secretIndex];
+    }
+
+    /**
+     * Igual que {@link #score(int, int)}, pero leyendo la fila del secreto.
+     *
+     * Como el resultado es simétrico, la fila de un secreto tiene el resultado
+     * de cada intento posible contra él en {@link CodeIndex#SIZE} bytes
+     * contiguos. Es la lectura para evaluar los intentos de una partida: las
+     * que comparten secreto (el desafío diario) leen todas la misma fila de
+     * unos 4.5 KB, que queda en la caché de cada núcleo, mientras que con
+     * {@link #score(int, int)} cada intento distinto cae en otra línea de caché.
+     *
+     * @param guessIndex  índice del intento según {@link CodeIndex}
+     * @param secretIndex índice del secreto según {@link CodeIndex}
+     */
+    public static int scoreAgainst(int guessIndex, int secretIndex) {
+        return Holder.TABLE[secretIndex * CodeIndex.SIZE + guessIndex];
+    }
+
+    /**
+     * Calcula el resultado empaquetado sin usar la tabla.
+     *
+     * Como las cifras de un código son distintas, REGULAR es la cantidad de
+     * cifras en común menos las que ya están en su posición.
+     */
+    public static int compute(int guessIndex, int secretIndex) {
+        int bien = 0;
+        for (int i = 0; i < 4; i++) {
+            if (CodeIndex.digit(guessIndex, i) == CodeIndex.digit(secretIndex, i)) {
+                bien++;
+            }
+        }
+        int common = Integer.bitCount(CodeIndex.digitMask(guessIndex) & CodeIndex.digitMask(secretIndex));
+        return pack(bien, common - bien);
+    }
+
+    /**
+     * Empaqueta un par (bien, regular).
+     */
+    public static int pack(int bien, int regular) {
+        return (bien << 4) | regular;
+    }
+
+    /**
+     * Cantidad de cifras correctas en posición correcta (B).
+     */
+    public static int bien(int score) {
+        return score >>> 4;
+    }
+
+    /**
+     * Cantidad de cifras correctas en posición incorrecta (R).
+     */
+    public static int regular(int score) {
+        return score & 0x0F;
+    }
+
+    /**
+     * Cantidad de cifras que no están en el secreto (M).
+     */
+    public static int mal(int score) {
+        return 4 - bien(score) - regular(score);
+    }
+}
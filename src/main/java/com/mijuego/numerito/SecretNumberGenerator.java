@@ -1,24 +1,43 @@
 package com.mijuego.numerito;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Generador de números secretos para el juego Numerito.
  * Genera números de 4 cifras con todas las cifras distintas.
+ *
+ * En lugar de armar el número cifra por cifra, sortea un índice uniforme entre
+ * los {@link CodeIndex#SIZE} códigos válidos: cada código tiene la misma
+ * probabilidad y generar no reserva objetos.
+ *
+ * Fuentes de aleatoriedad:
+ * - Por defecto, {@link ThreadLocalRandom}: cada hilo (también los virtual
+ *   threads) tiene su propio estado, así que las ráfagas de creación de
+ *   partidas no compiten por un generador compartido. Con
+ *   -Djava.util.secureRandomSeed=true su semilla inicial sale de SecureRandom.
+ * - Con semilla: una secuencia determinista, la misma que daría
+ *   {@code new SplittableRandom(seed).nextInt(CodeIndex.SIZE)}, con el estado
+ *   en un AtomicLong para poder compartirla entre hilos. Para pruebas de carga
+ *   reproducibles; no usar en producción, los secretos serían predecibles.
+ * - Un Random inyectado (útil para testing).
  */
 public class SecretNumberGenerator {
 
+    // Incremento de SplittableRandom: recorre los 2^64 estados
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
     private final Random random;
+    private final AtomicLong seed;
 
     /**
-     * Constructor con generador de números aleatorios por defecto (SecureRandom)
+     * Constructor con generador de números aleatorios por defecto (un
+     * ThreadLocalRandom por hilo)
      */
     public SecretNumberGenerator() {
-        this.random = new SecureRandom();
+        this.random = null;
+        this.seed = null;
     }
 
     /**
@@ -26,6 +45,28 @@ public class SecretNumberGenerator {
      */
     public SecretNumberGenerator(Random random) {
         this.random = random;
+        this.seed = null;
+    }
+
+    /**
+     * Constructor con semilla: genera siempre la misma secuencia de secretos.
+     */
+    public SecretNumberGenerator(long seed) {
+        this.random = null;
+        this.seed = new AtomicLong(seed);
+    }
+
+    /**
+     * Sortea el índice de un número secreto.
+     *
+     * @return índice uniforme entre 0 y {@link CodeIndex#SIZE} - 1
+     */
+    public int nextIndex() {
+        if (seed != null) {
+            return nextSeededIndex();
+        }
+        Random source = random != null ? random : ThreadLocalRandom.current();
+        return source.nextInt(CodeIndex.SIZE);
     }
 
     /**
@@ -35,32 +76,24 @@ public class SecretNumberGenerator {
      * @return String de 4 dígitos, ej: "1234"
      */
     public String generate() {
-        List<Integer> digits = new ArrayList<>();
-
-        // Primera cifra: 1-9 (no puede ser 0)
-        int firstDigit = random.nextInt(9) + 1;
-        digits.add(firstDigit);
-
-        // Crear lista con dígitos disponibles (0-9 excepto el ya usado)
-        List<Integer> available = new ArrayList<>();
-        for (int i = 0; i <= 9; i++) {
-            if (i != firstDigit) {
-                available.add(i);
-            }
-        }
-
-        // Mezclar y tomar 3 dígitos más
-        Collections.shuffle(available, random);
-        for (int i = 0; i < 3; i++) {
-            digits.add(available.get(i));
-        }
+        return CodeIndex.toString(nextIndex());
+    }
 
-        // Convertir a String
-        StringBuilder result = new StringBuilder();
-        for (int digit : digits) {
-            result.append(digit);
+    // Mismo algoritmo que SplittableRandom.nextInt(bound): rechaza los valores
+    // del último tramo incompleto para que el módulo no tenga sesgo
+    private int nextSeededIndex() {
+        int bound = CodeIndex.SIZE;
+        int bits = mix32(seed.addAndGet(GOLDEN_GAMMA)) >>> 1;
+        int index;
+        while (bits + (bound - 1) - (index = bits % bound) < 0) {
+            bits = mix32(seed.addAndGet(GOLDEN_GAMMA)) >>> 1;
         }
+        return index;
+    }
 
-        return result.toString();
+    // Función de mezcla de 32 bits de SplittableRandom
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
     }
 }
@@ -1,10 +1,12 @@
 package com.mijuego.numerito.api.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.ArrayList;
@@ -16,6 +18,10 @@ import java.util.List;
  *
  * En desarrollo, permite peticiones desde localhost:5173 (Vite default).
  * En producción, permite el origen configurado en FRONTEND_URL.
+ *
+ * En el modo servlet se registra un {@link CorsFilter} y en el modo reactivo
+ * (spring.main.web-application-type=reactive) un {@link CorsWebFilter}, con
+ * la misma configuración.
  */
 @Configuration
 public class CorsConfig {
@@ -24,7 +30,23 @@ public class CorsConfig {
     private String frontendUrl;
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsFilter corsFilter() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", corsConfiguration());
+        return new CorsFilter(source);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CorsWebFilter corsWebFilter() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+            new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", corsConfiguration());
+        return new CorsWebFilter(source);
+    }
+
+    private CorsConfiguration corsConfiguration() {
         CorsConfiguration config = new CorsConfiguration();
 
         // Permitir credenciales (cookies, authorization headers, etc.)
@@ -51,9 +73,6 @@ public class CorsConfig {
         // Permitir estos métodos HTTP
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
 
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/api/**", config);
-
-        return new CorsFilter(source);
+        return config;
     }
 }
@@ -0,0 +1,49 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.DailyChallenge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+import java.time.ZoneId;
+
+/**
+ * Configuración del desafío diario.
+ *
+ * El secreto de cada día depende solo de numerito.daily.seed y de la fecha en
+ * numerito.daily.zone: todas las instancias con la misma semilla sirven el
+ * mismo secreto. Sin semilla configurada se usa una aleatoria en cada
+ * arranque, así que nadie puede calcular el secreto desde el código, pero
+ * cada instancia (y cada reinicio) sirve uno distinto.
+ */
+@Configuration
+public class DailyChallengeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyChallengeConfig.class);
+
+    @Value("${numerito.daily.seed:}")
+    private String seed;
+
+    @Value("${numerito.daily.zone:UTC}")
+    private String zone;
+
+    @Value("${numerito.daily.leaderboard-capacity:100}")
+    private int leaderboardCapacity;
+
+    @Bean
+    public DailyChallenge dailyChallenge() {
+        return new DailyChallenge(seed(), ZoneId.of(zone), leaderboardCapacity);
+    }
+
+    private long seed() {
+        if (seed != null && !seed.isBlank()) {
+            return Long.parseLong(seed.trim());
+        }
+        log.warn("numerito.daily.seed (DAILY_SEED) sin configurar: se usa una semilla aleatoria. "
+            + "Cada instancia y cada reinicio tendrán su propio secreto diario");
+        return new SecureRandom().nextLong();
+    }
+}
@@ -0,0 +1,55 @@
+package com.mijuego.numerito.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mijuego.numerito.api.controller.GameSocketHandler;
+import com.mijuego.numerito.api.service.GameEvents;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+
+/**
+ * Configuración del canal de eventos de cada partida.
+ *
+ * {@link GameEvents} existe siempre (el servicio publica en él), pero el
+ * WebSocket solo se registra en el modo reactivo: sobre Netty una conexión
+ * abierta sin tráfico no ocupa un hilo, y el mismo proceso sostiene decenas
+ * de miles. En el modo servlet nadie se suscribe y publicar no hace nada.
+ */
+@Configuration
+public class GameSocketConfig {
+
+    // Los mensajes del cliente son {"guess":"1234"}: un frame mayor es un error
+    private static final int MAX_FRAME_BYTES = 1024;
+
+    @Bean
+    public GameEvents gameEvents() {
+        return new GameEvents();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public HandlerMapping gameSocketMapping(GameService gameService, GameEvents gameEvents, GameMetrics metrics,
+                                            ObjectMapper objectMapper) {
+        GameSocketHandler handler = new GameSocketHandler(gameService, gameEvents, metrics, objectMapper);
+        // Antes que los controladores anotados
+        return new SimpleUrlHandlerMapping(Map.of(GameSocketHandler.PATH, handler), -1);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebSocketHandlerAdapter webSocketHandlerAdapter() {
+        WebsocketServerSpec.Builder spec = WebsocketServerSpec.builder().maxFramePayloadLength(MAX_FRAME_BYTES);
+        return new WebSocketHandlerAdapter(
+            new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy(spec)));
+    }
+}
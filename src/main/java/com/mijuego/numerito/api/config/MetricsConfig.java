@@ -0,0 +1,157 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.GameEvents;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameService;
+import com.mijuego.numerito.api.service.ScoreJournal;
+import com.mijuego.numerito.api.service.ScoreWriteBehind;
+import com.mijuego.numerito.api.service.SessionExpiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Configuración de las métricas de la API (ver {@link GameMetrics}).
+ *
+ * Spring Boot crea el registry de Prometheus y lo expone en
+ * GET /actuator/prometheus.
+ *
+ * Los componentes que ya llevan sus propios contadores (expiración de
+ * sesiones, Supabase, scores) se exportan con gauges y FunctionCounters que
+ * los leen en cada scrape, sin medir dos veces lo mismo.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry registry) {
+        return new GameMetrics(registry);
+    }
+
+    /**
+     * Gauge con las partidas activas, leído en cada scrape.
+     */
+    @Bean
+    public MeterBinder activeGamesMetrics(GameService gameService) {
+        return registry -> Gauge.builder("numerito.games.active", gameService, GameService::getActiveGamesCount)
+                .description("Partidas activas en memoria")
+                .register(registry);
+    }
+
+    /**
+     * Gauges con las conexiones abiertas al canal de eventos y las partidas que miran.
+     */
+    @Bean
+    public MeterBinder gameSocketMetrics(GameEvents gameEvents) {
+        return registry -> {
+            Gauge.builder("numerito.socket.connections", gameEvents, GameEvents::getSubscriberCount)
+                .description("Conexiones abiertas al canal de eventos de las partidas")
+                .register(registry);
+            Gauge.builder("numerito.socket.games", gameEvents, GameEvents::getChannelCount)
+                .description("Partidas con al menos una conexión abierta")
+                .register(registry);
+        };
+    }
+
+    /**
+     * Partidas archivadas y expulsadas por cada motivo, de {@link SessionExpiry}.
+     */
+    @Bean
+    public MeterBinder sessionExpiryMetrics(SessionExpiry sessionExpiry) {
+        return registry -> {
+            FunctionCounter.builder("numerito.sessions.evicted", sessionExpiry, SessionExpiry::getEvictedIdleCount)
+                .description("Partidas expulsadas de memoria")
+                .tag("reason", "idle")
+                .register(registry);
+            FunctionCounter.builder("numerito.sessions.evicted", sessionExpiry, SessionExpiry::getEvictedMaxTtlCount)
+                .description("Partidas expulsadas de memoria")
+                .tag("reason", "max_ttl")
+                .register(registry);
+            FunctionCounter.builder("numerito.sessions.archived", sessionExpiry, SessionExpiry::getArchivedCount)
+                .description("Partidas ganadas que pasaron al archivo")
+                .register(registry);
+            Gauge.builder("numerito.sessions.archive.size", sessionExpiry, SessionExpiry::getArchivedGamesCount)
+                .description("Partidas guardadas en el archivo")
+                .register(registry);
+        };
+    }
+
+    /**
+     * Estado del circuit breaker y uso del pool de conexiones a Supabase.
+     * El estado es un gauge por valor posible que vale 1 para el actual.
+     */
+    @Bean
+    public MeterBinder supabaseConnectionMetrics(SupabaseCircuitBreaker breaker, SupabasePoolMetrics pool) {
+        return registry -> {
+            for (SupabaseCircuitBreaker.State state : SupabaseCircuitBreaker.State.values()) {
+                Gauge.builder("numerito.supabase.breaker.state", breaker, b -> b.getState() == state ? 1 : 0)
+                    .description("Estado del circuit breaker de Supabase")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+            }
+            FunctionCounter.builder("numerito.supabase.breaker.opened", breaker, SupabaseCircuitBreaker::getOpenedCount)
+                .description("Veces que se abrió el circuit breaker")
+                .register(registry);
+            FunctionCounter.builder("numerito.supabase.breaker.rejected", breaker,
+                    SupabaseCircuitBreaker::getRejectedCount)
+                .description("Peticiones cortadas con el circuit breaker abierto")
+                .register(registry);
+
+            Gauge.builder("numerito.supabase.pool.acquired", pool, SupabasePoolMetrics::getAcquired)
+                .description("Conexiones a Supabase prestadas")
+                .register(registry);
+            Gauge.builder("numerito.supabase.pool.idle", pool, SupabasePoolMetrics::getIdle)
+                .description("Conexiones a Supabase abiertas y libres")
+                .register(registry);
+            Gauge.builder("numerito.supabase.pool.pending", pool, SupabasePoolMetrics::getPendingAcquire)
+                .description("Peticiones esperando una conexión a Supabase")
+                .register(registry);
+            Gauge.builder("numerito.supabase.pool.max", pool, SupabasePoolMetrics::getMaxAllocated)
+                .description("Máximo de conexiones a Supabase")
+                .register(registry);
+        };
+    }
+
+    /**
+     * Cola de escritura diferida de scores, si está activada.
+     */
+    @Bean
+    public MeterBinder scoreWriteBehindMetrics(Optional<ScoreWriteBehind> scoreWriteBehind) {
+        return registry -> scoreWriteBehind.ifPresent(queue -> {
+            Gauge.builder("numerito.scores.queue.depth", queue, ScoreWriteBehind::getQueued)
+                .description("Scores esperando en la cola de escritura diferida")
+                .register(registry);
+            FunctionCounter.builder("numerito.scores.queue.failed", queue, ScoreWriteBehind::getFailedCount)
+                .description("Scores descartados porque Supabase los rechazó")
+                .register(registry);
+            FunctionCounter.builder("numerito.scores.queue.rejected", queue, ScoreWriteBehind::getRejectedCount)
+                .description("Scores rechazados con la cola llena")
+                .register(registry);
+        });
+    }
+
+    /**
+     * Diario local de scores, si está activado.
+     */
+    @Bean
+    public MeterBinder scoreJournalMetrics(Optional<ScoreJournal> scoreJournal) {
+        return registry -> scoreJournal.ifPresent(journal -> {
+            Gauge.builder("numerito.scores.journal.pending", journal, ScoreJournal::getPending)
+                .description("Scores del diario pendientes de confirmar por Supabase")
+                .register(registry);
+            Gauge.builder("numerito.scores.journal.used", journal, ScoreJournal::getUsedBytes)
+                .description("Bytes ocupados del archivo del diario")
+                .baseUnit("bytes")
+                .register(registry);
+            FunctionCounter.builder("numerito.scores.journal.discarded", journal, ScoreJournal::getDiscardedCount)
+                .description("Scores del diario descartados porque Supabase los rechazó")
+                .register(registry);
+        });
+    }
+}
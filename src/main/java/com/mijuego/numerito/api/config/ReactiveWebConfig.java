@@ -0,0 +1,58 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.controller.CpuBound;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Configuración del modo reactivo (spring.main.web-application-type=reactive).
+ *
+ * Los mismos controladores corren sobre Netty: crear partidas, intentos y
+ * estado son operaciones en memoria que no bloquean y se resuelven en el
+ * event loop, y los scores ya devuelven Mono. Los endpoints marcados con
+ * {@link CpuBound} (las pistas) se ejecutan en un pool acotado de
+ * numerito.reactive.cpu-bound-threads hilos (0 = procesadores).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ThreadPoolTaskExecutor cpuBoundExecutor;
+
+    public ReactiveWebConfig(@Value("${numerito.reactive.cpu-bound-threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        cpuBoundExecutor = new ThreadPoolTaskExecutor();
+        cpuBoundExecutor.setCorePoolSize(size);
+        cpuBoundExecutor.setMaxPoolSize(size);
+        cpuBoundExecutor.setThreadNamePrefix("cpu-bound-");
+        cpuBoundExecutor.setDaemon(true);
+        cpuBoundExecutor.initialize();
+    }
+
+    /**
+     * Netty como servidor. Tomcat sigue en el classpath para el modo servlet
+     * y Spring Boot lo elegiría también para el modo reactivo.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(cpuBoundExecutor)
+            .setControllerMethodPredicate(handler -> handler.hasMethodAnnotation(CpuBound.class));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpuBoundExecutor.shutdown();
+    }
+}
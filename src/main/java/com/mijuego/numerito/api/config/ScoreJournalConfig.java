@@ -0,0 +1,49 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.ScoreJournal;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuración del diario local de scores.
+ *
+ * Solo se activa con numerito.scores.journal.enabled=true. El archivo debe
+ * estar en un disco que sobreviva a los reinicios para que sirva de algo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "numerito.scores.journal.enabled", havingValue = "true")
+public class ScoreJournalConfig {
+
+    @Value("${numerito.scores.journal.path:data/scores.journal}")
+    private Path path;
+
+    @Value("${numerito.scores.journal.capacity:64MB}")
+    private DataSize capacity;
+
+    @Value("${numerito.scores.journal.fsync-interval:100ms}")
+    private Duration fsyncInterval;
+
+    @Value("${numerito.scores.journal.replay-interval:1s}")
+    private Duration replayInterval;
+
+    @Value("${numerito.scores.journal.replay-delay:30s}")
+    private Duration replayDelay;
+
+    @Value("${numerito.scores.journal.replay-batch:100}")
+    private int replayBatch;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ScoreJournal scoreJournal(@Qualifier("supabaseWebClient") WebClient supabaseClient) throws IOException {
+        return new ScoreJournal(supabaseClient, path, (int) capacity.toBytes(), fsyncInterval,
+                replayInterval, replayDelay, replayBatch, System::currentTimeMillis);
+    }
+}
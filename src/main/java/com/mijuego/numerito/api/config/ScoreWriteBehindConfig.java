@@ -0,0 +1,42 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.ScoreWriteBehind;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la escritura diferida de scores.
+ *
+ * Solo se activa con numerito.scores.write-behind.enabled=true; sin ella cada
+ * score se inserta en Supabase dentro del request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "numerito.scores.write-behind.enabled", havingValue = "true")
+public class ScoreWriteBehindConfig {
+
+    @Value("${numerito.scores.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${numerito.scores.write-behind.batch-size:100}")
+    private int batchSize;
+
+    @Value("${numerito.scores.write-behind.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${numerito.scores.write-behind.retry-backoff:200ms}")
+    private Duration retryBackoff;
+
+    @Value("${numerito.scores.write-behind.max-backoff:30s}")
+    private Duration maxBackoff;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ScoreWriteBehind scoreWriteBehind(@Qualifier("supabaseWebClient") WebClient supabaseClient) {
+        return new ScoreWriteBehind(supabaseClient, queueCapacity, batchSize, flushInterval, retryBackoff, maxBackoff);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.SecretNumberGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del generador de números secretos.
+ *
+ * Sin numerito.secrets.seed cada hilo sortea con su propio ThreadLocalRandom.
+ * Con una semilla la secuencia de secretos es siempre la misma, para pruebas
+ * de carga reproducibles: nunca en producción.
+ */
+@Configuration
+public class SecretConfig {
+
+    @Value("${numerito.secrets.seed:}")
+    private String seed;
+
+    @Bean
+    public SecretNumberGenerator secretNumberGenerator() {
+        if (seed.isBlank()) {
+            return new SecretNumberGenerator();
+        }
+        try {
+            return new SecretNumberGenerator(Long.parseLong(seed.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("numerito.secrets.seed debe ser un número entero: " + seed, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.CompactSessionStore;
+import com.mijuego.numerito.api.service.ExpiryPolicy;
+import com.mijuego.numerito.api.service.GameArchive;
+import com.mijuego.numerito.api.service.MapSessionStore;
+import com.mijuego.numerito.api.service.SessionClock;
+import com.mijuego.numerito.api.service.SessionExpiry;
+import com.mijuego.numerito.api.service.SessionSnapshots;
+import com.mijuego.numerito.api.service.SessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuración del almacén de partidas activas y de su expiración.
+ *
+ * numerito.sessions.store elige la implementación:
+ * - map (por defecto): un GameSession por partida en un ConcurrentHashMap
+ * - compact: arrays primitivos por slot, para millones de partidas por instancia
+ *
+ * Los TTL (idle-ttl, max-ttl, finished-ttl) y la capacidad del archivo de
+ * partidas ganadas se configuran con numerito.sessions.*.
+ *
+ * Con numerito.sessions.snapshot.enabled=true las partidas activas se guardan
+ * periódicamente en disco y se restauran al arrancar.
+ *
+ * Con numerito.candidates.enabled=true cada partida sigue sus secretos
+ * compatibles ({@link com.mijuego.numerito.CandidateSet}, unos 600 bytes más
+ * por partida) y la respuesta de cada intento los informa.
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    @Value("${numerito.sessions.store:map}")
+    private String storeType;
+
+    @Value("${numerito.sessions.expected-games:65536}")
+    private int expectedGames;
+
+    @Value("${numerito.sessions.idle-ttl:30m}")
+    private Duration idleTtl;
+
+    @Value("${numerito.sessions.max-ttl:6h}")
+    private Duration maxTtl;
+
+    @Value("${numerito.sessions.finished-ttl:1m}")
+    private Duration finishedTtl;
+
+    @Value("${numerito.sessions.archive-capacity:1000000}")
+    private int archiveCapacity;
+
+    @Value("${numerito.candidates.enabled:false}")
+    private boolean trackCandidates;
+
+    @Value("${numerito.sessions.snapshot.path:data/sessions.snapshot}")
+    private Path snapshotPath;
+
+    @Value("${numerito.sessions.snapshot.interval:30s}")
+    private Duration snapshotInterval;
+
+    @Bean
+    public SessionStore sessionStore() {
+        return switch (storeType) {
+            case "map" -> new MapSessionStore(SessionClock.SYSTEM, trackCandidates);
+            case "compact" -> new CompactSessionStore(expectedGames, SessionClock.SYSTEM, trackCandidates);
+            default -> throw new IllegalArgumentException(
+                "numerito.sessions.store desconocido: " + storeType + " (valores: map, compact)");
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public SessionExpiry sessionExpiry(SessionStore sessionStore) {
+        ExpiryPolicy policy = new ExpiryPolicy(
+            (int) idleTtl.toSeconds(),
+            (int) maxTtl.toSeconds(),
+            (int) finishedTtl.toSeconds());
+        return new SessionExpiry(sessionStore, policy, new GameArchive(archiveCapacity), SessionClock.SYSTEM);
+    }
+
+    /**
+     * Se inicializa antes de que el servidor acepte peticiones, así que las
+     * partidas restauradas ya están disponibles al primer request.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "numerito.sessions.snapshot.enabled", havingValue = "true")
+    public SessionSnapshots sessionSnapshots(SessionStore sessionStore, SessionExpiry sessionExpiry) {
+        return new SessionSnapshots(sessionStore, sessionExpiry, snapshotPath, snapshotInterval);
+    }
+}
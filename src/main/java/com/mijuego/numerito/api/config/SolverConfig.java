@@ -0,0 +1,33 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.HintSolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del solver que calcula las pistas.
+ *
+ * numerito.solver.strategy elige el criterio (minimax o entropy) y
+ * numerito.solver.parallelism los hilos de su ForkJoinPool (0 = procesadores).
+ */
+@Configuration
+public class SolverConfig {
+
+    @Value("${numerito.solver.strategy:minimax}")
+    private String strategy;
+
+    @Value("${numerito.solver.parallelism:0}")
+    private int parallelism;
+
+    @Bean(destroyMethod = "close")
+    public HintSolver hintSolver() {
+        HintSolver.Strategy selected = switch (strategy) {
+            case "minimax" -> HintSolver.Strategy.MINIMAX;
+            case "entropy" -> HintSolver.Strategy.ENTROPY;
+            default -> throw new IllegalArgumentException(
+                "numerito.solver.strategy desconocido: " + strategy + " (valores: minimax, entropy)");
+        };
+        return new HintSolver(selected, parallelism);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.GameMetrics;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mide la latencia de las peticiones a Supabase, como filtro del WebClient.
+ *
+ * Va después del {@link SupabaseCircuitBreaker}, así que solo mide las
+ * peticiones que salen: las cortadas por el circuito abierto no cuentan. La
+ * latencia llega hasta los headers de la respuesta; las respuestas 5xx y los
+ * errores de conexión o timeout se registran como error, y las peticiones
+ * canceladas no se registran.
+ */
+public class SupabaseCallMetrics implements ExchangeFilterFunction {
+
+    private final GameMetrics metrics;
+
+    public SupabaseCallMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> metrics.recordSupabaseCall(start,
+                            !response.statusCode().is5xxServerError()))
+                    .doOnError(error -> metrics.recordSupabaseCall(start, false));
+        });
+    }
+}
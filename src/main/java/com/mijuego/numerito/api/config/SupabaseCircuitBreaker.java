@@ -0,0 +1,140 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.service.SupabaseUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker para las peticiones a Supabase, como filtro del WebClient.
+ *
+ * - CLOSED: las peticiones pasan; tras failureThreshold fallos seguidos
+ *   (errores de conexión, timeouts o respuestas 5xx) el circuito se abre.
+ * - OPEN: las peticiones fallan enseguida con
+ *   {@link SupabaseUnavailableException} durante openDuration.
+ * - HALF_OPEN: pasa una sola petición de prueba; si sale bien el circuito se
+ *   cierra y si falla se vuelve a abrir.
+ *
+ * Así un Supabase lento no acumula peticiones colgadas: los llamadores pueden
+ * servir datos cacheados o anotar el score en el diario.
+ */
+public class SupabaseCircuitBreaker implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(SupabaseCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    /**
+     * @param failureThreshold fallos seguidos que abren el circuito
+     * @param openDuration tiempo que el circuito queda abierto antes de probar
+     * @param nanoClock reloj monotónico en nanosegundos
+     */
+    public SupabaseCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new SupabaseUnavailableException(
+                        "Supabase no está disponible, intenta de nuevo en unos segundos"));
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> settle(settled, !response.statusCode().is5xxServerError()))
+                    .doOnError(error -> settle(settled, false))
+                    // Una petición cancelada (p. ej. por timeout del llamador) no deja la prueba colgada
+                    .doOnCancel(() -> settle(settled, false));
+        });
+    }
+
+    // Cuenta cada petición una sola vez, aunque se cancele después de responder
+    private void settle(AtomicBoolean settled, boolean success) {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        if (success) {
+            onSuccess();
+        } else {
+            onFailure();
+        }
+    }
+
+    // true si la petición puede pasar; en HALF_OPEN solo la primera
+    private boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt.get() >= openNanos) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    private void onFailure() {
+        failures.increment();
+        int count = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && count >= failureThreshold)) {
+            openedAt.set(nanoClock.getAsLong());
+            if (state.compareAndSet(current, State.OPEN)) {
+                opened.increment();
+                log.error("Supabase no responde: circuito abierto por {}s", Duration.ofNanos(openNanos).toSeconds());
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+}
@@ -1,15 +1,29 @@
 package com.mijuego.numerito.api.config;
 
+import com.mijuego.numerito.api.service.GameMetrics;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Configuración para conectar con Supabase REST API
  *
  * Usa WebClient para hacer peticiones HTTP a Supabase.
  * La autenticación se hace mediante el header Authorization con la service_role key.
+ *
+ * Las conexiones salen de un pool acotado: con todas ocupadas, hasta
+ * pending-acquire-max peticiones esperan una conexión y el resto falla
+ * enseguida. Un {@link SupabaseCircuitBreaker} corta las peticiones mientras
+ * Supabase no responde, y {@link SupabaseCallMetrics} mide la latencia de las
+ * peticiones que sí salen.
  */
 @Configuration
 public class SupabaseConfig {
@@ -20,6 +34,52 @@ public class SupabaseConfig {
     @Value("${supabase.key}")
     private String supabaseKey;
 
+    @Value("${numerito.supabase.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${numerito.supabase.pending-acquire-max:200}")
+    private int pendingAcquireMax;
+
+    @Value("${numerito.supabase.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${numerito.supabase.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${numerito.supabase.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${numerito.supabase.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${numerito.supabase.response-timeout:5s}")
+    private Duration responseTimeout;
+
+    @Value("${numerito.supabase.http2:true}")
+    private boolean http2;
+
+    @Value("${numerito.supabase.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${numerito.supabase.breaker.open-duration:10s}")
+    private Duration breakerOpenDuration;
+
+    @Bean
+    public SupabasePoolMetrics supabasePoolMetrics() {
+        return new SupabasePoolMetrics();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider supabaseConnectionProvider(SupabasePoolMetrics poolMetrics) {
+        return connectionProvider(maxConnections, pendingAcquireMax, pendingAcquireTimeout,
+                maxIdleTime, maxLifeTime, poolMetrics);
+    }
+
+    @Bean
+    public SupabaseCircuitBreaker supabaseCircuitBreaker() {
+        return new SupabaseCircuitBreaker(breakerFailureThreshold, breakerOpenDuration, System::nanoTime);
+    }
+
     /**
      * Bean de WebClient configurado para Supabase
      *
@@ -27,15 +87,52 @@ public class SupabaseConfig {
      * - Base URL de Supabase
      * - Headers de autenticación (apikey y Authorization)
      * - Header de preferencia para devolver la representación completa
+     * - Pool de conexiones, timeouts y circuit breaker
+     * - Métricas de latencia
      */
     @Bean
-    public WebClient supabaseWebClient() {
+    public WebClient supabaseWebClient(ConnectionProvider supabaseConnectionProvider,
+                                       SupabaseCircuitBreaker circuitBreaker,
+                                       GameMetrics metrics) {
+        HttpClient httpClient = httpClient(supabaseConnectionProvider, connectTimeout, responseTimeout, http2);
         return WebClient.builder()
                 .baseUrl(supabaseUrl + "/rest/v1")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(circuitBreaker)
+                .filter(new SupabaseCallMetrics(metrics))
                 .defaultHeader("apikey", supabaseKey)
                 .defaultHeader("Authorization", "Bearer " + supabaseKey)
                 .defaultHeader("Content-Type", "application/json")
                 .defaultHeader("Prefer", "return=representation")
                 .build();
     }
+
+    static ConnectionProvider connectionProvider(int maxConnections, int pendingAcquireMax,
+                                                 Duration pendingAcquireTimeout, Duration maxIdleTime,
+                                                 Duration maxLifeTime, SupabasePoolMetrics poolMetrics) {
+        return ConnectionProvider.builder("supabase")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                // Cierra las conexiones vencidas aunque no se pidan, antes de que lo haga el servidor
+                .evictInBackground(maxIdleTime)
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+
+    /**
+     * Cliente HTTP con keep-alive, timeouts y HTTP/2 cuando el servidor lo
+     * negocia (ALPN sobre TLS); sobre http plano se usa HTTP/1.1.
+     */
+    static HttpClient httpClient(ConnectionProvider connectionProvider, Duration connectTimeout,
+                                 Duration responseTimeout, boolean http2) {
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout);
+        return http2 ? client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : client;
+    }
 }
@@ -0,0 +1,64 @@
+package com.mijuego.numerito.api.config;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uso del pool de conexiones a Supabase.
+ *
+ * Reactor Netty registra un pool por dirección remota; se guardan acá y se
+ * suman al consultarlos, tanto para GET /api/health/supabase como para los
+ * gauges numerito.supabase.pool.* de {@link MetricsConfig}.
+ */
+public class SupabasePoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                ConnectionPoolMetrics metrics) {
+        pools.put(id, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(id);
+    }
+
+    /**
+     * Conexiones prestadas en este momento.
+     */
+    public int getAcquired() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::acquiredSize).sum();
+    }
+
+    /**
+     * Conexiones abiertas, prestadas o libres.
+     */
+    public int getAllocated() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::allocatedSize).sum();
+    }
+
+    public int getIdle() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::idleSize).sum();
+    }
+
+    /**
+     * Peticiones esperando una conexión.
+     */
+    public int getPendingAcquire() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::pendingAcquireSize).sum();
+    }
+
+    public int getMaxAllocated() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::maxAllocatedSize).sum();
+    }
+
+    public int getMaxPendingAcquire() {
+        return pools.values().stream().mapToInt(ConnectionPoolMetrics::maxPendingAcquireSize).sum();
+    }
+}
@@ -0,0 +1,19 @@
+package com.mijuego.numerito.api.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca los endpoints que hacen cálculos largos en el hilo de la petición.
+ *
+ * En el modo reactivo se ejecutan en un pool aparte para no detener el event
+ * loop de Netty (ver ReactiveWebConfig); en el modo servlet no cambia nada.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CpuBound {
+}
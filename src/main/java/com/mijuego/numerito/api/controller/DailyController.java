@@ -0,0 +1,82 @@
+package com.mijuego.numerito.api.controller;
+
+import com.mijuego.numerito.api.dto.DailyStatsResponse;
+import com.mijuego.numerito.api.dto.GameCreatedResponse;
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import com.mijuego.numerito.api.service.DailyChallenge;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameMetrics.Endpoint;
+import com.mijuego.numerito.api.service.GameService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST del desafío diario ({@link DailyChallenge}).
+ *
+ * Expone endpoints para:
+ * - POST /api/daily - Crear una partida con el secreto del día
+ * - GET /api/daily/stats - Estadísticas del día
+ * - GET /api/daily/leaderboard - Ranking del día, servido desde memoria
+ *
+ * Las partidas diarias se juegan con los mismos endpoints que el resto
+ * (/api/game/{gameId}/guess, el canal WebSocket, etc.). Para entrar al
+ * ranking del día se guarda el score con POST /api/scores, como siempre.
+ */
+@RestController
+@RequestMapping("/api/daily")
+@Validated
+public class DailyController {
+
+    private final GameService gameService;
+    private final DailyChallenge daily;
+    private final GameMetrics metrics;
+
+    public DailyController(GameService gameService, DailyChallenge daily, GameMetrics metrics) {
+        this.gameService = gameService;
+        this.daily = daily;
+        this.metrics = metrics;
+    }
+
+    @PostMapping
+    public ResponseEntity<GameCreatedResponse> createDailyGame() {
+        long start = System.nanoTime();
+        try {
+            String gameId = gameService.createDailyGame();
+            return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(GameCreatedResponse.create(gameId));
+        } finally {
+            metrics.recordRequest(Endpoint.DAILY_CREATE, start);
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<DailyStatsResponse> getStats() {
+        long start = System.nanoTime();
+        try {
+            return ResponseEntity.ok(DailyStatsResponse.from(daily));
+        } finally {
+            metrics.recordRequest(Endpoint.DAILY_STATS, start);
+        }
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<ScoreResponse>> getLeaderboard(
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "El límite debe ser al menos 1")
+            @Max(value = DailyChallenge.MAX_LEADERBOARD_CAPACITY,
+                message = "El límite no puede superar " + DailyChallenge.MAX_LEADERBOARD_CAPACITY) int limit) {
+        long start = System.nanoTime();
+        try {
+            return ResponseEntity.ok(daily.top(limit));
+        } finally {
+            metrics.recordRequest(Endpoint.DAILY_TOP, start);
+        }
+    }
+}
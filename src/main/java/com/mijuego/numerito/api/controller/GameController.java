@@ -1,35 +1,61 @@
 package com.mijuego.numerito.api.controller;
 
-import com.mijuego.numerito.GameSession;
-import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.api.dto.BatchGuessRequest;
+import com.mijuego.numerito.api.dto.BulkCreateRequest;
 import com.mijuego.numerito.api.dto.GameCreatedResponse;
+import com.mijuego.numerito.api.dto.GameHistoryResponse;
 import com.mijuego.numerito.api.dto.GameStateResponse;
+import com.mijuego.numerito.api.dto.GamesCreatedResponse;
+import com.mijuego.numerito.api.dto.GuessFrame;
 import com.mijuego.numerito.api.dto.GuessRequest;
-import com.mijuego.numerito.api.dto.GuessResponse;
+import com.mijuego.numerito.api.dto.GuessResponseEncoder;
+import com.mijuego.numerito.api.dto.HintResponse;
+import com.mijuego.numerito.api.service.GameFinishedException;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameMetrics.Endpoint;
 import com.mijuego.numerito.api.service.GameNotFoundException;
 import com.mijuego.numerito.api.service.GameService;
+import com.mijuego.numerito.api.service.GameState;
+import com.mijuego.numerito.api.service.HintNotAllowedException;
+import com.mijuego.numerito.api.service.HintService;
 import com.mijuego.numerito.exception.InvalidGuessException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador REST para el juego Numerito.
  *
  * Expone endpoints para:
  * - POST /api/game - Crear nueva partida
- * - POST /api/game/{gameId}/guess - Realizar un intento
+ * - POST /api/game/batch - Crear varias partidas
+ * - POST /api/game/{gameId}/guess - Realizar un intento (JSON o {@link GuessFrame} binario)
+ * - POST /api/game/{gameId}/guesses - Realizar varios intentos seguidos
  * - GET /api/game/{gameId} - Consultar estado de partida
+ * - GET /api/game/{gameId}/hint - Pedir una pista para el próximo intento
+ * - GET /api/game/{gameId}/history - Consultar las jugadas de una partida
+ *
+ * La latencia de cada endpoint, incluidas las respuestas de error, se
+ * registra en {@link GameMetrics}.
  */
 @RestController
 @RequestMapping("/api/game")
 public class GameController {
 
     private final GameService gameService;
+    private final HintService hintService;
+    private final GameMetrics metrics;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, HintService hintService, GameMetrics metrics) {
         this.gameService = gameService;
+        this.hintService = hintService;
+        this.metrics = metrics;
     }
 
     /**
@@ -45,10 +71,45 @@ public class GameController {
      */
     @PostMapping
     public ResponseEntity<GameCreatedResponse> createGame() {
-        String gameId = gameService.createGame();
-        return ResponseEntity
-            .status(HttpStatus.CREATED)
-            .body(GameCreatedResponse.create(gameId));
+        long start = System.nanoTime();
+        try {
+            String gameId = gameService.createGame();
+            return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(GameCreatedResponse.create(gameId));
+        } finally {
+            metrics.recordRequest(Endpoint.CREATE, start);
+        }
+    }
+
+    /**
+     * Crea varias partidas en una sola llamada.
+     *
+     * Ejemplo de request:
+     * {
+     *   "count": 3
+     * }
+     *
+     * Ejemplo de respuesta:
+     * {
+     *   "gameIds": ["a1b2c3d4-...", "b2c3d4e5-...", "c3d4e5f6-..."],
+     *   "message": "3 partidas creadas exitosamente"
+     * }
+     *
+     * @param request request con la cantidad de partidas
+     * @return ResponseEntity con los gameId generados
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<GamesCreatedResponse> createGames(@Valid @RequestBody BulkCreateRequest request) {
+        long start = System.nanoTime();
+        try {
+            List<String> gameIds = gameService.createGames(request.count());
+            return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(GamesCreatedResponse.create(gameIds));
+        } finally {
+            metrics.recordRequest(Endpoint.CREATE_BATCH, start);
+        }
     }
 
     /**
@@ -69,6 +130,13 @@ public class GameController {
      *   "finished": false
      * }
      *
+     * Con numerito.candidates.enabled=true la respuesta agrega
+     * "remainingCandidates" (secretos todavía compatibles) y "consistent" (si
+     * el intento podía ser el secreto).
+     *
+     * La respuesta se escribe con {@link GuessResponseEncoder} a partir de una
+     * única búsqueda de la partida, sin pasar por Jackson.
+     *
      * @param gameId identificador de la partida
      * @param request request con el intento
      * @return ResponseEntity con el resultado del intento
@@ -76,17 +144,91 @@ public class GameController {
      * @throws InvalidGuessException si el intento no es válido
      */
     @PostMapping("/{gameId}/guess")
-    public ResponseEntity<GuessResponse> makeGuess(
+    public ResponseEntity<byte[]> makeGuess(
             @PathVariable String gameId,
             @Valid @RequestBody GuessRequest request)
             throws GameNotFoundException, InvalidGuessException {
 
-        GuessResult result = gameService.makeGuess(gameId, request.guess());
-        GameSession session = gameService.getGameState(gameId);
+        long start = System.nanoTime();
+        try {
+            long tracked = gameService.makeGuessTracked(gameId, request.guess());
 
-        GuessResponse response = GuessResponse.from(result, session.isFinished());
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(GuessResponseEncoder.encode(CandidateSet.outcome(tracked), CandidateSet.report(tracked)));
+        } finally {
+            metrics.recordRequest(Endpoint.GUESS, start);
+        }
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Realiza un intento con el formato binario de {@link GuessFrame}, elegido
+     * por Content-Type y Accept: la misma operación que la versión JSON sin
+     * parsear ni escribir texto.
+     *
+     * @param gameId identificador de la partida
+     * @param frame los 18 bytes del request
+     * @return ResponseEntity con los 5 bytes del resultado
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido
+     */
+    @PostMapping(value = "/{gameId}/guess",
+        consumes = GuessFrame.MEDIA_TYPE_VALUE, produces = GuessFrame.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> makeGuessFrame(
+            @PathVariable String gameId,
+            @RequestBody(required = false) byte[] frame)
+            throws GameNotFoundException, InvalidGuessException {
+
+        long start = System.nanoTime();
+        try {
+            int guessIndex = CodeIndex.parse(GuessFrame.decode(frame, gameId));
+            // El texto del código está precalculado: no se crea ningún String
+            int outcome = gameService.makeGuessOutcome(gameId, CodeIndex.toString(guessIndex));
+
+            return ResponseEntity.ok()
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .body(GuessFrame.encode(outcome));
+        } finally {
+            metrics.recordRequest(Endpoint.GUESS_FRAME, start);
+        }
+    }
+
+    /**
+     * Realiza varios intentos seguidos en una partida, en orden.
+     *
+     * Se evalúan hasta el primer acierto; los intentos posteriores se ignoran.
+     * Si algún intento no es válido no se aplica ninguno.
+     *
+     * Ejemplo de request:
+     * {
+     *   "guesses": ["5678", "1243", "1234"]
+     * }
+     *
+     * Ejemplo de respuesta: un array con un elemento por intento evaluado, con
+     * el mismo formato que POST /api/game/{gameId}/guess.
+     *
+     * @param gameId identificador de la partida
+     * @param request request con los intentos
+     * @return ResponseEntity con los resultados de los intentos evaluados
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si algún intento no es válido o la partida ya terminó
+     */
+    @PostMapping("/{gameId}/guesses")
+    public ResponseEntity<byte[]> makeGuesses(
+            @PathVariable String gameId,
+            @Valid @RequestBody BatchGuessRequest request)
+            throws GameNotFoundException, InvalidGuessException {
+
+        long start = System.nanoTime();
+        try {
+            long[] tracked = gameService.makeGuessesTracked(gameId, request.guesses());
+
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(GuessResponseEncoder.encodeAll(tracked));
+        } finally {
+            metrics.recordRequest(Endpoint.GUESSES, start);
+        }
     }
 
     /**
@@ -107,9 +249,82 @@ public class GameController {
     public ResponseEntity<GameStateResponse> getGameState(@PathVariable String gameId)
             throws GameNotFoundException {
 
-        GameSession session = gameService.getGameState(gameId);
-        GameStateResponse response = GameStateResponse.from(gameId, session);
+        long start = System.nanoTime();
+        try {
+            GameState state = gameService.getGameState(gameId);
+            GameStateResponse response = GameStateResponse.from(gameId, state);
+
+            return ResponseEntity.ok(response);
+        } finally {
+            metrics.recordRequest(Endpoint.STATE, start);
+        }
+    }
+
+    /**
+     * Calcula el mejor próximo intento según las jugadas realizadas.
+     *
+     * Ejemplo de respuesta:
+     * {
+     *   "guess": "1243",
+     *   "remainingCandidates": 180,
+     *   "strategy": "minimax"
+     * }
+     *
+     * @param gameId identificador de la partida
+     * @return ResponseEntity con la pista
+     * @throws GameNotFoundException si la partida no existe
+     * @throws GameFinishedException si la partida ya terminó
+     * @throws HintNotAllowedException si es una partida diaria en curso
+     */
+    @CpuBound
+    @GetMapping("/{gameId}/hint")
+    public ResponseEntity<HintResponse> getHint(@PathVariable String gameId)
+            throws GameNotFoundException, GameFinishedException, HintNotAllowedException {
+
+        long start = System.nanoTime();
+        try {
+            HintResponse response = HintResponse.from(hintService.getHint(gameId), hintService.getStrategy());
+
+            return ResponseEntity.ok(response);
+        } finally {
+            metrics.recordRequest(Endpoint.HINT, start);
+        }
+    }
+
+    /**
+     * Consulta las jugadas de una partida, para reconstruir el tablero
+     * después de recargar la página.
+     *
+     * Ejemplo de respuesta:
+     * {
+     *   "gameId": "a1b2c3d4-e5f6-7890-abcd-ef1234567890",
+     *   "attempts": 2,
+     *   "finished": false,
+     *   "moves": [
+     *     {"attemptNumber": 1, "guess": "5678", "bien": 0, "regular": 0, "mal": 4},
+     *     {"attemptNumber": 2, "guess": "1243", "bien": 2, "regular": 2, "mal": 0}
+     *   ]
+     * }
+     *
+     * Las partidas ganadas conservan sus jugadas hasta pasar al archivo
+     * (numerito.sessions.finished-ttl); después responde 410 GAME_FINISHED.
+     *
+     * @param gameId identificador de la partida
+     * @return ResponseEntity con las jugadas en orden
+     * @throws GameNotFoundException si la partida no existe
+     * @throws GameFinishedException si la partida ya terminó y fue archivada
+     */
+    @GetMapping("/{gameId}/history")
+    public ResponseEntity<GameHistoryResponse> getHistory(@PathVariable String gameId)
+            throws GameNotFoundException, GameFinishedException {
+
+        long start = System.nanoTime();
+        try {
+            int[] moves = gameService.getMoves(gameId);
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(GameHistoryResponse.from(gameId, moves));
+        } finally {
+            metrics.recordRequest(Endpoint.HISTORY, start);
+        }
     }
 }
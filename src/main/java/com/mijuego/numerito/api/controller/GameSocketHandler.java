@@ -0,0 +1,133 @@
+package com.mijuego.numerito.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mijuego.numerito.api.dto.GameEventMessage;
+import com.mijuego.numerito.api.dto.GuessRequest;
+import com.mijuego.numerito.api.dto.GuessResponseEncoder;
+import com.mijuego.numerito.api.service.GameEvents;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameMetrics.Endpoint;
+import com.mijuego.numerito.api.service.GameNotFoundException;
+import com.mijuego.numerito.api.service.GameService;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Canal WebSocket de una partida: /api/game/{gameId}/ws (solo en modo reactivo).
+ *
+ * Reemplaza el polling de GET /api/game/{gameId}. Todos los mensajes son JSON
+ * en frames de texto:
+ * - Al conectarse: {"type":"state","gameId":...,"attempts":N,"finished":B}
+ * - Por cada intento aceptado en la partida, venga de este canal, de otra
+ *   conexión o de la API REST: {"type":"guess","guess":"1234",...} con los
+ *   mismos campos que la respuesta de POST /api/game/{gameId}/guess
+ * - Para intentar, el cliente envía {"guess":"1234"}. El resultado llega como
+ *   evento de intento; si no es válido, solo quien lo envió recibe
+ *   {"type":"error","error":"INVALID_GUESS","message":...}
+ *
+ * Si la partida no existe, el canal envía el error GAME_NOT_FOUND y se cierra
+ * con el código 4404.
+ *
+ * Una conexión sin tráfico no tiene hilos ni buffers propios: es el canal de
+ * Netty más una suscripción en {@link GameEvents}. Los eventos que un cliente
+ * no alcanza a leer se descartan para él (ver {@link GameEvents}); el número
+ * de intento de cada evento permite detectar el hueco.
+ */
+public class GameSocketHandler implements WebSocketHandler {
+
+    public static final String PATH = "/api/game/{gameId}/ws";
+
+    // Códigos 4000-4999: reservados para la aplicación
+    static final CloseStatus GAME_NOT_FOUND = new CloseStatus(4404, "GAME_NOT_FOUND");
+
+    private static final String PATH_PREFIX = "/api/game/";
+    private static final String PATH_SUFFIX = "/ws";
+
+    private final GameService gameService;
+    private final GameEvents events;
+    private final GameMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    public GameSocketHandler(GameService gameService, GameEvents events, GameMetrics metrics,
+                             ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.events = events;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String path = session.getHandshakeInfo().getUri().getPath();
+        String gameId = path.substring(PATH_PREFIX.length(), path.length() - PATH_SUFFIX.length());
+
+        if (gameService.findGame(gameId).isEmpty()) {
+            metrics.recordGameNotFound();
+            GameEventMessage error = GameEventMessage.error("GAME_NOT_FOUND",
+                "Partida con ID " + gameId + " no encontrada");
+            return session.send(Mono.just(text(session, json(error))))
+                .then(session.close(GAME_NOT_FOUND));
+        }
+
+        Flux<WebSocketMessage> updates = events.subscribe(gameId)
+            .map(event -> text(session,
+                GuessResponseEncoder.encodeEvent(GameEvents.guessIndex(event), GameEvents.outcome(event))));
+        Mono<WebSocketMessage> state = Mono.fromSupplier(() -> gameService.findGame(gameId)
+            .map(current -> text(session, json(GameEventMessage.state(gameId, current))))
+            .orElse(null));
+        // Los intentos aceptados vuelven por los eventos; aquí solo salen errores
+        Flux<WebSocketMessage> errors = session.receive()
+            .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+            .concatMap(message -> Mono.justOrEmpty(guess(gameId, message.getPayloadAsText())))
+            .map(error -> text(session, json(error)));
+
+        // merge se suscribe en orden: primero a los eventos y después lee el
+        // estado, así ningún intento queda entre el estado y el primer evento
+        return session.send(Flux.merge(updates, state, errors));
+    }
+
+    /**
+     * Aplica un intento recibido por el canal.
+     *
+     * @return el error para el remitente, o null si el intento fue aceptado
+     */
+    private GameEventMessage guess(String gameId, String payload) {
+        long start = System.nanoTime();
+        try {
+            GuessRequest request;
+            try {
+                request = objectMapper.readValue(payload, GuessRequest.class);
+            } catch (JsonProcessingException e) {
+                return GameEventMessage.error("VALIDATION_ERROR", "Se esperaba {\"guess\":\"1234\"}");
+            }
+            gameService.makeGuessOutcome(gameId, request.guess());
+            return null;
+        } catch (InvalidGuessException e) {
+            metrics.recordInvalidGuess(e.getRule());
+            return GameEventMessage.error("INVALID_GUESS", e.getMessage());
+        } catch (GameNotFoundException e) {
+            metrics.recordGameNotFound();
+            return GameEventMessage.error("GAME_NOT_FOUND", e.getMessage());
+        } finally {
+            metrics.recordRequest(Endpoint.SOCKET_GUESS, start);
+        }
+    }
+
+    private byte[] json(GameEventMessage message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje", e);
+        }
+    }
+
+    private static WebSocketMessage text(WebSocketSession session, byte[] json) {
+        return new WebSocketMessage(WebSocketMessage.Type.TEXT, session.bufferFactory().wrap(json));
+    }
+}
@@ -1,5 +1,17 @@
 package com.mijuego.numerito.api.controller;
 
+import com.mijuego.numerito.api.config.SupabaseCircuitBreaker;
+import com.mijuego.numerito.api.config.SupabasePoolMetrics;
+import com.mijuego.numerito.api.dto.ScoreJournalStatsResponse;
+import com.mijuego.numerito.api.dto.ScoreWriteStatsResponse;
+import com.mijuego.numerito.api.dto.SessionSnapshotStatsResponse;
+import com.mijuego.numerito.api.dto.SessionStatsResponse;
+import com.mijuego.numerito.api.dto.SupabaseStatsResponse;
+import com.mijuego.numerito.api.service.GameService;
+import com.mijuego.numerito.api.service.ScoreJournal;
+import com.mijuego.numerito.api.service.ScoreWriteBehind;
+import com.mijuego.numerito.api.service.SessionExpiry;
+import com.mijuego.numerito.api.service.SessionSnapshots;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -7,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Endpoint de health check para verificar que el servicio está funcionando.
@@ -16,6 +29,29 @@ import java.util.Map;
 @RequestMapping("/api")
 public class HealthController {
 
+    private final GameService gameService;
+    private final SessionExpiry sessionExpiry;
+    private final ScoreWriteBehind scoreWriteBehind;
+    private final ScoreJournal scoreJournal;
+    private final SupabaseCircuitBreaker supabaseCircuitBreaker;
+    private final SupabasePoolMetrics supabasePoolMetrics;
+    private final SessionSnapshots sessionSnapshots;
+
+    public HealthController(GameService gameService, SessionExpiry sessionExpiry,
+                            Optional<ScoreWriteBehind> scoreWriteBehind,
+                            Optional<ScoreJournal> scoreJournal,
+                            SupabaseCircuitBreaker supabaseCircuitBreaker,
+                            SupabasePoolMetrics supabasePoolMetrics,
+                            Optional<SessionSnapshots> sessionSnapshots) {
+        this.gameService = gameService;
+        this.sessionExpiry = sessionExpiry;
+        this.scoreWriteBehind = scoreWriteBehind.orElse(null);
+        this.scoreJournal = scoreJournal.orElse(null);
+        this.supabaseCircuitBreaker = supabaseCircuitBreaker;
+        this.supabasePoolMetrics = supabasePoolMetrics;
+        this.sessionSnapshots = sessionSnapshots.orElse(null);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         Map<String, String> response = new HashMap<>();
@@ -23,4 +59,44 @@ public class HealthController {
         response.put("service", "numerito-game-api");
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Partidas activas y archivadas y contadores de expiración por motivo.
+     */
+    @GetMapping("/health/sessions")
+    public ResponseEntity<SessionStatsResponse> sessions() {
+        return ResponseEntity.ok(SessionStatsResponse.from(gameService, sessionExpiry));
+    }
+
+    /**
+     * Snapshots de partidas: restauradas al arrancar y último snapshot escrito.
+     */
+    @GetMapping("/health/snapshots")
+    public ResponseEntity<SessionSnapshotStatsResponse> snapshots() {
+        return ResponseEntity.ok(SessionSnapshotStatsResponse.from(sessionSnapshots));
+    }
+
+    /**
+     * Cola de escritura diferida de scores: pendientes, lotes y latencia de envío.
+     */
+    @GetMapping("/health/scores")
+    public ResponseEntity<ScoreWriteStatsResponse> scores() {
+        return ResponseEntity.ok(ScoreWriteStatsResponse.from(scoreWriteBehind));
+    }
+
+    /**
+     * Diario local de scores: pendientes de reenviar, reenvíos y uso del archivo.
+     */
+    @GetMapping("/health/journal")
+    public ResponseEntity<ScoreJournalStatsResponse> journal() {
+        return ResponseEntity.ok(ScoreJournalStatsResponse.from(scoreJournal));
+    }
+
+    /**
+     * Conexión a Supabase: estado del circuit breaker y uso del pool.
+     */
+    @GetMapping("/health/supabase")
+    public ResponseEntity<SupabaseStatsResponse> supabase() {
+        return ResponseEntity.ok(SupabaseStatsResponse.from(supabaseCircuitBreaker, supabasePoolMetrics));
+    }
 }
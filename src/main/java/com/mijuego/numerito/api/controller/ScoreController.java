@@ -2,10 +2,15 @@ package com.mijuego.numerito.api.controller;
 
 import com.mijuego.numerito.api.dto.SaveScoreRequest;
 import com.mijuego.numerito.api.dto.ScoreResponse;
+import com.mijuego.numerito.api.service.GameMetrics;
+import com.mijuego.numerito.api.service.GameMetrics.Endpoint;
 import com.mijuego.numerito.api.service.ScoreService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -13,24 +18,46 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/scores")
+@Validated
 public class ScoreController {
 
+    /**
+     * Límite máximo de GET /api/scores/top.
+     */
+    public static final int MAX_TOP_LIMIT = 1000;
+
     private final ScoreService scoreService;
+    private final GameMetrics metrics;
 
-    public ScoreController(ScoreService scoreService) {
+    public ScoreController(ScoreService scoreService, GameMetrics metrics) {
         this.scoreService = scoreService;
+        this.metrics = metrics;
     }
 
+    /**
+     * Guarda un score. Si todavía no está en Supabase (escritura diferida o
+     * diario de scores) responde 202 Accepted: se inserta más tarde.
+     *
+     * La latencia se mide hasta que el Mono termina, no hasta que se devuelve.
+     */
     @PostMapping
     public Mono<ResponseEntity<ScoreResponse>> saveScore(@Valid @RequestBody SaveScoreRequest request) {
+        long start = System.nanoTime();
         return scoreService.saveScore(request)
-                .map(score -> ResponseEntity.status(HttpStatus.CREATED).body(score));
+                .map(score -> ResponseEntity.status(score.id() == null ? HttpStatus.ACCEPTED : HttpStatus.CREATED)
+                        .body(score))
+                .doFinally(signal -> metrics.recordRequest(Endpoint.SCORE_SAVE, start));
     }
 
     @GetMapping("/top")
-    public Mono<ResponseEntity<List<ScoreResponse>>> getTopScores(@RequestParam(defaultValue = "10") int limit) {
+    public Mono<ResponseEntity<List<ScoreResponse>>> getTopScores(
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "El límite debe ser al menos 1")
+            @Max(value = MAX_TOP_LIMIT, message = "El límite no puede superar " + MAX_TOP_LIMIT) int limit) {
+        long start = System.nanoTime();
         return scoreService.getTopScores(limit)
                 .collectList()
-                .map(ResponseEntity::ok);
+                .map(ResponseEntity::ok)
+                .doFinally(signal -> metrics.recordRequest(Endpoint.SCORE_TOP, start));
     }
 }
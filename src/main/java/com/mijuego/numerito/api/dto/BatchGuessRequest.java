@@ -0,0 +1,21 @@
+package com.mijuego.numerito.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request para realizar varios intentos seguidos en una partida.
+ */
+public record BatchGuessRequest(
+    @NotEmpty(message = "La lista de intentos no puede estar vacía")
+    @Size(max = 100, message = "No se pueden enviar más de 100 intentos por request")
+    List<
+        @NotBlank(message = "El intento no puede estar vacío")
+        @Pattern(regexp = "^[1-9][0-9]{3}$", message = "El intento debe ser un número de 4 dígitos que no empiece con 0")
+        String> guesses
+) {
+}
@@ -0,0 +1,14 @@
+package com.mijuego.numerito.api.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request para crear varias partidas en una sola llamada.
+ */
+public record BulkCreateRequest(
+    @Min(value = 1, message = "Se debe crear al menos una partida")
+    @Max(value = 1000, message = "No se pueden crear más de 1000 partidas por request")
+    int count
+) {
+}
@@ -0,0 +1,27 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.service.DailyChallenge;
+
+/**
+ * Estadísticas del desafío diario de hoy.
+ *
+ * attemptsHistogram[i] cuenta las partidas ganadas en i + 1 intentos; la
+ * última posición junta las de {@link DailyChallenge#MAX_TRACKED_ATTEMPTS} o más.
+ */
+public record DailyStatsResponse(
+    String date,
+    long gamesStarted,
+    long gamesSolved,
+    int gamesPlaying,
+    long[] attemptsHistogram
+) {
+    public static DailyStatsResponse from(DailyChallenge daily) {
+        return new DailyStatsResponse(
+            daily.getDate().toString(),
+            daily.getGamesStarted(),
+            daily.getGamesSolved(),
+            daily.getPlayingCount(),
+            daily.getAttemptsHistogram()
+        );
+    }
+}
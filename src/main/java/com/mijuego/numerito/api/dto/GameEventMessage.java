@@ -0,0 +1,34 @@
+package com.mijuego.numerito.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mijuego.numerito.api.service.GameState;
+
+/**
+ * Mensajes del canal de una partida que no son intentos: el estado al
+ * conectarse y los errores, que solo recibe quien envió el mensaje.
+ *
+ * Los intentos se codifican con {@link GuessResponseEncoder#encodeEvent(int, int)}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GameEventMessage(
+    String type,
+    String gameId,
+    Integer attempts,
+    Boolean finished,
+    String error,
+    String message
+) {
+    /**
+     * Estado de la partida, con los mismos campos que {@link GameStateResponse}.
+     */
+    public static GameEventMessage state(String gameId, GameState state) {
+        return new GameEventMessage("state", gameId, state.attempts(), state.finished(), null, null);
+    }
+
+    /**
+     * Error con los mismos códigos que {@link ErrorResponse}.
+     */
+    public static GameEventMessage error(String error, String message) {
+        return new GameEventMessage("error", null, null, null, error, message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.MoveHistory;
+import com.mijuego.numerito.ScoreTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Respuesta con las jugadas de una partida, para reconstruir el tablero.
+ */
+public record GameHistoryResponse(
+    String gameId,
+    int attempts,
+    boolean finished,
+    List<Move> moves
+) {
+    /**
+     * Una jugada: el intento y su resultado, con los mismos nombres que
+     * {@link GuessResponse}.
+     */
+    public record Move(
+        int attemptNumber,
+        String guess,
+        int bien,
+        int regular,
+        int mal
+    ) {
+    }
+
+    /**
+     * Crea una respuesta a partir de las jugadas empaquetadas según {@link MoveHistory}.
+     */
+    public static GameHistoryResponse from(String gameId, int[] moves) {
+        List<Move> decoded = new ArrayList<>(moves.length);
+        for (int i = 0; i < moves.length; i++) {
+            int score = MoveHistory.score(moves[i]);
+            decoded.add(new Move(
+                i + 1,
+                CodeIndex.toString(MoveHistory.guessIndex(moves[i])),
+                ScoreTable.bien(score),
+                ScoreTable.regular(score),
+                ScoreTable.mal(score)));
+        }
+        boolean finished = moves.length > 0 && MoveHistory.score(moves[moves.length - 1]) == ScoreTable.WIN;
+        return new GameHistoryResponse(gameId, moves.length, finished, decoded);
+    }
+}
@@ -1,6 +1,6 @@
 package com.mijuego.numerito.api.dto;
 
-import com.mijuego.numerito.GameSession;
+import com.mijuego.numerito.api.service.GameState;
 
 /**
  * Respuesta con el estado actual de una partida.
@@ -11,13 +11,13 @@ public record GameStateResponse(
     boolean finished
 ) {
     /**
-     * Crea una respuesta a partir de una GameSession.
+     * Crea una respuesta a partir del estado de la partida.
      */
-    public static GameStateResponse from(String gameId, GameSession session) {
+    public static GameStateResponse from(String gameId, GameState state) {
         return new GameStateResponse(
             gameId,
-            session.getAttempts(),
-            session.isFinished()
+            state.attempts(),
+            state.finished()
         );
     }
 }
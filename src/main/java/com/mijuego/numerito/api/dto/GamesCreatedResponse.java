@@ -0,0 +1,15 @@
+package com.mijuego.numerito.api.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta al crear varias partidas en una sola llamada.
+ */
+public record GamesCreatedResponse(
+    List<String> gameIds,
+    String message
+) {
+    public static GamesCreatedResponse create(List<String> gameIds) {
+        return new GamesCreatedResponse(gameIds, gameIds.size() + " partidas creadas exitosamente");
+    }
+}
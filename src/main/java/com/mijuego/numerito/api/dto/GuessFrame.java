@@ -0,0 +1,78 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.api.exception.InvalidFrameException;
+import com.mijuego.numerito.api.service.GameIds;
+import org.springframework.http.MediaType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Formato binario de POST /api/game/{gameId}/guess para bots y pruebas de
+ * carga, con Content-Type y Accept {@value #MEDIA_TYPE_VALUE}.
+ *
+ * Request, 18 bytes big-endian:
+ * - 0-15: gameId, las dos mitades de 64 bits del UUID; tiene que ser el de la ruta
+ * - 16-17: el intento como número sin signo (1234 = 0x04D2)
+ *
+ * Respuesta, 5 bytes big-endian:
+ * - 0: bien en los 4 bits altos y regular en los 4 bajos (4 bien = 0x40 = ganó)
+ * - 1-4: número de intento
+ *
+ * mal es 4 - bien - regular, y la partida termina exactamente con el intento
+ * ganador. Los errores se responden en JSON con los mismos códigos de
+ * siempre, más INVALID_FRAME si el frame no tiene este formato.
+ *
+ * Decodificar lee los campos directamente del byte[] del body, sin objetos
+ * intermedios.
+ */
+public final class GuessFrame {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-numerito-guess";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public static final int REQUEST_LENGTH = 18;
+    public static final int RESPONSE_LENGTH = 5;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private GuessFrame() {
+    }
+
+    /**
+     * Valida un frame contra el gameId de la ruta y retorna el intento.
+     *
+     * @param frame body del request
+     * @param gameId gameId de la ruta
+     * @return el intento como número (ej: 1234), todavía sin validar según las reglas del juego
+     * @throws InvalidFrameException si el frame no tiene el formato o es de otra partida
+     */
+    public static int decode(byte[] frame, String gameId) {
+        if (frame == null || frame.length != REQUEST_LENGTH) {
+            throw new InvalidFrameException("El frame debe tener " + REQUEST_LENGTH + " bytes, recibido: "
+                + (frame == null ? 0 : frame.length));
+        }
+        if (!GameIds.matches(gameId, (long) LONG.get(frame, 0), (long) LONG.get(frame, 8))) {
+            throw new InvalidFrameException("El gameId del frame no coincide con el de la ruta");
+        }
+        return Short.toUnsignedInt((short) SHORT.get(frame, 16));
+    }
+
+    /**
+     * Codifica la respuesta de un intento.
+     *
+     * @param outcome resultado empaquetado según {@link GuessOutcome}
+     * @return los 5 bytes de la respuesta
+     */
+    public static byte[] encode(int outcome) {
+        byte[] frame = new byte[RESPONSE_LENGTH];
+        // El score empaquetado ya es bien << 4 | regular (ScoreTable.pack)
+        frame[0] = (byte) GuessOutcome.score(outcome);
+        INT.set(frame, 1, GuessOutcome.attemptNumber(outcome));
+        return frame;
+    }
+}
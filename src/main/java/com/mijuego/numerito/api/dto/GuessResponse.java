@@ -1,9 +1,14 @@
 package com.mijuego.numerito.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mijuego.numerito.CandidateSet;
 import com.mijuego.numerito.GuessResult;
 
 /**
  * Respuesta al realizar un intento en el juego.
+ *
+ * remainingCandidates y consistent solo se incluyen si el servidor sigue los
+ * candidatos de las partidas (numerito.candidates.enabled).
  */
 public record GuessResponse(
     int bien,
@@ -11,19 +16,32 @@ public record GuessResponse(
     int mal,
     boolean win,
     int attemptNumber,
-    boolean finished
+    boolean finished,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Integer remainingCandidates,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Boolean consistent
 ) {
     /**
      * Crea una respuesta a partir de un GuessResult y el estado de la partida.
      */
     public static GuessResponse from(GuessResult result, boolean finished) {
+        return from(result, finished, 0);
+    }
+
+    /**
+     * Crea una respuesta con el informe de candidatos del intento.
+     *
+     * @param report informe según {@link CandidateSet#apply(int, int)}, 0 si no se siguen
+     */
+    public static GuessResponse from(GuessResult result, boolean finished, int report) {
         return new GuessResponse(
             result.bienCount(),
             result.regularCount(),
             result.malCount(),
             result.isWin(),
             result.attemptNumber(),
-            finished
+            finished,
+            report == 0 ? null : CandidateSet.remaining(report),
+            report == 0 ? null : CandidateSet.consistent(report)
         );
     }
 }
@@ -0,0 +1,183 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.ScoreTable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe el JSON de {@link GuessResponse} a partir de un resultado empaquetado.
+ *
+ * Los resultados posibles de un intento son pocos, así que el JSON de cada uno
+ * se codifica una sola vez al cargar la clase, partido alrededor del número de
+ * intento. Responder un intento es copiar el prefijo, escribir los dígitos del
+ * intento y copiar el sufijo en un único byte[] del tamaño exacto.
+ *
+ * El resultado es idéntico, byte a byte, a serializar GuessResponse con Jackson.
+ */
+public final class GuessResponseEncoder {
+
+    // Prefijo por resultado empaquetado: {"bien":B,"regular":R,"mal":M,"win":W,"attemptNumber":
+    private static final byte[][] PREFIXES = new byte[ScoreTable.SCORE_RANGE][];
+
+    private static final byte[] SUFFIX_FINISHED = ascii(",\"finished\":true}");
+    private static final byte[] SUFFIX_PLAYING = ascii(",\"finished\":false}");
+
+    // Con informe de candidatos: ,"finished":F,"remainingCandidates":N,"consistent":C}
+    private static final byte[] CANDIDATES_FINISHED = ascii(",\"finished\":true,\"remainingCandidates\":");
+    private static final byte[] CANDIDATES_PLAYING = ascii(",\"finished\":false,\"remainingCandidates\":");
+    private static final byte[] SUFFIX_CONSISTENT = ascii(",\"consistent\":true}");
+    private static final byte[] SUFFIX_INCONSISTENT = ascii(",\"consistent\":false}");
+
+    private static final byte[] EVENT_PREFIX = ascii("{\"type\":\"guess\",\"guess\":\"");
+
+    static {
+        for (int bien = 0; bien <= 4; bien++) {
+            for (int regular = 0; bien + regular <= 4; regular++) {
+                int score = ScoreTable.pack(bien, regular);
+                PREFIXES[score] = ascii("{\"bien\":" + bien
+                    + ",\"regular\":" + regular
+                    + ",\"mal\":" + ScoreTable.mal(score)
+                    + ",\"win\":" + (score == ScoreTable.WIN)
+                    + ",\"attemptNumber\":");
+            }
+        }
+    }
+
+    private GuessResponseEncoder() {
+    }
+
+    /**
+     * Codifica la respuesta de un intento.
+     *
+     * @param outcome resultado empaquetado según {@link GuessOutcome}
+     * @return JSON en UTF-8
+     */
+    public static byte[] encode(int outcome) {
+        int score = GuessOutcome.score(outcome);
+        int attemptNumber = GuessOutcome.attemptNumber(outcome);
+        // La partida termina exactamente con el intento ganador
+        boolean finished = score == ScoreTable.WIN;
+
+        byte[] prefix = PREFIXES[score];
+        byte[] suffix = finished ? SUFFIX_FINISHED : SUFFIX_PLAYING;
+        int digits = digits(attemptNumber);
+
+        byte[] json = new byte[prefix.length + digits + suffix.length];
+        System.arraycopy(prefix, 0, json, 0, prefix.length);
+        writeDigits(json, prefix.length, attemptNumber, digits);
+        System.arraycopy(suffix, 0, json, prefix.length + digits, suffix.length);
+        return json;
+    }
+
+    /**
+     * Codifica la respuesta de un intento con su informe de candidatos: los
+     * campos de {@link #encode(int)} seguidos de remainingCandidates y
+     * consistent. Sin informe (0) es igual a {@link #encode(int)}.
+     *
+     * @param outcome resultado empaquetado según {@link GuessOutcome}
+     * @param report informe según {@link CandidateSet#apply(int, int)}, 0 si no se siguen
+     * @return JSON en UTF-8
+     */
+    public static byte[] encode(int outcome, int report) {
+        if (report == 0) {
+            return encode(outcome);
+        }
+        int score = GuessOutcome.score(outcome);
+        int attemptNumber = GuessOutcome.attemptNumber(outcome);
+        int remaining = CandidateSet.remaining(report);
+
+        byte[] prefix = PREFIXES[score];
+        byte[] middle = score == ScoreTable.WIN ? CANDIDATES_FINISHED : CANDIDATES_PLAYING;
+        byte[] suffix = CandidateSet.consistent(report) ? SUFFIX_CONSISTENT : SUFFIX_INCONSISTENT;
+        int attemptDigits = digits(attemptNumber);
+        int remainingDigits = digits(remaining);
+
+        byte[] json = new byte[prefix.length + attemptDigits + middle.length + remainingDigits + suffix.length];
+        System.arraycopy(prefix, 0, json, 0, prefix.length);
+        int position = writeDigits(json, prefix.length, attemptNumber, attemptDigits);
+        System.arraycopy(middle, 0, json, position, middle.length);
+        position = writeDigits(json, position + middle.length, remaining, remainingDigits);
+        System.arraycopy(suffix, 0, json, position, suffix.length);
+        return json;
+    }
+
+    /**
+     * Codifica las respuestas de una secuencia de intentos como un array JSON,
+     * cada una como {@link #encode(int, int)}.
+     *
+     * @param tracked resultados e informes según {@link CandidateSet#track(int, int)}
+     * @return JSON en UTF-8
+     */
+    public static byte[] encodeAll(long[] tracked) {
+        byte[][] items = new byte[tracked.length][];
+        int length = 2 + Math.max(0, tracked.length - 1);
+        for (int i = 0; i < tracked.length; i++) {
+            items[i] = encode(CandidateSet.outcome(tracked[i]), CandidateSet.report(tracked[i]));
+            length += items[i].length;
+        }
+
+        byte[] json = new byte[length];
+        int position = 0;
+        json[position++] = '[';
+        for (int i = 0; i < items.length; i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            System.arraycopy(items[i], 0, json, position, items[i].length);
+            position += items[i].length;
+        }
+        json[position] = ']';
+        return json;
+    }
+
+    /**
+     * Codifica un intento como evento del canal de la partida: los mismos
+     * campos que {@link #encode(int)} precedidos del tipo y del intento, p. ej.
+     * {"type":"guess","guess":"1234","bien":1,...}.
+     *
+     * @param guessIndex índice del intento según {@link CodeIndex}
+     * @param outcome resultado empaquetado según {@link GuessOutcome}
+     * @return JSON en UTF-8
+     */
+    public static byte[] encodeEvent(int guessIndex, int outcome) {
+        byte[] response = encode(outcome);
+        String guess = CodeIndex.toString(guessIndex);
+
+        // Prefijo, las cifras, la comilla de cierre y la coma, y la respuesta sin su '{'
+        byte[] json = new byte[EVENT_PREFIX.length + guess.length() + 1 + response.length];
+        System.arraycopy(EVENT_PREFIX, 0, json, 0, EVENT_PREFIX.length);
+        int position = EVENT_PREFIX.length;
+        for (int i = 0; i < guess.length(); i++) {
+            json[position++] = (byte) guess.charAt(i);
+        }
+        json[position++] = '"';
+        json[position++] = ',';
+        System.arraycopy(response, 1, json, position, response.length - 1);
+        return json;
+    }
+
+    // Escribe value en decimal desde offset y retorna la posición siguiente
+    private static int writeDigits(byte[] json, int offset, int value, int digits) {
+        int end = offset + digits;
+        for (int position = end; position > offset; value /= 10) {
+            json[--position] = (byte) ('0' + value % 10);
+        }
+        return end;
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.Hint;
+import com.mijuego.numerito.HintSolver;
+
+import java.util.Locale;
+
+/**
+ * Respuesta con la pista para el próximo intento.
+ */
+public record HintResponse(
+    String guess,
+    int remainingCandidates,
+    String strategy
+) {
+    public static HintResponse from(Hint hint, HintSolver.Strategy strategy) {
+        return new HintResponse(hint.guess(), hint.candidates(), strategy.name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,41 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.service.ScoreJournal;
+
+/**
+ * Estado del diario local de scores.
+ */
+public record ScoreJournalStatsResponse(
+    boolean enabled,
+    int pending,
+    int recovered,
+    int usedBytes,
+    int capacityBytes,
+    long appended,
+    long acknowledged,
+    long replayed,
+    long replayFailures,
+    long discarded,
+    long full,
+    double averageAppendMicros
+) {
+    public static ScoreJournalStatsResponse from(ScoreJournal journal) {
+        if (journal == null) {
+            return new ScoreJournalStatsResponse(false, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new ScoreJournalStatsResponse(
+            true,
+            journal.getPending(),
+            journal.getRecoveredCount(),
+            journal.getUsedBytes(),
+            journal.getCapacity(),
+            journal.getAppendedCount(),
+            journal.getAcknowledgedCount(),
+            journal.getReplayedCount(),
+            journal.getReplayFailureCount(),
+            journal.getDiscardedCount(),
+            journal.getFullCount(),
+            journal.getAverageAppendMicros()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.service.ScoreWriteBehind;
+
+/**
+ * Estadísticas de la escritura diferida de scores.
+ */
+public record ScoreWriteStatsResponse(
+    boolean writeBehind,
+    int queued,
+    long accepted,
+    long rejected,
+    long batches,
+    long flushed,
+    long failed,
+    long retries,
+    double averageBatchSize,
+    double averageFlushMillis,
+    double maxFlushMillis
+) {
+    public static ScoreWriteStatsResponse from(ScoreWriteBehind writeBehind) {
+        if (writeBehind == null) {
+            return new ScoreWriteStatsResponse(false, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new ScoreWriteStatsResponse(
+            true,
+            writeBehind.getQueued(),
+            writeBehind.getAcceptedCount(),
+            writeBehind.getRejectedCount(),
+            writeBehind.getBatchCount(),
+            writeBehind.getFlushedCount(),
+            writeBehind.getFailedCount(),
+            writeBehind.getRetryCount(),
+            writeBehind.getAverageBatchSize(),
+            writeBehind.getAverageFlushMillis(),
+            writeBehind.getMaxFlushMillis()
+        );
+    }
+}
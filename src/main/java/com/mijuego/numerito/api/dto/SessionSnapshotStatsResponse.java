@@ -0,0 +1,31 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.service.SessionSnapshots;
+
+/**
+ * Estado de los snapshots de partidas activas.
+ */
+public record SessionSnapshotStatsResponse(
+    boolean enabled,
+    int restored,
+    long restoreMillis,
+    int lastWritten,
+    long lastWriteMillis,
+    long lastWriteBytes,
+    long lastWrittenAt
+) {
+    public static SessionSnapshotStatsResponse from(SessionSnapshots snapshots) {
+        if (snapshots == null) {
+            return new SessionSnapshotStatsResponse(false, 0, 0, 0, 0, 0, 0);
+        }
+        return new SessionSnapshotStatsResponse(
+            true,
+            snapshots.getRestoredCount(),
+            snapshots.getRestoreMillis(),
+            snapshots.getLastWrittenCount(),
+            snapshots.getLastWriteMillis(),
+            snapshots.getLastWriteBytes(),
+            snapshots.getLastWrittenAt()
+        );
+    }
+}
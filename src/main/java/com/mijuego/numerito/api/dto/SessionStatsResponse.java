@@ -0,0 +1,27 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.service.GameService;
+import com.mijuego.numerito.api.service.SessionExpiry;
+
+/**
+ * Estadísticas del almacén de partidas, para ajustar los TTL de expiración.
+ */
+public record SessionStatsResponse(
+    int activeGames,
+    int archivedGames,
+    long evictedIdle,
+    long evictedMaxTtl,
+    long archived,
+    long pendingChecks
+) {
+    public static SessionStatsResponse from(GameService gameService, SessionExpiry expiry) {
+        return new SessionStatsResponse(
+            gameService.getActiveGamesCount(),
+            expiry.getArchivedGamesCount(),
+            expiry.getEvictedIdleCount(),
+            expiry.getEvictedMaxTtlCount(),
+            expiry.getArchivedCount(),
+            expiry.getPendingChecks()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.api.config.SupabaseCircuitBreaker;
+import com.mijuego.numerito.api.config.SupabasePoolMetrics;
+
+/**
+ * Estado de la conexión a Supabase: circuit breaker y pool de conexiones.
+ */
+public record SupabaseStatsResponse(
+    String circuit,
+    long failures,
+    long rejected,
+    long opened,
+    int acquiredConnections,
+    int allocatedConnections,
+    int idleConnections,
+    int pendingAcquire,
+    int maxConnections,
+    int maxPendingAcquire
+) {
+    public static SupabaseStatsResponse from(SupabaseCircuitBreaker breaker, SupabasePoolMetrics pool) {
+        return new SupabaseStatsResponse(
+            breaker.getState().name(),
+            breaker.getFailureCount(),
+            breaker.getRejectedCount(),
+            breaker.getOpenedCount(),
+            pool.getAcquired(),
+            pool.getAllocated(),
+            pool.getIdle(),
+            pool.getPendingAcquire(),
+            pool.getMaxAllocated(),
+            pool.getMaxPendingAcquire()
+        );
+    }
+}
@@ -1,15 +1,29 @@
 package com.mijuego.numerito.api.exception;
 
+import com.mijuego.numerito.CodeIndex;
 import com.mijuego.numerito.api.dto.ErrorResponse;
+import com.mijuego.numerito.api.service.GameFinishedException;
+import com.mijuego.numerito.api.service.GameMetrics;
 import com.mijuego.numerito.api.service.GameNotFoundException;
+import com.mijuego.numerito.api.service.HintNotAllowedException;
+import com.mijuego.numerito.api.service.ScoreQueueFullException;
+import com.mijuego.numerito.api.service.ScoreRejectedException;
+import com.mijuego.numerito.api.service.SupabaseUnavailableException;
 import com.mijuego.numerito.exception.InvalidGuessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -17,25 +31,89 @@ import java.util.stream.Collectors;
  *
  * Centraliza el manejo de errores y los convierte en respuestas JSON
  * consistentes.
+ *
+ * Los intentos rechazados (por las reglas del juego o por la validación del
+ * request) y las partidas no encontradas se cuentan en {@link GameMetrics}.
+ *
+ * Los errores son siempre JSON, también para los clientes del formato binario
+ * ({@link com.mijuego.numerito.api.dto.GuessFrame}) que solo aceptan ese tipo:
+ * con el Content-Type fijado Spring no lo negocia contra el Accept.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final GameMetrics metrics;
+
+    public GlobalExceptionHandler(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static ResponseEntity.BodyBuilder status(HttpStatus status) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+
     /**
      * Maneja errores de validación de request body (e.g., @Valid).
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(
             MethodArgumentNotValidException ex) {
+        return validationError(ex.getBindingResult());
+    }
+
+    /**
+     * Maneja errores de validación de request body en el modo reactivo.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleReactiveValidationErrors(
+            WebExchangeBindException ex) {
+        return validationError(ex.getBindingResult());
+    }
 
-        String errors = ex.getBindingResult()
+    /**
+     * Maneja errores de validación de parámetros (e.g., @Min en un @RequestParam).
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
+        String errors = ex.getConstraintViolations()
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(", "));
+
+        ErrorResponse error = ErrorResponse.of("VALIDATION_ERROR", errors);
+        return status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    private ResponseEntity<ErrorResponse> validationError(BindingResult result) {
+        countRejectedGuesses(result);
+        String errors = result
                 .getFieldErrors()
                 .stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
 
         ErrorResponse error = ErrorResponse.of("VALIDATION_ERROR", errors);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // Un intento que no pasa la validación del request se cuenta una vez, por la regla que incumple
+    private void countRejectedGuesses(BindingResult result) {
+        Set<String> counted = new HashSet<>();
+        for (FieldError fieldError : result.getFieldErrors()) {
+            String field = fieldError.getField();
+            boolean isGuess = field.equals("guess") || field.startsWith("guesses[");
+            if (!isGuess || !counted.add(field)) {
+                continue;
+            }
+            Object value = fieldError.getRejectedValue();
+            if (value == null || value instanceof String) {
+                try {
+                    CodeIndex.parse((String) value);
+                } catch (InvalidGuessException e) {
+                    metrics.recordInvalidGuess(e.getRule());
+                }
+            }
+        }
     }
 
     /**
@@ -43,8 +121,18 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(InvalidGuessException.class)
     public ResponseEntity<ErrorResponse> handleInvalidGuess(InvalidGuessException ex) {
+        metrics.recordInvalidGuess(ex.getRule());
         ErrorResponse error = ErrorResponse.of("INVALID_GUESS", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Maneja frames binarios con formato inválido.
+     */
+    @ExceptionHandler(InvalidFrameException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFrame(InvalidFrameException ex) {
+        ErrorResponse error = ErrorResponse.of("INVALID_FRAME", ex.getMessage());
+        return status(HttpStatus.BAD_REQUEST).body(error);
     }
 
     /**
@@ -52,8 +140,59 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(GameNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleGameNotFound(GameNotFoundException ex) {
+        metrics.recordGameNotFound();
         ErrorResponse error = ErrorResponse.of("GAME_NOT_FOUND", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Maneja consultas de solo lectura sobre partidas terminadas: 409 si la
+     * partida sigue en memoria, 410 si ya pasó al archivo.
+     */
+    @ExceptionHandler(GameFinishedException.class)
+    public ResponseEntity<ErrorResponse> handleGameFinished(GameFinishedException ex) {
+        ErrorResponse error = ErrorResponse.of("GAME_FINISHED", ex.getMessage());
+        return status(ex.isArchived() ? HttpStatus.GONE : HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja pedidos de pista para partidas que no las admiten.
+     */
+    @ExceptionHandler(HintNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleHintNotAllowed(HintNotAllowedException ex) {
+        ErrorResponse error = ErrorResponse.of("HINT_NOT_ALLOWED", ex.getMessage());
+        return status(HttpStatus.FORBIDDEN).body(error);
+    }
+
+    /**
+     * Maneja el rechazo de scores cuando la cola de escritura diferida está llena.
+     */
+    @ExceptionHandler(ScoreQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleScoreQueueFull(ScoreQueueFullException ex) {
+        ErrorResponse error = ErrorResponse.of("SCORE_QUEUE_FULL", ex.getMessage());
+        return status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(error);
+    }
+
+    /**
+     * Maneja los scores que Supabase rechazó de forma definitiva.
+     */
+    @ExceptionHandler(ScoreRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleScoreRejected(ScoreRejectedException ex) {
+        ErrorResponse error = ErrorResponse.of("SCORE_REJECTED", ex.getMessage());
+        return status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    /**
+     * Maneja las peticiones cortadas por el circuit breaker de Supabase.
+     */
+    @ExceptionHandler(SupabaseUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSupabaseUnavailable(SupabaseUnavailableException ex) {
+        ErrorResponse error = ErrorResponse.of("SUPABASE_UNAVAILABLE", ex.getMessage());
+        return status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(error);
     }
 
     /**
@@ -65,6 +204,6 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 "INTERNAL_SERVER_ERROR",
                 "Ocurrió un error inesperado. Por favor, intenta de nuevo más tarde.");
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 }
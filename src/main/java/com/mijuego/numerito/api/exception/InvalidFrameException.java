@@ -0,0 +1,12 @@
+package com.mijuego.numerito.api.exception;
+
+/**
+ * Excepción lanzada cuando un frame binario no respeta el formato de
+ * {@link com.mijuego.numerito.api.dto.GuessFrame}.
+ */
+public class InvalidFrameException extends RuntimeException {
+
+    public InvalidFrameException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,451 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.MoveHistory;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Almacén compacto de partidas: struct-of-arrays con tipos primitivos.
+ *
+ * En lugar de un objeto por partida, cada partida ocupa un slot en arrays
+ * paralelos (clave UUID como dos long, secreto como índice short, estado y
+ * marcas de tiempo como int) y un {@link SlotIndex} traduce la clave al slot.
+ * El costo ronda los 50 bytes por partida frente a varios cientos del mapa.
+ *
+ * Las partidas se reparten en segmentos independientes, cada uno con su
+ * StampedLock: las altas, bajas y expiraciones toman el lock de escritura del
+ * segmento, las consultas y los intentos el de lectura. El estado de cada
+ * partida se actualiza con compare-and-set, así que dos intentos concurrentes
+ * sobre la misma partida nunca pierden incrementos.
+ *
+ * El historial de jugadas es lo único que se guarda como objeto, y solo se
+ * crea con el primer intento de la partida. Con trackCandidates cada partida
+ * lleva además su {@link CandidateSet}, creado junto con la partida.
+ */
+public class CompactSessionStore implements SessionStore {
+
+    private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle HISTORIES = MethodHandles.arrayElementVarHandle(MoveHistory[].class);
+
+    // Estado empaquetado por partida: intentos << 1 | terminada
+    private static final int FINISHED = 1;
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+    private final SessionClock clock;
+    private final boolean trackCandidates;
+
+    public CompactSessionStore() {
+        this(1 << 16);
+    }
+
+    /**
+     * @param expectedGames cantidad de partidas para la que se reserva espacio inicial
+     */
+    public CompactSessionStore(int expectedGames) {
+        this(expectedGames, SessionClock.SYSTEM);
+    }
+
+    public CompactSessionStore(int expectedGames, SessionClock clock) {
+        this(expectedGames, clock, false);
+    }
+
+    /**
+     * @param expectedGames cantidad de partidas para la que se reserva espacio inicial
+     * @param clock reloj de las marcas de tiempo
+     * @param trackCandidates true para seguir los secretos compatibles de cada partida
+     */
+    public CompactSessionStore(int expectedGames, SessionClock clock, boolean trackCandidates) {
+        this.clock = clock;
+        this.trackCandidates = trackCandidates;
+        int perSegment = Math.max(MIN_SEGMENT_CAPACITY, expectedGames >> SEGMENT_BITS);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public String create(int secretIndex) {
+        while (true) {
+            UUID uuid = GameIds.random();
+            long high = uuid.getMostSignificantBits();
+            long low = uuid.getLeastSignificantBits();
+            int now = clock.now();
+            CandidateSet candidates = trackCandidates ? new CandidateSet() : null;
+            if (segmentFor(high, low).insert(high, low, secretIndex, 0, now, now, null, candidates)) {
+                return uuid.toString();
+            }
+        }
+    }
+
+    @Override
+    public long guessTracked(String gameId, String guess)
+            throws GameNotFoundException, InvalidGuessException {
+
+        if (!GameIds.isValid(gameId)) {
+            throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.readLock();
+        try {
+            int slot = segment.index.find(high, low);
+            if (slot < 0) {
+                throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+            }
+
+            int[] states = segment.states;
+            int state = (int) STATES.getVolatile(states, slot);
+            if ((state & FINISHED) != 0) {
+                throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+            }
+
+            int guessIndex = CodeIndex.parse(guess);
+            int score = ScoreTable.scoreAgainst(guessIndex, segment.secrets[slot]);
+            boolean isWin = score == ScoreTable.WIN;
+
+            int attempts;
+            while (true) {
+                if ((state & FINISHED) != 0) {
+                    throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+                }
+                attempts = (state >>> 1) + 1;
+                int next = (attempts << 1) | (isWin ? FINISHED : 0);
+                if (STATES.compareAndSet(states, slot, state, next)) {
+                    break;
+                }
+                state = (int) STATES.getVolatile(states, slot);
+            }
+            segment.lastAccess[slot] = clock.now();
+            segment.history(slot).record(attempts, MoveHistory.pack(guessIndex, score));
+
+            CandidateSet candidates = segment.candidates[slot];
+            int report = candidates == null ? 0 : candidates.apply(guessIndex, score);
+            return CandidateSet.track(GuessOutcome.pack(score, attempts), report);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int guessAll(String gameId, int[] guessIndexes, int[] outcomes, int[] reports)
+            throws GameNotFoundException, InvalidGuessException {
+
+        if (!GameIds.isValid(gameId)) {
+            throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.readLock();
+        try {
+            int slot = segment.index.find(high, low);
+            if (slot < 0) {
+                throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+            }
+
+            int[] states = segment.states;
+            int secretIndex = segment.secrets[slot];
+            while (true) {
+                int state = (int) STATES.getVolatile(states, slot);
+                if ((state & FINISHED) != 0) {
+                    throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+                }
+                int attempts = state >>> 1;
+                int count = GuessOutcome.scoreAll(guessIndexes, secretIndex, attempts + 1, outcomes);
+                boolean isWin = count > 0 && GuessOutcome.isWin(outcomes[count - 1]);
+                int next = ((attempts + count) << 1) | (isWin ? FINISHED : 0);
+                if (STATES.compareAndSet(states, slot, state, next)) {
+                    segment.lastAccess[slot] = clock.now();
+                    segment.history(slot).recordAll(outcomes, guessIndexes, count);
+                    CandidateSet.applyAll(segment.candidates[slot], guessIndexes, outcomes, reports, count);
+                    return count;
+                }
+            }
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public GameState find(String gameId) {
+        if (!GameIds.isValid(gameId)) {
+            return null;
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.readLock();
+        try {
+            int slot = segment.index.find(high, low);
+            if (slot < 0) {
+                return null;
+            }
+            int state = (int) STATES.getVolatile(segment.states, slot);
+            return new GameState(state >>> 1, (state & FINISHED) != 0);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int[] moves(String gameId) {
+        if (!GameIds.isValid(gameId)) {
+            return null;
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.readLock();
+        try {
+            int slot = segment.index.find(high, low);
+            if (slot < 0) {
+                return null;
+            }
+            int attempts = (int) STATES.getVolatile(segment.states, slot) >>> 1;
+            MoveHistory history = (MoveHistory) HISTORIES.getVolatile(segment.histories, slot);
+            if (history == null || attempts == 0) {
+                return new int[0];
+            }
+            int[] moves = new int[attempts];
+            int count = history.copyTo(moves, attempts);
+            return count == attempts ? moves : Arrays.copyOf(moves, count);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(String gameId) {
+        if (!GameIds.isValid(gameId)) {
+            return false;
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.remove(high, low) >= 0;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int expire(long high, long low, ExpiryPolicy policy, int now, GameArchive archive) {
+        Segment segment = segmentFor(high, low);
+
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.index.find(high, low);
+            if (slot < 0) {
+                return ExpiryPolicy.ABSENT;
+            }
+            int state = segment.states[slot];
+            boolean finished = (state & FINISHED) != 0;
+            int decision = policy.evaluate(now, segment.created[slot], segment.lastAccess[slot], finished);
+            if (decision >= 0) {
+                return decision;
+            }
+            if (decision == ExpiryPolicy.ARCHIVE) {
+                archive.add(high, low, state >>> 1);
+            }
+            segment.remove(high, low);
+            return decision;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void forEach(SnapshotVisitor visitor) {
+        int[] moves = new int[16];
+        for (Segment segment : segments) {
+            // Lock de lectura: los intentos siguen, solo esperan las altas y bajas del segmento
+            long stamp = segment.lock.readLock();
+            try {
+                for (int slot = 0; slot < segment.nextSlot; slot++) {
+                    long high = segment.index.high(slot);
+                    long low = segment.index.low(slot);
+                    // Slot libre: su clave se borró al quitar la partida
+                    if (segment.index.find(high, low) != slot) {
+                        continue;
+                    }
+                    int state = (int) STATES.getVolatile(segment.states, slot);
+                    int attempts = state >>> 1;
+                    if (moves.length < attempts) {
+                        moves = new int[Math.max(attempts, moves.length * 2)];
+                    }
+                    MoveHistory history = (MoveHistory) HISTORIES.getVolatile(segment.histories, slot);
+                    int moveCount = history == null || attempts == 0 ? 0 : history.copyTo(moves, attempts);
+                    visitor.visit(high, low, segment.secrets[slot], attempts, (state & FINISHED) != 0,
+                        segment.created[slot], segment.lastAccess[slot], moves, moveCount);
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    @Override
+    public boolean restore(long high, long low, int secretIndex, int attempts, boolean finished,
+                           int created, int lastAccess, int[] moves, int moveCount) {
+        MoveHistory history = null;
+        if (moveCount > 0) {
+            history = new MoveHistory();
+            for (int i = 0; i < moveCount; i++) {
+                history.record(i + 1, moves[i]);
+            }
+        }
+        CandidateSet candidates = trackCandidates ? CandidateSet.replay(moves, moveCount) : null;
+        int state = (attempts << 1) | (finished ? FINISHED : 0);
+        return segmentFor(high, low).insert(high, low, secretIndex, state, created, lastAccess, history,
+            candidates);
+    }
+
+    @Override
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                total += segment.index.size();
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    // Los bits altos del hash eligen el segmento; SlotIndex usa los bajos
+    private Segment segmentFor(long high, long low) {
+        return segments[SlotIndex.hash(high, low) >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    /**
+     * Segmento con sus propios arrays por slot y su índice de claves.
+     * Todos los campos se acceden con el lock del segmento tomado.
+     */
+    private static final class Segment {
+
+        final StampedLock lock = new StampedLock();
+        final SlotIndex index;
+
+        // Arrays paralelos indexados por slot
+        short[] secrets;
+        int[] states;
+        int[] created;
+        int[] lastAccess;
+        MoveHistory[] histories;
+        // Se asignan al insertar, con el lock de escritura: null si no se siguen
+        CandidateSet[] candidates;
+
+        // Pila de slots liberados y primer slot nunca usado
+        int[] freeSlots;
+        int freeCount;
+        int nextSlot;
+
+        Segment(int capacity) {
+            index = new SlotIndex(capacity);
+            secrets = new short[index.slotCapacity()];
+            states = new int[secrets.length];
+            created = new int[secrets.length];
+            lastAccess = new int[secrets.length];
+            histories = new MoveHistory[secrets.length];
+            candidates = new CandidateSet[secrets.length];
+            freeSlots = new int[secrets.length];
+        }
+
+        /**
+         * Inserta una partida. Retorna false si la clave ya existía.
+         */
+        boolean insert(long high, long low, int secretIndex, int state, int createdAt, int lastAccessAt,
+                       MoveHistory history, CandidateSet candidateSet) {
+            long stamp = lock.writeLock();
+            try {
+                if (index.find(high, low) >= 0) {
+                    return false;
+                }
+
+                int slot;
+                if (freeCount > 0) {
+                    slot = freeSlots[--freeCount];
+                } else {
+                    if (nextSlot == secrets.length) {
+                        growSlots();
+                    }
+                    slot = nextSlot++;
+                }
+
+                index.put(high, low, slot);
+                secrets[slot] = (short) secretIndex;
+                states[slot] = state;
+                created[slot] = createdAt;
+                lastAccess[slot] = lastAccessAt;
+                histories[slot] = history;
+                candidates[slot] = candidateSet;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Quita una partida y libera su slot. Requiere el lock de escritura.
+         */
+        int remove(long high, long low) {
+            int slot = index.remove(high, low);
+            if (slot >= 0) {
+                states[slot] = 0;
+                histories[slot] = null;
+                candidates[slot] = null;
+                freeSlots[freeCount++] = slot;
+            }
+            return slot;
+        }
+
+        /**
+         * Historial del slot, creándolo con el primer intento. Requiere el lock de lectura.
+         */
+        MoveHistory history(int slot) {
+            MoveHistory current = (MoveHistory) HISTORIES.getVolatile(histories, slot);
+            if (current != null) {
+                return current;
+            }
+            MoveHistory created = new MoveHistory();
+            return HISTORIES.compareAndSet(histories, slot, null, created)
+                ? created
+                : (MoveHistory) HISTORIES.getVolatile(histories, slot);
+        }
+
+        private void growSlots() {
+            int capacity = secrets.length + (secrets.length >> 1);
+            index.ensureSlotCapacity(capacity);
+            secrets = Arrays.copyOf(secrets, capacity);
+            states = Arrays.copyOf(states, capacity);
+            created = Arrays.copyOf(created, capacity);
+            lastAccess = Arrays.copyOf(lastAccess, capacity);
+            histories = Arrays.copyOf(histories, capacity);
+            candidates = Arrays.copyOf(candidates, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.api.dto.ScoreResponse;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Desafío diario: todas las partidas del día comparten el mismo secreto.
+ *
+ * El secreto sale de {@link SecretNumberGenerator} con la semilla
+ * {@code seed + día}, así que es el mismo en cada instancia y en cada
+ * reinicio. Sin una semilla propia (numerito.daily.seed) cualquiera que lea
+ * el código puede calcular el secreto de cada día.
+ *
+ * Miles de partidas evaluándose contra un único secreto leen todas la misma
+ * fila de {@link ScoreTable} ({@link ScoreTable#scoreAgainst(int, int)}), y las
+ * estadísticas del día se cuentan en {@link LongAdder}: cada hilo suma en su
+ * propia celda, sin competir con el resto por una misma línea de caché.
+ *
+ * El ranking del día se mantiene en memoria: al guardar el score de una
+ * partida diaria ganada se inserta con los intentos y el tiempo medidos por
+ * el servidor, no los que envió el cliente. Solo entran partidas diarias
+ * ganadas, una vez cada una.
+ *
+ * Las partidas diarias en curso no pueden pedir pistas ({@link #isRanked(String)}):
+ * el solver del servidor las resolvería por el jugador.
+ *
+ * Cada día empieza de cero al pasar la medianoche de la zona configurada. Las
+ * partidas del día anterior siguen jugándose con su secreto, pero ya no
+ * suman a las estadísticas ni al ranking. El ranking y las estadísticas son
+ * de esta instancia y se pierden al reiniciar.
+ */
+public class DailyChallenge {
+
+    /**
+     * Intentos con cubeta propia en el histograma; la última junta los de
+     * MAX_TRACKED_ATTEMPTS o más.
+     */
+    public static final int MAX_TRACKED_ATTEMPTS = 15;
+
+    /**
+     * Capacidad máxima del ranking diario, y límite máximo de
+     * GET /api/daily/leaderboard.
+     */
+    public static final int MAX_LEADERBOARD_CAPACITY = 1000;
+
+    private final long seed;
+    private final ZoneId zone;
+    private final int leaderboardCapacity;
+    private final Clock clock;
+
+    private volatile Day today;
+
+    /**
+     * Estado de un día: su secreto, sus partidas y sus contadores.
+     */
+    private static final class Day {
+        final LocalDate date;
+        final int secretIndex;
+        // Primer instante del día siguiente
+        final long endMillis;
+
+        // Partidas en curso: gameId -> inicio en milisegundos
+        final ConcurrentHashMap<String, Long> playing = new ConcurrentHashMap<>();
+        // Ganadas sin score guardado: gameId -> intentos << 32 | segundos
+        final ConcurrentHashMap<String, Long> solved = new ConcurrentHashMap<>();
+
+        final LongAdder started = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[MAX_TRACKED_ATTEMPTS];
+
+        // Ranking ordenado e inmutable; las escrituras se serializan con lock
+        final ReentrantLock lock = new ReentrantLock();
+        volatile ScoreResponse[] leaderboard = new ScoreResponse[0];
+
+        Day(LocalDate date, int secretIndex, long endMillis) {
+            this.date = date;
+            this.secretIndex = secretIndex;
+            this.endMillis = endMillis;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * @param seed semilla de los secretos diarios
+     * @param zone zona horaria en la que cambia el día
+     * @param leaderboardCapacity cantidad de scores del ranking diario, hasta
+     *                            {@link #MAX_LEADERBOARD_CAPACITY}
+     */
+    public DailyChallenge(long seed, ZoneId zone, int leaderboardCapacity) {
+        this(seed, zone, leaderboardCapacity, Clock.system(zone));
+    }
+
+    public DailyChallenge(long seed, ZoneId zone, int leaderboardCapacity, Clock clock) {
+        if (leaderboardCapacity <= 0 || leaderboardCapacity > MAX_LEADERBOARD_CAPACITY) {
+            throw new IllegalArgumentException(
+                "La capacidad del ranking diario debe estar entre 1 y " + MAX_LEADERBOARD_CAPACITY);
+        }
+        this.seed = seed;
+        this.zone = zone;
+        this.leaderboardCapacity = leaderboardCapacity;
+        this.clock = clock;
+        this.today = newDay(LocalDate.ofInstant(clock.instant(), zone));
+    }
+
+    /**
+     * Índice del secreto de un día.
+     *
+     * @param seed semilla de los secretos diarios
+     * @param date el día
+     * @return índice según {@link CodeIndex}
+     */
+    public static int secretIndex(long seed, LocalDate date) {
+        return new SecretNumberGenerator(seed + date.toEpochDay()).nextIndex();
+    }
+
+    private Day newDay(LocalDate date) {
+        long endMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new Day(date, secretIndex(seed, date), endMillis);
+    }
+
+    // El día actual, cambiándolo si ya pasó la medianoche
+    private Day current() {
+        Day day = today;
+        if (clock.millis() < day.endMillis) {
+            return day;
+        }
+        synchronized (this) {
+            day = today;
+            if (clock.millis() >= day.endMillis) {
+                day = newDay(LocalDate.ofInstant(clock.instant(), zone));
+                today = day;
+            }
+            return day;
+        }
+    }
+
+    /**
+     * Crea una partida con el secreto del día.
+     *
+     * @param create crea la partida en el almacén a partir del índice del secreto
+     * @return el gameId de la partida creada
+     */
+    public String start(IntFunction<String> create) {
+        Day day = current();
+        String gameId = create.apply(day.secretIndex);
+        day.playing.put(gameId, clock.millis());
+        day.started.increment();
+        return gameId;
+    }
+
+    /**
+     * Registra una partida ganada. No hace nada si no es una partida diaria del día.
+     *
+     * @param gameId el ID de la partida
+     * @param attempts intentos que llevó
+     */
+    public void onWin(String gameId, int attempts) {
+        Day day = today;
+        if (day.playing.isEmpty()) {
+            return;
+        }
+        Long startMillis = day.playing.remove(gameId);
+        if (startMillis == null) {
+            return;
+        }
+        day.histogram[Math.min(attempts, MAX_TRACKED_ATTEMPTS) - 1].increment();
+        long seconds = Math.max(0, clock.millis() - startMillis) / 1000;
+        day.solved.put(gameId, (long) attempts << 32 | seconds);
+    }
+
+    /**
+     * true si la partida es una partida diaria de hoy todavía en curso, es
+     * decir, si puede entrar al ranking del día.
+     */
+    public boolean isRanked(String gameId) {
+        Day day = today;
+        return !day.playing.isEmpty() && day.playing.containsKey(gameId);
+    }
+
+    /**
+     * Agrega al ranking del día el score guardado de una partida diaria
+     * ganada, con los intentos y el tiempo medidos por el servidor.
+     *
+     * @param saved el score guardado
+     */
+    public void onScoreSaved(ScoreResponse saved) {
+        Day day = today;
+        if (saved.gameId() == null || day.solved.isEmpty()) {
+            return;
+        }
+        Long result = day.solved.remove(saved.gameId());
+        if (result == null) {
+            return;
+        }
+        ScoreResponse score = new ScoreResponse(saved.id(), saved.playerName(), (int) (result >>> 32),
+            saved.gameId(), result & 0xFFFFFFFFL, saved.createdAt());
+        day.lock.lock();
+        try {
+            day.leaderboard = insert(day.leaderboard, score);
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Quita del ranking del día un score pendiente (sin id) que Supabase
+     * finalmente no guardó. La partida no vuelve a quedar como ganada sin
+     * score: su score ya se intentó guardar.
+     *
+     * @param dropped el score descartado
+     */
+    public void onScoreDropped(ScoreResponse dropped) {
+        Day day = today;
+        if (dropped.gameId() == null || day.leaderboard.length == 0) {
+            return;
+        }
+        day.lock.lock();
+        try {
+            ScoreResponse[] current = day.leaderboard;
+            for (int i = 0; i < current.length; i++) {
+                ScoreResponse score = current[i];
+                // Los intentos y el tiempo del ranking son los del servidor, no los de la fila
+                if (score.id() == null && dropped.gameId().equals(score.gameId())
+                    && Objects.equals(dropped.playerName(), score.playerName())) {
+                    ScoreResponse[] next = new ScoreResponse[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    day.leaderboard = next;
+                    return;
+                }
+            }
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    // Retorna un array nuevo con el score en su posición, o el mismo si no entra
+    private ScoreResponse[] insert(ScoreResponse[] current, ScoreResponse score) {
+        int position = current.length;
+        while (position > 0 && LeaderboardCache.ORDER.compare(current[position - 1], score) > 0) {
+            position--;
+        }
+        if (position >= leaderboardCapacity) {
+            return current;
+        }
+        int length = Math.min(current.length + 1, leaderboardCapacity);
+        ScoreResponse[] next = new ScoreResponse[length];
+        System.arraycopy(current, 0, next, 0, position);
+        next[position] = score;
+        System.arraycopy(current, position, next, position + 1, length - position - 1);
+        return next;
+    }
+
+    /**
+     * Retorna los primeros {@code limit} scores del ranking del día, sin
+     * consultar a Supabase.
+     */
+    public List<ScoreResponse> top(int limit) {
+        ScoreResponse[] current = current().leaderboard;
+        return Arrays.asList(current).subList(0, Math.max(0, Math.min(limit, current.length)));
+    }
+
+    /**
+     * Retorna el día del desafío actual.
+     */
+    public LocalDate getDate() {
+        return current().date;
+    }
+
+    /**
+     * Retorna la cantidad de partidas diarias creadas hoy.
+     */
+    public long getGamesStarted() {
+        return current().started.sum();
+    }
+
+    /**
+     * Retorna la cantidad de partidas diarias ganadas hoy.
+     */
+    public long getGamesSolved() {
+        long solved = 0;
+        for (LongAdder bucket : current().histogram) {
+            solved += bucket.sum();
+        }
+        return solved;
+    }
+
+    /**
+     * Retorna el histograma de intentos de las partidas ganadas hoy: la
+     * posición i cuenta las ganadas en i + 1 intentos, y la última las de
+     * {@link #MAX_TRACKED_ATTEMPTS} o más.
+     */
+    public long[] getAttemptsHistogram() {
+        LongAdder[] histogram = current().histogram;
+        long[] counts = new long[histogram.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Retorna la cantidad de partidas diarias en curso.
+     */
+    public int getPlayingCount() {
+        return today.playing.size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Política de expiración de partidas activas.
+ *
+ * @param idleSeconds     segundos sin intentos tras los que se descarta una partida abandonada
+ * @param maxSeconds      vida máxima de una partida desde su creación
+ * @param finishedSeconds segundos tras el último intento tras los que una partida ganada se archiva
+ */
+public record ExpiryPolicy(
+    int idleSeconds,
+    int maxSeconds,
+    int finishedSeconds
+) {
+
+    // Resultados de evaluate() distintos de "volver a revisar en tal instante"
+    public static final int EVICT_IDLE = -1;
+    public static final int EVICT_MAX = -2;
+    public static final int ARCHIVE = -3;
+    public static final int ABSENT = -4;
+
+    public ExpiryPolicy {
+        if (idleSeconds <= 0 || maxSeconds <= 0 || finishedSeconds <= 0) {
+            throw new IllegalArgumentException("Los TTL de partidas deben ser positivos");
+        }
+    }
+
+    /**
+     * Instante de la primera revisión de una partida creada en {@code now}.
+     */
+    public int firstCheck(int now) {
+        return now + Math.min(idleSeconds, maxSeconds);
+    }
+
+    /**
+     * Instante de la revisión que archiva una partida ganada en {@code now}.
+     */
+    public int archiveCheck(int now) {
+        return now + finishedSeconds;
+    }
+
+    /**
+     * Decide qué hacer con una partida al revisarla.
+     *
+     * Las partidas en curso solo se revisan cuando vence su TTL de inactividad
+     * o el absoluto; la victoria programa su propia revisión ({@link #archiveCheck(int)}).
+     *
+     * @return ARCHIVE, EVICT_MAX o EVICT_IDLE si la partida debe salir del almacén,
+     *         o el instante de la próxima revisión
+     */
+    public int evaluate(int now, int created, int lastAccess, boolean finished) {
+        if (finished) {
+            int archiveAt = lastAccess + finishedSeconds;
+            return now >= archiveAt ? ARCHIVE : archiveAt;
+        }
+        int maxAt = created + maxSeconds;
+        if (now >= maxAt) {
+            return EVICT_MAX;
+        }
+        int idleAt = lastAccess + idleSeconds;
+        if (now >= idleAt) {
+            return EVICT_IDLE;
+        }
+        return Math.min(maxAt, idleAt);
+    }
+}
@@ -0,0 +1,159 @@
+package com.mijuego.numerito.api.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rueda de temporización (hashed timing wheel) con resolución de un segundo.
+ *
+ * Cada partida tiene una entrada pendiente (su clave UUID y el instante de la
+ * próxima revisión) en el bucket {@code deadline % size}; dos si se ganó, la
+ * de su vencimiento y la de su archivo, y la que llega después la descarta. En cada
+ * tick solo se recorre el bucket de ese segundo, en lugar de todo el almacén;
+ * las entradas de vueltas posteriores se dejan donde están.
+ *
+ * Los intentos no tocan la rueda: al vencer una entrada el almacén decide con
+ * la marca de último acceso si la partida expira o si se vuelve a programar.
+ *
+ * schedule() es thread-safe; advance() debe llamarse desde un único hilo.
+ */
+public class ExpiryWheel {
+
+    /**
+     * Decide el destino de una entrada vencida.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @return instante de la próxima revisión, o un valor negativo para descartar la entrada
+         */
+        int expire(long high, long low, int now);
+    }
+
+    private final Bucket[] buckets;
+    private final int mask;
+    private int lastTick;
+
+    // Copia de trabajo del bucket que se procesa (solo la usa el hilo de advance)
+    private long[] drainKeys = new long[32];
+    private int[] drainDeadlines = new int[16];
+
+    /**
+     * @param size      cantidad de buckets (se redondea a potencia de 2)
+     * @param startTick instante inicial; los buckets anteriores no se procesan
+     */
+    public ExpiryWheel(int size, int startTick) {
+        int buckets = Integer.highestOneBit(Math.max(size, 2) * 2 - 1);
+        this.buckets = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = buckets - 1;
+        this.lastTick = startTick;
+    }
+
+    /**
+     * Programa la revisión de una partida en el instante dado.
+     */
+    public void schedule(long high, long low, int deadline) {
+        buckets[deadline & mask].add(high, low, deadline);
+    }
+
+    /**
+     * Procesa todos los buckets hasta el instante {@code now} inclusive.
+     *
+     * @return cantidad de entradas vencidas entregadas al handler
+     */
+    public int advance(int now, Handler handler) {
+        if (now <= lastTick) {
+            return 0;
+        }
+        // Si el barrido se atrasó más de una vuelta, basta con recorrer cada bucket una vez
+        int from = Math.max(lastTick + 1, now - buckets.length + 1);
+        int expired = 0;
+
+        for (int tick = from; tick <= now; tick++) {
+            int count = drain(buckets[tick & mask]);
+            for (int i = 0; i < count; i++) {
+                long high = drainKeys[i * 2];
+                long low = drainKeys[i * 2 + 1];
+                int deadline = drainDeadlines[i];
+
+                if (deadline > now) {
+                    // Pertenece a una vuelta posterior de la rueda
+                    schedule(high, low, deadline);
+                    continue;
+                }
+
+                expired++;
+                int next = handler.expire(high, low, now);
+                if (next >= 0) {
+                    schedule(high, low, Math.max(next, now + 1));
+                }
+            }
+        }
+
+        lastTick = now;
+        return expired;
+    }
+
+    /**
+     * Cantidad de entradas pendientes en toda la rueda.
+     */
+    public long pending() {
+        long total = 0;
+        for (Bucket bucket : buckets) {
+            total += bucket.size();
+        }
+        return total;
+    }
+
+    private int drain(Bucket bucket) {
+        bucket.lock.lock();
+        try {
+            int count = bucket.count;
+            if (drainDeadlines.length < count) {
+                drainDeadlines = new int[bucket.deadlines.length];
+                drainKeys = new long[bucket.keys.length];
+            }
+            System.arraycopy(bucket.keys, 0, drainKeys, 0, count * 2);
+            System.arraycopy(bucket.deadlines, 0, drainDeadlines, 0, count);
+            bucket.count = 0;
+            return count;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private static final class Bucket {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] keys = new long[8];
+        int[] deadlines = new int[4];
+        int count;
+
+        void add(long high, long low, int deadline) {
+            lock.lock();
+            try {
+                if (count == deadlines.length) {
+                    deadlines = Arrays.copyOf(deadlines, count * 2);
+                    keys = Arrays.copyOf(keys, count * 4);
+                }
+                keys[count * 2] = high;
+                keys[count * 2 + 1] = low;
+                deadlines[count] = deadline;
+                count++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mijuego.numerito.api.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Archivo compacto de partidas ganadas que ya salieron del almacén activo.
+ *
+ * Por cada partida solo guarda la clave UUID y la cantidad de intentos
+ * (unos 30 bytes frente a los cientos de una sesión viva), para que
+ * GET /api/game/{gameId} siga respondiendo después de archivarla.
+ *
+ * Tiene capacidad fija: es un anillo en el que la partida más antigua
+ * se descarta al llegar al límite.
+ */
+public class GameArchive {
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final StampedLock lock = new StampedLock();
+    private final int capacity;
+    private final SlotIndex index;
+    private int[] attempts;
+
+    // Próxima posición del anillo a escribir
+    private long next;
+
+    public GameArchive(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad del archivo debe ser positiva");
+        }
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_SLOTS);
+        this.index = new SlotIndex(initial);
+        this.attempts = new int[index.slotCapacity()];
+    }
+
+    /**
+     * Archiva una partida ganada.
+     */
+    public void add(long high, long low, int attemptCount) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = (int) (next++ % capacity);
+            if (slot >= index.slotCapacity()) {
+                int grown = (int) Math.min(capacity, (long) index.slotCapacity() * 2);
+                index.ensureSlotCapacity(grown);
+                attempts = Arrays.copyOf(attempts, grown);
+            }
+            // Descartar la partida más antigua si el anillo ya dio la vuelta
+            if (index.high(slot) != 0 || index.low(slot) != 0) {
+                index.remove(index.high(slot), index.low(slot));
+            }
+            if (index.put(high, low, slot)) {
+                attempts[slot] = attemptCount;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retorna la cantidad de intentos de una partida archivada, o -1 si no está.
+     */
+    public int find(String gameId) {
+        if (!GameIds.isValid(gameId)) {
+            return -1;
+        }
+        long high = GameIds.high(gameId);
+        long low = GameIds.low(gameId);
+
+        long stamp = lock.readLock();
+        try {
+            int slot = index.find(high, low);
+            return slot < 0 ? -1 : attempts[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Elimina una partida del archivo.
+     *
+     * @return true si la partida estaba archivada
+     */
+    public boolean remove(String gameId) {
+        if (!GameIds.isValid(gameId)) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            return index.remove(GameIds.high(gameId), GameIds.low(gameId)) >= 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difusión de los intentos de cada partida a quienes la estén mirando.
+ *
+ * Cada partida con al menos un suscriptor tiene un canal propio, creado con
+ * la primera suscripción y retirado al irse la última, así que una partida sin
+ * conexiones abiertas no ocupa nada y publicar en ella es una lectura del mapa.
+ *
+ * Publicar no bloquea: el canal entrega cada evento a los suscriptores que
+ * tienen demanda y lo descarta para los que no (un cliente lento pierde
+ * eventos, no frena al resto ni a quien hizo el intento). Cada evento lleva su
+ * número de intento, así que el cliente puede detectar el hueco y pedir el
+ * estado de nuevo. Por la misma razón dos intentos simultáneos en la misma
+ * partida pueden llegar en cualquier orden.
+ *
+ * Los eventos son un long con el índice del intento ({@link CodeIndex}) en la
+ * parte alta y el resultado empaquetado ({@link GuessOutcome}) en la baja.
+ */
+public class GameEvents {
+
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private static final class Channel {
+        // Las emisiones se serializan con synchronized sobre el canal
+        final Sinks.Many<Long> sink = Sinks.unsafe().many().multicast().directBestEffort();
+        // Protegido por channels.compute
+        int subscribers;
+    }
+
+    /**
+     * Se suscribe a los intentos de una partida.
+     *
+     * El Flux no termina: la suscripción dura hasta que se cancela. No
+     * comprueba que la partida exista.
+     *
+     * @param gameId el ID de la partida
+     * @return eventos empaquetados, ver {@link #guessIndex(long)} y {@link #outcome(long)}
+     */
+    public Flux<Long> subscribe(String gameId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(gameId, (id, current) -> {
+                Channel c = current != null ? current : new Channel();
+                c.subscribers++;
+                return c;
+            });
+            subscribers.incrementAndGet();
+            return channel.sink.asFlux().doFinally(signal -> unsubscribe(gameId));
+        });
+    }
+
+    private void unsubscribe(String gameId) {
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(gameId, (id, channel) -> --channel.subscribers == 0 ? null : channel);
+    }
+
+    /**
+     * Publica un intento a los suscriptores de la partida, si los hay.
+     *
+     * @param gameId el ID de la partida
+     * @param guessIndex índice del intento según {@link CodeIndex}
+     * @param outcome resultado empaquetado según {@link GuessOutcome}
+     */
+    public void publish(String gameId, int guessIndex, int outcome) {
+        Channel channel = find(gameId);
+        if (channel != null) {
+            emit(channel, guessIndex, outcome);
+        }
+    }
+
+    /**
+     * Igual que {@link #publish(String, int, int)} con el intento como texto
+     * ya validado; solo lo convierte a índice si alguien mira la partida.
+     */
+    public void publish(String gameId, String guess, int outcome) {
+        Channel channel = find(gameId);
+        if (channel != null) {
+            emit(channel, CodeIndex.indexOf(guess), outcome);
+        }
+    }
+
+    private Channel find(String gameId) {
+        return channels.isEmpty() ? null : channels.get(gameId);
+    }
+
+    private static void emit(Channel channel, int guessIndex, int outcome) {
+        Long event = pack(guessIndex, outcome);
+        synchronized (channel) {
+            channel.sink.tryEmitNext(event);
+        }
+    }
+
+    static long pack(int guessIndex, int outcome) {
+        return (long) guessIndex << 32 | (outcome & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Índice del intento de un evento.
+     */
+    public static int guessIndex(long event) {
+        return (int) (event >>> 32);
+    }
+
+    /**
+     * Resultado empaquetado de un evento.
+     */
+    public static int outcome(long event) {
+        return (int) event;
+    }
+
+    /**
+     * Retorna el número de suscripciones abiertas.
+     */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Retorna el número de partidas con al menos un suscriptor.
+     */
+    public int getChannelCount() {
+        return channels.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Excepción lanzada cuando se consulta, con un endpoint de solo lectura, algo
+ * que ya no existe porque la partida terminó: la pista de una partida ganada
+ * o las jugadas de una partida que ya pasó al archivo.
+ *
+ * A diferencia de {@link com.mijuego.numerito.exception.InvalidGuessException}
+ * no es un intento rechazado, así que no se cuenta en las métricas de intentos.
+ */
+public class GameFinishedException extends Exception {
+
+    private final boolean archived;
+
+    public GameFinishedException(String message, boolean archived) {
+        super(message);
+        this.archived = archived;
+    }
+
+    /**
+     * Retorna true si la partida ya pasó al archivo y sus jugadas no se conservan.
+     */
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -0,0 +1,184 @@
+package com.mijuego.numerito.api.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generación de gameIds y conversión entre el gameId en texto (UUID canónico
+ * en minúsculas) y sus dos mitades de 64 bits, sin crear objetos intermedios.
+ *
+ * Permite a los almacenes compactos guardar la clave como dos long.
+ *
+ * Un gameId es la única credencial de la partida, así que sale de un
+ * generador criptográfico (SecureRandom DRBG). UUID.randomUUID() comparte un
+ * solo SecureRandom entre todos los hilos; acá hay varios, elegidos por el id
+ * del hilo, y cada uno genera los bytes de 16 gameIds por llamada. No se usa
+ * un ThreadLocal porque con virtual threads cada petición tendría que sembrar
+ * su propio DRBG.
+ */
+public final class GameIds {
+
+    private static final int LENGTH = 36;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int IDS_PER_REFILL = 16;
+
+    private static final Source[] SOURCES = new Source[stripes()];
+
+    static {
+        for (int i = 0; i < SOURCES.length; i++) {
+            SOURCES[i] = new Source();
+        }
+    }
+
+    /**
+     * Un DRBG con los bytes de los próximos gameIds. ReentrantLock y no
+     * synchronized para no fijar virtual threads a su carrier.
+     */
+    private static final class Source {
+        final ReentrantLock lock = new ReentrantLock();
+        final SecureRandom random;
+        final byte[] buffer = new byte[IDS_PER_REFILL * 16];
+        int position = buffer.length;
+
+        Source() {
+            try {
+                random = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("No hay un SecureRandom DRBG disponible", e);
+            }
+        }
+    }
+
+    private GameIds() {
+    }
+
+    /**
+     * Genera un gameId nuevo: un UUID versión 4 con 122 bits aleatorios.
+     */
+    public static UUID random() {
+        Source source = SOURCES[(int) Thread.currentThread().getId() & (SOURCES.length - 1)];
+        long high;
+        long low;
+        source.lock.lock();
+        try {
+            if (source.position == source.buffer.length) {
+                source.random.nextBytes(source.buffer);
+                source.position = 0;
+            }
+            high = (long) LONGS.get(source.buffer, source.position);
+            low = (long) LONGS.get(source.buffer, source.position + 8);
+            source.position += 16;
+        } finally {
+            source.lock.unlock();
+        }
+        high = (high & ~0xF000L) | 0x4000L;
+        low = (low & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(high, low);
+    }
+
+    // Potencia de dos, el doble de los procesadores para que dos hilos rara vez compartan uno
+    private static int stripes() {
+        return Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+    }
+
+    /**
+     * Retorna true si el texto es un UUID canónico en minúsculas
+     * (formato xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx).
+     */
+    public static boolean isValid(String gameId) {
+        if (gameId == null || gameId.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = gameId.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (hexValue(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna los 64 bits más significativos. Requiere un gameId válido.
+     */
+    public static long high(String gameId) {
+        return parseHex(gameId, 0, 18);
+    }
+
+    /**
+     * Retorna los 64 bits menos significativos. Requiere un gameId válido.
+     */
+    public static long low(String gameId) {
+        return parseHex(gameId, 19, LENGTH);
+    }
+
+    /**
+     * Retorna true si el texto es un gameId válido con esas dos mitades, en
+     * una sola pasada.
+     */
+    public static boolean matches(String gameId, long high, long low) {
+        if (gameId == null || gameId.length() != LENGTH) {
+            return false;
+        }
+        long parsedHigh = 0;
+        long parsedLow = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = gameId.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+                continue;
+            }
+            int value = hexValue(c);
+            if (value < 0) {
+                return false;
+            }
+            if (i < 18) {
+                parsedHigh = (parsedHigh << 4) | value;
+            } else {
+                parsedLow = (parsedLow << 4) | value;
+            }
+        }
+        return parsedHigh == high && parsedLow == low;
+    }
+
+    /**
+     * Reconstruye el gameId en texto a partir de sus dos mitades.
+     */
+    public static String toString(long high, long low) {
+        return new UUID(high, low).toString();
+    }
+
+    private static long parseHex(String gameId, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = gameId.charAt(i);
+            if (c != '-') {
+                value = (value << 4) | hexValue(c);
+            }
+        }
+        return value;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+}
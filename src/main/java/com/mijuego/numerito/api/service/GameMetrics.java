@@ -0,0 +1,152 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas operativas de la API, exportadas en formato Prometheus en
+ * GET /actuator/prometheus.
+ *
+ * Todos los medidores se registran al construir la instancia y se guardan en
+ * arrays indexados por ordinal, así que registrar una medición no busca en el
+ * registry ni reserva objetos: se puede dejar activo a plena carga.
+ *
+ * - numerito.http.requests: latencia por endpoint (histograma)
+ * - numerito.guesses.invalid: intentos rechazados por regla
+ * - numerito.games.not.found: peticiones a partidas inexistentes
+ * - numerito.games.won: partidas ganadas
+ * - numerito.games.win.attempts: intentos por partida ganada (histograma)
+ * - numerito.supabase.requests: latencia de las llamadas a Supabase por resultado (histograma)
+ *
+ * La cantidad de partidas activas (numerito.games.active) es un gauge que se
+ * lee de {@link GameService#getActiveGamesCount()} en cada scrape, igual que
+ * las conexiones abiertas al canal de eventos (numerito.socket.connections).
+ */
+public class GameMetrics {
+
+    /**
+     * Endpoints medidos, con el valor de su tag.
+     */
+    public enum Endpoint {
+        CREATE,
+        CREATE_BATCH,
+        GUESS,
+        GUESS_FRAME,
+        GUESSES,
+        STATE,
+        HINT,
+        HISTORY,
+        SCORE_SAVE,
+        SCORE_TOP,
+        SOCKET_GUESS,
+        DAILY_CREATE,
+        DAILY_STATS,
+        DAILY_TOP;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Timer[] requests;
+    private final Counter[] invalidGuesses;
+    private final Counter gamesNotFound;
+    private final Counter gamesWon;
+    private final DistributionSummary winAttempts;
+    private final Timer supabaseSuccess;
+    private final Timer supabaseError;
+
+    public GameMetrics(MeterRegistry registry) {
+        Endpoint[] endpoints = Endpoint.values();
+        requests = new Timer[endpoints.length];
+        for (Endpoint endpoint : endpoints) {
+            requests[endpoint.ordinal()] = Timer.builder("numerito.http.requests")
+                .description("Latencia de los endpoints de la API")
+                .tag("endpoint", endpoint.tag())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(50_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        }
+
+        Rule[] rules = Rule.values();
+        invalidGuesses = new Counter[rules.length];
+        for (Rule rule : rules) {
+            invalidGuesses[rule.ordinal()] = Counter.builder("numerito.guesses.invalid")
+                .description("Intentos rechazados por no cumplir las reglas del juego")
+                .tag("rule", rule.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+
+        gamesNotFound = Counter.builder("numerito.games.not.found")
+            .description("Peticiones a partidas que no existen")
+            .register(registry);
+        gamesWon = Counter.builder("numerito.games.won")
+            .description("Partidas ganadas")
+            .register(registry);
+        winAttempts = DistributionSummary.builder("numerito.games.win.attempts")
+            .description("Intentos necesarios para ganar una partida")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(100.0)
+            .register(registry);
+
+        supabaseSuccess = supabaseTimer(registry, "success");
+        supabaseError = supabaseTimer(registry, "error");
+    }
+
+    private static Timer supabaseTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("numerito.supabase.requests")
+            .description("Latencia de las llamadas a Supabase")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
+    }
+
+    /**
+     * Registra la latencia de una petición.
+     *
+     * @param endpoint endpoint atendido
+     * @param startNanos System.nanoTime() al empezar a atenderla
+     */
+    public void recordRequest(Endpoint endpoint, long startNanos) {
+        requests[endpoint.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordInvalidGuess(Rule rule) {
+        invalidGuesses[rule.ordinal()].increment();
+    }
+
+    public void recordGameNotFound() {
+        gamesNotFound.increment();
+    }
+
+    /**
+     * Registra una partida ganada.
+     *
+     * @param attempts intentos que llevó ganarla
+     */
+    public void recordWin(int attempts) {
+        gamesWon.increment();
+        winAttempts.record(attempts);
+    }
+
+    /**
+     * Registra la latencia de una llamada a Supabase.
+     *
+     * @param startNanos System.nanoTime() al enviar la petición
+     * @param success false si falló o respondió 5xx
+     */
+    public void recordSupabaseCall(long startNanos, boolean success) {
+        (success ? supabaseSuccess : supabaseError).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
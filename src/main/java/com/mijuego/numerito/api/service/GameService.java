@@ -1,26 +1,56 @@
 package com.mijuego.numerito.api.service;
 
-import com.mijuego.numerito.GameSession;
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
 import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.SecretNumberGenerator;
 import com.mijuego.numerito.exception.InvalidGuessException;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Servicio que gestiona las sesiones de juego en memoria.
  *
- * Mantiene un mapa de gameId -> GameSession para permitir múltiples partidas simultáneas.
- * Las sesiones se mantienen en memoria (sin persistencia por ahora).
+ * Delega el almacenamiento de las partidas en un {@link SessionStore}
+ * intercambiable para permitir múltiples partidas simultáneas.
+ * Las sesiones se mantienen en memoria, opcionalmente con snapshots
+ * periódicos a disco ({@link SessionSnapshots}), y {@link SessionExpiry} las
+ * retira al vencer sus TTL; las ganadas quedan en un archivo compacto y siguen
+ * siendo consultables como terminadas.
+ *
+ * Cada partida ganada se cuenta en {@link GameMetrics} junto con los intentos
+ * que llevó, y cada intento aceptado se publica en {@link GameEvents} para las
+ * conexiones que estén mirando la partida. Las partidas del desafío diario
+ * son partidas comunes creadas con el secreto del día; al ganarse se cuentan
+ * además en {@link DailyChallenge}.
  */
 @Service
 public class GameService {
 
-    // Mapa thread-safe para almacenar sesiones activas
-    private final Map<String, GameSession> activeSessions = new ConcurrentHashMap<>();
+    private final SessionStore sessions;
+    private final SessionExpiry expiry;
+    private final SecretNumberGenerator generator;
+    private final GameMetrics metrics;
+    private final GameEvents events;
+    private final DailyChallenge daily;
+
+    public GameService(SessionStore sessions, SessionExpiry expiry, SecretNumberGenerator generator,
+                       GameMetrics metrics, GameEvents events, DailyChallenge daily) {
+        this.sessions = sessions;
+        this.expiry = expiry;
+        this.generator = generator;
+        this.metrics = metrics;
+        this.events = events;
+        this.daily = daily;
+        // Construir la tabla de resultados al arrancar y no en el primer intento
+        ScoreTable.preload();
+    }
 
     /**
      * Crea una nueva partida y retorna su ID único.
@@ -28,12 +58,36 @@ public class GameService {
      * @return gameId único generado para esta partida
      */
     public String createGame() {
-        String gameId = UUID.randomUUID().toString();
-        GameSession session = new GameSession();
-        activeSessions.put(gameId, session);
+        String gameId = sessions.create(generator.nextIndex());
+        expiry.track(gameId);
+        return gameId;
+    }
+
+    /**
+     * Crea una partida del desafío diario, con el secreto del día.
+     *
+     * @return gameId único generado para esta partida
+     */
+    public String createDailyGame() {
+        String gameId = daily.start(sessions::create);
+        expiry.track(gameId);
         return gameId;
     }
 
+    /**
+     * Crea varias partidas en una sola llamada.
+     *
+     * @param count cantidad de partidas a crear
+     * @return los gameId generados, en orden de creación
+     */
+    public List<String> createGames(int count) {
+        List<String> gameIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            gameIds.add(createGame());
+        }
+        return gameIds;
+    }
+
     /**
      * Realiza un intento en una partida existente.
      *
@@ -46,53 +100,203 @@ public class GameService {
     public GuessResult makeGuess(String gameId, String guess)
             throws GameNotFoundException, InvalidGuessException {
 
-        GameSession session = activeSessions.get(gameId);
-        if (session == null) {
-            throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+        return GuessOutcome.toResult(makeGuessOutcome(gameId, guess));
+    }
+
+    /**
+     * Realiza un intento con una sola búsqueda en el almacén y sin reservar objetos.
+     *
+     * La partida queda terminada si y solo si el intento ganó, así que el
+     * resultado alcanza para responder sin volver a consultar el estado.
+     *
+     * @param gameId el ID de la partida
+     * @param guess el intento del jugador
+     * @return resultado empaquetado según {@link GuessOutcome}
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido
+     */
+    public int makeGuessOutcome(String gameId, String guess)
+            throws GameNotFoundException, InvalidGuessException {
+
+        return CandidateSet.outcome(makeGuessTracked(gameId, guess));
+    }
+
+    /**
+     * Realiza un intento como {@link #makeGuessOutcome(String, String)} y
+     * retorna además el informe de candidatos del intento, si el almacén los
+     * sigue (numerito.candidates.enabled).
+     *
+     * @param gameId el ID de la partida
+     * @param guess el intento del jugador
+     * @return resultado e informe de candidatos según {@link CandidateSet#track(int, int)}
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido
+     */
+    public long makeGuessTracked(String gameId, String guess)
+            throws GameNotFoundException, InvalidGuessException {
+
+        long tracked;
+        try {
+            tracked = sessions.guessTracked(gameId, guess);
+        } catch (GameNotFoundException e) {
+            if (expiry.findArchived(gameId) >= 0) {
+                throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+            }
+            throw e;
         }
+        int outcome = CandidateSet.outcome(tracked);
+        if (GuessOutcome.isWin(outcome)) {
+            recordWin(gameId, GuessOutcome.attemptNumber(outcome));
+        }
+        events.publish(gameId, guess, outcome);
+        return tracked;
+    }
+
+    /**
+     * Realiza una secuencia ordenada de intentos en una partida con una sola
+     * búsqueda, deteniéndose en el primer acierto.
+     *
+     * Todos los intentos se validan antes de aplicar ninguno, y la secuencia se
+     * aplica como una única transición de estado.
+     *
+     * @param gameId el ID de la partida
+     * @param guesses los intentos del jugador, en orden
+     * @return resultados empaquetados según {@link GuessOutcome}, uno por intento evaluado
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si algún intento no es válido o la partida ya terminó
+     */
+    public int[] makeGuesses(String gameId, List<String> guesses)
+            throws GameNotFoundException, InvalidGuessException {
 
-        return session.guess(guess);
+        long[] tracked = makeGuessesTracked(gameId, guesses);
+        int[] outcomes = new int[tracked.length];
+        for (int i = 0; i < tracked.length; i++) {
+            outcomes[i] = CandidateSet.outcome(tracked[i]);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Realiza una secuencia de intentos como {@link #makeGuesses(String, List)}
+     * y retorna además el informe de candidatos de cada intento, si el almacén
+     * los sigue (numerito.candidates.enabled).
+     *
+     * @param gameId el ID de la partida
+     * @param guesses los intentos del jugador, en orden
+     * @return resultado e informe de candidatos según {@link CandidateSet#track(int, int)}, uno por intento evaluado
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si algún intento no es válido o la partida ya terminó
+     */
+    public long[] makeGuessesTracked(String gameId, List<String> guesses)
+            throws GameNotFoundException, InvalidGuessException {
+
+        int[] guessIndexes = new int[guesses.size()];
+        for (int i = 0; i < guessIndexes.length; i++) {
+            try {
+                guessIndexes[i] = CodeIndex.parse(guesses.get(i));
+            } catch (InvalidGuessException e) {
+                throw new InvalidGuessException(e.getRule(), "Intento " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        int[] outcomes = new int[guessIndexes.length];
+        int[] reports = new int[guessIndexes.length];
+        int count;
+        try {
+            count = sessions.guessAll(gameId, guessIndexes, outcomes, reports);
+        } catch (GameNotFoundException e) {
+            if (expiry.findArchived(gameId) >= 0) {
+                throw new InvalidGuessException(Rule.GAME_FINISHED, "La partida ya ha terminado");
+            }
+            throw e;
+        }
+        // Solo el último intento evaluado puede ser el acierto
+        if (count > 0 && GuessOutcome.isWin(outcomes[count - 1])) {
+            recordWin(gameId, GuessOutcome.attemptNumber(outcomes[count - 1]));
+        }
+        long[] tracked = new long[count];
+        for (int i = 0; i < count; i++) {
+            events.publish(gameId, guessIndexes[i], outcomes[i]);
+            tracked[i] = CandidateSet.track(outcomes[i], reports[i]);
+        }
+        return tracked;
+    }
+
+    private void recordWin(String gameId, int attempts) {
+        expiry.trackFinished(gameId);
+        metrics.recordWin(attempts);
+        daily.onWin(gameId, attempts);
     }
 
     /**
      * Obtiene el estado de una partida.
      *
      * @param gameId el ID de la partida
-     * @return la sesión de juego
+     * @return el estado de la partida
      * @throws GameNotFoundException si la partida no existe
      */
-    public GameSession getGameState(String gameId) throws GameNotFoundException {
-        GameSession session = activeSessions.get(gameId);
-        if (session == null) {
+    public GameState getGameState(String gameId) throws GameNotFoundException {
+        GameState state = findState(gameId);
+        if (state == null) {
             throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
         }
-        return session;
+        return state;
     }
 
     /**
-     * Obtiene una sesión de juego si existe.
+     * Obtiene el estado de una partida si existe.
      *
      * @param gameId el ID de la partida
-     * @return Optional con la sesión si existe
+     * @return Optional con el estado si la partida existe
      */
-    public Optional<GameSession> findGame(String gameId) {
-        return Optional.ofNullable(activeSessions.get(gameId));
+    public Optional<GameState> findGame(String gameId) {
+        return Optional.ofNullable(findState(gameId));
+    }
+
+    // Busca primero entre las partidas activas y después en el archivo de ganadas
+    private GameState findState(String gameId) {
+        GameState state = sessions.find(gameId);
+        if (state != null) {
+            return state;
+        }
+        int archivedAttempts = expiry.findArchived(gameId);
+        return archivedAttempts >= 0 ? new GameState(archivedAttempts, true) : null;
+    }
+
+    /**
+     * Obtiene las jugadas de una partida activa, empaquetadas según
+     * {@link com.mijuego.numerito.MoveHistory}.
+     *
+     * @param gameId el ID de la partida
+     * @return las jugadas en orden
+     * @throws GameNotFoundException si la partida no existe
+     * @throws GameFinishedException si la partida ya terminó y fue archivada
+     */
+    public int[] getMoves(String gameId) throws GameNotFoundException, GameFinishedException {
+        int[] moves = sessions.moves(gameId);
+        if (moves != null) {
+            return moves;
+        }
+        if (expiry.findArchived(gameId) >= 0) {
+            throw new GameFinishedException("La partida ya ha terminado y sus jugadas no se conservan", true);
+        }
+        throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
     }
 
     /**
-     * Elimina una partida del mapa (útil para limpieza).
+     * Elimina una partida del almacén o del archivo (útil para limpieza).
      *
      * @param gameId el ID de la partida a eliminar
      * @return true si la partida existía y fue eliminada
      */
     public boolean deleteGame(String gameId) {
-        return activeSessions.remove(gameId) != null;
+        return sessions.remove(gameId) || expiry.removeArchived(gameId);
     }
 
     /**
      * Retorna el número de partidas activas.
      */
     public int getActiveGamesCount() {
-        return activeSessions.size();
+        return sessions.size();
     }
 }
@@ -0,0 +1,13 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Estado de una partida tal como lo expone un {@link SessionStore}.
+ *
+ * @param attempts número de intentos realizados
+ * @param finished true si la partida ha terminado (el jugador ganó)
+ */
+public record GameState(
+    int attempts,
+    boolean finished
+) {
+}
@@ -0,0 +1,12 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Excepción lanzada cuando se pide una pista para una partida que no la
+ * admite, como las partidas del desafío diario que compiten en el ranking.
+ */
+public class HintNotAllowedException extends Exception {
+
+    public HintNotAllowedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.Hint;
+import com.mijuego.numerito.HintSolver;
+import com.mijuego.numerito.MoveHistory;
+import com.mijuego.numerito.ScoreTable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio que calcula pistas para las partidas activas con {@link HintSolver}.
+ *
+ * Las partidas diarias en curso no reciben pistas: compiten en el ranking del
+ * día y el solver las resolvería por el jugador.
+ */
+@Service
+public class HintService {
+
+    private final GameService gameService;
+    private final HintSolver solver;
+    private final DailyChallenge daily;
+
+    public HintService(GameService gameService, HintSolver solver, DailyChallenge daily) {
+        this.gameService = gameService;
+        this.solver = solver;
+        this.daily = daily;
+    }
+
+    /**
+     * Calcula el mejor próximo intento para una partida.
+     *
+     * @param gameId el ID de la partida
+     * @return la pista calculada
+     * @throws GameNotFoundException si la partida no existe
+     * @throws GameFinishedException si la partida ya terminó
+     * @throws HintNotAllowedException si es una partida diaria en curso
+     */
+    public Hint getHint(String gameId)
+            throws GameNotFoundException, GameFinishedException, HintNotAllowedException {
+        if (daily.isRanked(gameId)) {
+            throw new HintNotAllowedException("Las partidas del desafío diario no admiten pistas");
+        }
+        int[] moves = gameService.getMoves(gameId);
+        if (moves.length > 0 && MoveHistory.score(moves[moves.length - 1]) == ScoreTable.WIN) {
+            throw new GameFinishedException("La partida ya ha terminado", false);
+        }
+        return solver.hint(moves);
+    }
+
+    public HintSolver.Strategy getStrategy() {
+        return solver.getStrategy();
+    }
+}
@@ -0,0 +1,243 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché local del ranking, delante de la consulta a Supabase.
+ *
+ * Guarda una sola lista con el límite más grande pedido hasta el momento
+ * (como mínimo minFetch) y responde los límites menores recortándola.
+ * - Con datos frescos (menos de freshTtl) responde desde memoria.
+ * - Con datos algo viejos (menos de staleTtl) responde desde memoria y lanza
+ *   una recarga en segundo plano.
+ * - Sin datos, o con datos más viejos, espera la recarga; si la recarga falla
+ *   y había datos, responde con ellos.
+ * Las recargas concurrentes se combinan en un único Mono en curso, así que un
+ * pico de tráfico hace una sola consulta a Supabase.
+ *
+ * Cada score guardado se inserta en la lista en su posición, para que el
+ * ranking no espere a la próxima recarga; si era pendiente y Supabase lo
+ * rechaza, se vuelve a quitar.
+ */
+public class LeaderboardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardCache.class);
+
+    /**
+     * Orden del ranking, el mismo que attempts.asc,time_seconds.asc en PostgREST.
+     */
+    public static final Comparator<ScoreResponse> ORDER = Comparator
+        .comparingInt(ScoreResponse::attempts)
+        .thenComparingLong(ScoreResponse::timeSeconds);
+
+    /**
+     * Lista cargada: los primeros {@code limit} scores, o todos si hay menos.
+     */
+    private record Snapshot(List<ScoreResponse> scores, int limit, long loadedAt) {
+
+        boolean covers(int requested) {
+            return requested <= limit || scores.size() < limit;
+        }
+
+        List<ScoreResponse> top(int requested) {
+            return scores.subList(0, Math.max(0, Math.min(requested, scores.size())));
+        }
+    }
+
+    /**
+     * Recarga en curso, compartida por todas las peticiones que la necesitan.
+     */
+    private record Load(int limit, Mono<Snapshot> result) {
+    }
+
+    private final IntFunction<Flux<ScoreResponse>> loader;
+    private final long freshNanos;
+    private final long staleNanos;
+    private final int minFetch;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<Load> inFlight = new AtomicReference<>();
+
+    // Cantidad de scores guardados, para detectar recargas que se cruzan con uno
+    private final AtomicLong saves = new AtomicLong();
+
+    /**
+     * @param loader consulta del ranking a Supabase para un límite dado
+     * @param freshNanos edad hasta la que la lista se sirve sin recargar
+     * @param staleNanos edad hasta la que la lista se sirve mientras se recarga
+     * @param minFetch límite mínimo que se carga, para cubrir los pedidos habituales
+     * @param maxLimit límites mayores a este no pasan por el caché
+     * @param nanoClock reloj monotónico en nanosegundos
+     */
+    public LeaderboardCache(IntFunction<Flux<ScoreResponse>> loader, long freshNanos, long staleNanos,
+                            int minFetch, int maxLimit, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.freshNanos = freshNanos;
+        this.staleNanos = staleNanos;
+        this.minFetch = minFetch;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Retorna los primeros {@code limit} scores del ranking; vacío si el
+     * límite no es positivo, sin consultar a Supabase.
+     */
+    public Flux<ScoreResponse> getTopScores(int limit) {
+        if (limit < 1) {
+            return Flux.empty();
+        }
+        if (limit > maxLimit) {
+            return loader.apply(limit);
+        }
+
+        Snapshot current = snapshot.get();
+        if (current != null && current.covers(limit)) {
+            long age = nanoClock.getAsLong() - current.loadedAt;
+            if (age < freshNanos) {
+                return Flux.fromIterable(current.top(limit));
+            }
+            if (age < staleNanos) {
+                load(current.limit).subscribe(
+                    loaded -> { },
+                    error -> log.warn("Error recargando el ranking: {}", error.getMessage()));
+                return Flux.fromIterable(current.top(limit));
+            }
+        }
+
+        int target = Math.max(Math.max(limit, minFetch), current != null ? current.limit : 0);
+        Flux<ScoreResponse> loaded = load(Math.min(target, maxLimit)).flatMapIterable(snapshot -> snapshot.top(limit));
+        if (current == null || !current.covers(limit)) {
+            return loaded;
+        }
+        // Supabase caído: mejor un ranking viejo que un error
+        return loaded.onErrorResume(error -> {
+            log.warn("Error recargando el ranking, se sirve el anterior: {}", error.getMessage());
+            return Flux.fromIterable(current.top(limit));
+        });
+    }
+
+    /**
+     * Inserta un score recién guardado en la lista cargada.
+     */
+    public void onScoreSaved(ScoreResponse saved) {
+        saves.incrementAndGet();
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            List<ScoreResponse> scores = current.scores;
+            int position = 0;
+            while (position < scores.size() && ORDER.compare(scores.get(position), saved) <= 0) {
+                position++;
+            }
+            if (position >= current.limit) {
+                // Queda fuera de la lista cargada
+                return;
+            }
+
+            List<ScoreResponse> patched = new ArrayList<>(scores.size() + 1);
+            patched.addAll(scores.subList(0, position));
+            patched.add(saved);
+            patched.addAll(scores.subList(position, Math.min(scores.size(), current.limit - 1)));
+            Snapshot next = new Snapshot(List.copyOf(patched), current.limit, current.loadedAt);
+            if (snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Quita de la lista cargada un score pendiente (sin id) que Supabase
+     * finalmente no guardó.
+     */
+    public void onScoreDropped(ScoreResponse dropped) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            List<ScoreResponse> scores = current.scores;
+            int position = 0;
+            while (position < scores.size() && !isPendingMatch(scores.get(position), dropped)) {
+                position++;
+            }
+            if (position == scores.size()) {
+                return;
+            }
+
+            List<ScoreResponse> patched = new ArrayList<>(scores);
+            patched.remove(position);
+            // Una lista llena deja de cubrir el último puesto, que ahora no se conoce
+            int limit = scores.size() >= current.limit ? current.limit - 1 : current.limit;
+            Snapshot next = new Snapshot(List.copyOf(patched), limit, current.loadedAt);
+            if (snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isPendingMatch(ScoreResponse score, ScoreResponse dropped) {
+        return score.id() == null
+            && score.attempts() == dropped.attempts()
+            && score.timeSeconds() == dropped.timeSeconds()
+            && Objects.equals(score.gameId(), dropped.gameId())
+            && Objects.equals(score.playerName(), dropped.playerName());
+    }
+
+    /**
+     * Descarta la lista cargada; la próxima petición espera una recarga.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    private Mono<Snapshot> load(int limit) {
+        while (true) {
+            Load running = inFlight.get();
+            if (running != null && running.limit >= limit) {
+                return running.result;
+            }
+
+            long savesAtStart = saves.get();
+            Load[] self = new Load[1];
+            Mono<Snapshot> result = loader.apply(limit)
+                .collectList()
+                .map(scores -> publish(scores, limit, savesAtStart))
+                .doFinally(signal -> inFlight.compareAndSet(self[0], null))
+                .cache();
+            self[0] = new Load(limit, result);
+
+            if (inFlight.compareAndSet(running, self[0])) {
+                return result;
+            }
+        }
+    }
+
+    private Snapshot publish(List<ScoreResponse> scores, int limit, long savesAtStart) {
+        long loadedAt = nanoClock.getAsLong();
+        if (saves.get() != savesAtStart) {
+            // Un score guardado durante la consulta puede faltar: servirla, pero como vieja
+            loadedAt -= freshNanos;
+        }
+        Snapshot loaded = new Snapshot(List.copyOf(scores), limit, loadedAt);
+        snapshot.set(loaded);
+        return loaded;
+    }
+}
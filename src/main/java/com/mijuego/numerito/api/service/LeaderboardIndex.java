@@ -0,0 +1,312 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Índice en memoria con los mejores scores, en el orden del ranking
+ * ({@link LeaderboardCache#ORDER}).
+ *
+ * Guarda como máximo {@code capacity} scores en un array ordenado e inmutable:
+ * las lecturas toman la referencia actual sin locks, y cada score guardado
+ * publica un array nuevo con el score en su posición (búsqueda binaria más una
+ * copia de a lo sumo capacity referencias). Los duplicados se detectan en
+ * conjuntos indexados por id, sin recorrer el array.
+ *
+ * Los scores pendientes (escritura diferida o diario, todavía sin id) se
+ * identifican por su partida, jugador, intentos y tiempo: cuando la misma fila
+ * llega con su id, o aparece en una recarga, reemplaza a la pendiente; si su
+ * inserción falla se quita con {@link #onScoreDropped(ScoreResponse)}.
+ *
+ * Se carga desde Supabase al arrancar y se reconcilia periódicamente contra
+ * Supabase para corregir diferencias (scores guardados por otras instancias o
+ * borrados a mano). Los scores guardados mientras una reconciliación está en
+ * curso se vuelven a aplicar sobre el resultado, salvo los pendientes que la
+ * recarga ya trajo. Las escrituras se serializan con un {@link ReentrantLock},
+ * que no fija virtual threads a su carrier.
+ */
+public class LeaderboardIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    private final IntFunction<Flux<ScoreResponse>> loader;
+    private final int capacity;
+    private final Duration reconcileInterval;
+
+    // Scores ordenados; null hasta la primera carga
+    private volatile ScoreResponse[] scores;
+
+    // Guardados durante una reconciliación en curso (acceso con lock)
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<ScoreResponse> savedWhileReconciling;
+
+    // Ids de los scores del array y pendientes sin id por su clave (acceso con lock)
+    private final Set<String> ids = new HashSet<>();
+    private final Map<PendingKey, ScoreResponse> pending = new HashMap<>();
+
+    /**
+     * Identidad de un score sin id: la misma en la respuesta pendiente y en la
+     * fila que después devuelve Supabase.
+     */
+    private record PendingKey(String gameId, String playerName, int attempts, long timeSeconds) {
+
+        static PendingKey of(ScoreResponse score) {
+            return new PendingKey(score.gameId(), score.playerName(), score.attempts(), score.timeSeconds());
+        }
+    }
+
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private ScheduledExecutorService reconciler;
+
+    /**
+     * @param loader consulta del ranking a Supabase para un límite dado
+     * @param capacity cantidad de scores que se mantienen
+     * @param reconcileInterval cada cuánto se recarga desde Supabase
+     */
+    public LeaderboardIndex(IntFunction<Flux<ScoreResponse>> loader, int capacity, Duration reconcileInterval) {
+        this.loader = loader;
+        this.capacity = capacity;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Carga el índice y programa las reconciliaciones en un hilo daemon.
+     */
+    public synchronized void start() {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reconcileInterval.toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    /**
+     * true si el índice ya se cargó y puede responder límites hasta capacity.
+     */
+    public boolean isReady() {
+        return scores != null;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna los primeros {@code limit} scores. Requiere {@link #isReady()}.
+     */
+    public List<ScoreResponse> top(int limit) {
+        ScoreResponse[] current = scores;
+        if (current == null) {
+            throw new IllegalStateException("El índice del ranking todavía no se cargó");
+        }
+        return Arrays.asList(current).subList(0, Math.max(0, Math.min(limit, current.length)));
+    }
+
+    /**
+     * Quita un score pendiente (sin id) cuya inserción en Supabase falló.
+     */
+    public void onScoreDropped(ScoreResponse dropped) {
+        PendingKey key = PendingKey.of(dropped);
+        lock.lock();
+        try {
+            if (savedWhileReconciling != null) {
+                savedWhileReconciling.removeIf(saved -> saved.id() == null && PendingKey.of(saved).equals(key));
+            }
+            ScoreResponse entry = pending.remove(key);
+            ScoreResponse[] current = scores;
+            if (entry != null && current != null) {
+                scores = without(current, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserta un score recién guardado.
+     */
+    public void onScoreSaved(ScoreResponse saved) {
+        lock.lock();
+        try {
+            if (savedWhileReconciling != null) {
+                savedWhileReconciling.add(saved);
+            }
+            ScoreResponse[] current = scores;
+            if (current != null) {
+                scores = insert(current, saved);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Recarga el índice desde Supabase. No hace nada si ya hay una recarga en curso.
+     */
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            savedWhileReconciling = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        loader.apply(capacity)
+            .collectList()
+            // Una consulta colgada no debe bloquear las reconciliaciones siguientes
+            .timeout(reconcileInterval)
+            .doFinally(signal -> reconciling.set(false))
+            .subscribe(
+                this::replace,
+                error -> {
+                    lock.lock();
+                    try {
+                        savedWhileReconciling = null;
+                    } finally {
+                        lock.unlock();
+                    }
+                    log.warn("Error cargando el ranking: {}", error.getMessage());
+                });
+    }
+
+    private void replace(List<ScoreResponse> loaded) {
+        ScoreResponse[] sorted = loaded.stream()
+            .sorted(LeaderboardCache.ORDER)
+            .limit(capacity)
+            .toArray(ScoreResponse[]::new);
+        Set<PendingKey> loadedKeys = new HashSet<>();
+        for (ScoreResponse score : loaded) {
+            loadedKeys.add(PendingKey.of(score));
+        }
+        lock.lock();
+        try {
+            ids.clear();
+            pending.clear();
+            for (ScoreResponse score : sorted) {
+                track(score);
+            }
+            for (ScoreResponse saved : savedWhileReconciling) {
+                // Un pendiente que la recarga ya trajo con su id no se vuelve a agregar
+                if (saved.id() == null && loadedKeys.contains(PendingKey.of(saved))) {
+                    continue;
+                }
+                sorted = insert(sorted, saved);
+            }
+            savedWhileReconciling = null;
+            scores = sorted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Retorna un array nuevo con el score en su posición, sin duplicados. Requiere el lock
+    private ScoreResponse[] insert(ScoreResponse[] current, ScoreResponse saved) {
+        PendingKey key = PendingKey.of(saved);
+        if (saved.id() != null) {
+            if (ids.contains(saved.id())) {
+                return current;
+            }
+            // La misma fila ya guardada: reemplaza a su versión pendiente
+            ScoreResponse flushed = pending.remove(key);
+            if (flushed != null) {
+                current = without(current, flushed);
+            }
+        } else if (pending.containsKey(key)) {
+            return current;
+        }
+
+        int position = upperBound(current, saved);
+        if (position >= capacity) {
+            return current;
+        }
+        if (current.length == capacity) {
+            forget(current[capacity - 1]);
+        }
+        int length = Math.min(current.length + 1, capacity);
+        ScoreResponse[] next = new ScoreResponse[length];
+        System.arraycopy(current, 0, next, 0, position);
+        next[position] = saved;
+        System.arraycopy(current, position, next, position + 1, length - position - 1);
+        track(saved);
+        return next;
+    }
+
+    // Retorna un array nuevo sin esa entrada (la misma referencia), o el mismo si no está
+    private static ScoreResponse[] without(ScoreResponse[] current, ScoreResponse entry) {
+        // Las entradas iguales en el orden del ranking quedan contiguas, justo antes de upperBound
+        int position = upperBound(current, entry) - 1;
+        while (position >= 0 && current[position] != entry
+                && LeaderboardCache.ORDER.compare(current[position], entry) == 0) {
+            position--;
+        }
+        if (position < 0 || current[position] != entry) {
+            return current;
+        }
+        ScoreResponse[] next = new ScoreResponse[current.length - 1];
+        System.arraycopy(current, 0, next, 0, position);
+        System.arraycopy(current, position + 1, next, position, next.length - position);
+        return next;
+    }
+
+    private void track(ScoreResponse score) {
+        if (score.id() != null) {
+            ids.add(score.id());
+        } else {
+            pending.put(PendingKey.of(score), score);
+        }
+    }
+
+    private void forget(ScoreResponse score) {
+        if (score.id() != null) {
+            ids.remove(score.id());
+        } else {
+            pending.remove(PendingKey.of(score), score);
+        }
+    }
+
+    // Primera posición cuyo score va estrictamente después del dado
+    private static int upperBound(ScoreResponse[] sorted, ScoreResponse score) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (LeaderboardCache.ORDER.compare(sorted[middle], score) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
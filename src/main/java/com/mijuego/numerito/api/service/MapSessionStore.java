@@ -0,0 +1,172 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.GameSession;
+import com.mijuego.numerito.exception.InvalidGuessException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de partidas basado en un mapa gameId -> GameSession.
+ *
+ * Es la implementación por defecto: simple, pero cada partida cuesta varios
+ * cientos de bytes entre la clave String, la entrada del mapa y la sesión.
+ *
+ * Con trackCandidates cada sesión sigue además sus secretos compatibles
+ * ({@link com.mijuego.numerito.CandidateSet}).
+ */
+public class MapSessionStore implements SessionStore {
+
+    /**
+     * Sesión con sus marcas de tiempo para la expiración.
+     */
+    private static final class Entry {
+        final GameSession session;
+        final int created;
+        volatile int lastAccess;
+
+        Entry(GameSession session, int now) {
+            this(session, now, now);
+        }
+
+        Entry(GameSession session, int created, int lastAccess) {
+            this.session = session;
+            this.created = created;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    // Mapa thread-safe para almacenar sesiones activas
+    private final Map<String, Entry> activeSessions = new ConcurrentHashMap<>();
+    private final SessionClock clock;
+    private final boolean trackCandidates;
+
+    public MapSessionStore() {
+        this(SessionClock.SYSTEM);
+    }
+
+    public MapSessionStore(SessionClock clock) {
+        this(clock, false);
+    }
+
+    public MapSessionStore(SessionClock clock, boolean trackCandidates) {
+        this.clock = clock;
+        this.trackCandidates = trackCandidates;
+    }
+
+    @Override
+    public String create(int secretIndex) {
+        String gameId = GameIds.random().toString();
+        activeSessions.put(gameId, new Entry(new GameSession(secretIndex, trackCandidates), clock.now()));
+        return gameId;
+    }
+
+    @Override
+    public long guessTracked(String gameId, String guess)
+            throws GameNotFoundException, InvalidGuessException {
+
+        Entry entry = activeSessions.get(gameId);
+        if (entry == null) {
+            throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+        }
+
+        entry.lastAccess = clock.now();
+        return entry.session.guessTracked(guess);
+    }
+
+    @Override
+    public int guessAll(String gameId, int[] guessIndexes, int[] outcomes, int[] reports)
+            throws GameNotFoundException, InvalidGuessException {
+
+        Entry entry = activeSessions.get(gameId);
+        if (entry == null) {
+            throw new GameNotFoundException("Partida con ID " + gameId + " no encontrada");
+        }
+
+        entry.lastAccess = clock.now();
+        return entry.session.guessAll(guessIndexes, outcomes, reports);
+    }
+
+    @Override
+    public GameState find(String gameId) {
+        Entry entry = activeSessions.get(gameId);
+        if (entry == null) {
+            return null;
+        }
+        return new GameState(entry.session.getAttempts(), entry.session.isFinished());
+    }
+
+    @Override
+    public int[] moves(String gameId) {
+        Entry entry = activeSessions.get(gameId);
+        return entry == null ? null : entry.session.getMoves();
+    }
+
+    @Override
+    public boolean remove(String gameId) {
+        return activeSessions.remove(gameId) != null;
+    }
+
+    @Override
+    public int expire(long high, long low, ExpiryPolicy policy, int now, GameArchive archive) {
+        String gameId = GameIds.toString(high, low);
+        Entry entry = activeSessions.get(gameId);
+        if (entry == null) {
+            return ExpiryPolicy.ABSENT;
+        }
+
+        GameSession session = entry.session;
+        int decision = policy.evaluate(now, entry.created, entry.lastAccess, session.isFinished());
+        if (decision >= 0) {
+            return decision;
+        }
+        // Se archiva antes de quitarla: una consulta concurrente siempre la encuentra en uno de los dos
+        if (decision == ExpiryPolicy.ARCHIVE) {
+            archive.add(high, low, session.getAttempts());
+        }
+        if (!activeSessions.remove(gameId, entry)) {
+            // La borraron mientras tanto: no debe reaparecer en el archivo
+            if (decision == ExpiryPolicy.ARCHIVE) {
+                archive.remove(gameId);
+            }
+            return ExpiryPolicy.ABSENT;
+        }
+        return decision;
+    }
+
+    @Override
+    public void forEach(SnapshotVisitor visitor) {
+        int[] moves = new int[16];
+        for (Map.Entry<String, Entry> mapEntry : activeSessions.entrySet()) {
+            String gameId = mapEntry.getKey();
+            Entry entry = mapEntry.getValue();
+            GameSession session = entry.session;
+
+            // Terminada se lee después de los intentos: si lo está, los intentos ya no cambian
+            int attempts = session.getAttempts();
+            boolean finished = session.isFinished();
+            if (finished) {
+                attempts = session.getAttempts();
+            }
+            if (moves.length < attempts) {
+                moves = new int[Math.max(attempts, moves.length * 2)];
+            }
+            int moveCount = session.copyMoves(moves, attempts);
+            visitor.visit(GameIds.high(gameId), GameIds.low(gameId), session.getSecretIndex(), attempts,
+                finished, entry.created, entry.lastAccess, moves, moveCount);
+        }
+    }
+
+    @Override
+    public boolean restore(long high, long low, int secretIndex, int attempts, boolean finished,
+                           int created, int lastAccess, int[] moves, int moveCount) {
+        GameSession session = GameSession.restore(secretIndex, attempts, finished, moves, moveCount,
+            trackCandidates);
+        return activeSessions.putIfAbsent(GameIds.toString(high, low), new Entry(session, created, lastAccess)) == null;
+    }
+
+    @Override
+    public int size() {
+        return activeSessions.size();
+    }
+}
@@ -0,0 +1,570 @@
+package com.mijuego.numerito.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario local de scores, de solo escritura al final y mapeado en memoria.
+ *
+ * Cada score se anota antes de confirmarlo al jugador; si la inserción en
+ * Supabase falla o tarda, una tarea de fondo reenvía las entradas pendientes
+ * en lotes hasta que Supabase las acepta. La entrega es al menos una vez: si
+ * el proceso cae entre la inserción y su confirmación, el score se reenvía.
+ *
+ * Formato del archivo:
+ * - Cabecera de {@value #HEADER_SIZE} bytes: magic, versión, generación y
+ *   offset hasta el que todas las entradas están confirmadas.
+ * - Entradas seguidas: largo del JSON, CRC32C, generación, timestamp, estado
+ *   (pendiente o confirmada) y la fila en JSON tal como se envía a Supabase.
+ * El CRC cubre generación, timestamp y JSON, no el estado, que se reescribe
+ * en su lugar. Al abrir se recorre el archivo hasta la primera entrada
+ * inválida (escritura cortada por una caída) o de otra generación (restos de
+ * antes de una compactación).
+ *
+ * Anotar es una copia a la página mapeada, sin syscalls; el fsync se hace
+ * periódicamente en el hilo de fondo. Cuando todas las entradas están
+ * confirmadas y el archivo pasó la mitad de su capacidad, se vuelve a escribir
+ * desde el principio con una generación nueva.
+ *
+ * El estado del archivo se protege con un {@link ReentrantLock} y no con
+ * synchronized: anotar está en el camino de cada score y, con virtual threads
+ * en Java 21, esperar un monitor fija el virtual thread a su carrier.
+ */
+public class ScoreJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreJournal.class);
+
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x4E4A524E; // "NJRN"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_GENERATION = 8;
+    private static final int HEADER_ACKED = 16;
+
+    // largo, crc, generación, timestamp, estado
+    private static final int ENTRY_HEADER = 4 + 4 + 4 + 8 + 1;
+    private static final int STATE_OFFSET = ENTRY_HEADER - 1;
+
+    private static final byte PENDING = 0;
+    private static final byte ACKED = 1;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() { };
+
+    private final WebClient supabaseClient;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Duration fsyncInterval;
+    private final Duration replayInterval;
+    private final long replayDelayMillis;
+    private final int replayBatch;
+    private final LongSupplier clock;
+
+    // Estado del archivo (acceso con lock)
+    private final ReentrantLock lock = new ReentrantLock();
+    private int generation;
+    private int position;
+    private int ackedOffset;
+    private int pending;
+    private boolean dirty;
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    private volatile Consumer<Map<String, Object>> droppedListener = row -> { };
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder replayFailures = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder full = new LongAdder();
+    private final LongAdder appendNanos = new LongAdder();
+    private final int recovered;
+
+    /**
+     * Abre el diario, creándolo si no existe, y recupera las entradas pendientes.
+     *
+     * @param supabaseClient cliente de la API REST de Supabase
+     * @param path archivo del diario
+     * @param capacity tamaño del archivo en bytes
+     * @param fsyncInterval cada cuánto se fuerzan a disco las escrituras
+     * @param replayInterval cada cuánto se reenvían las entradas pendientes
+     * @param replayDelay antigüedad mínima de una entrada pendiente para reenviarla,
+     *                    para no duplicar una inserción que todavía está en curso
+     * @param replayBatch entradas por reenvío como máximo
+     * @param clock reloj en milisegundos
+     */
+    public ScoreJournal(WebClient supabaseClient, Path path, int capacity, Duration fsyncInterval,
+                        Duration replayInterval, Duration replayDelay, int replayBatch,
+                        LongSupplier clock) throws IOException {
+        this.supabaseClient = supabaseClient;
+        this.fsyncInterval = fsyncInterval;
+        this.replayInterval = replayInterval;
+        this.replayDelayMillis = replayDelay.toMillis();
+        this.replayBatch = replayBatch;
+        this.clock = clock;
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        int size = (int) Math.max(channel.size(), capacity);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.recovered = recover();
+    }
+
+    // Valida la cabecera y busca el final de las entradas válidas
+    private int recover() {
+        lock.lock();
+        try {
+            return recoverLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int recoverLocked() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(HEADER_GENERATION, 1);
+            buffer.putInt(HEADER_ACKED, HEADER_SIZE);
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.force();
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Versión de diario de scores no soportada: " + buffer.getInt(4));
+        }
+
+        generation = buffer.getInt(HEADER_GENERATION);
+        ackedOffset = buffer.getInt(HEADER_ACKED);
+        position = ackedOffset;
+        pending = 0;
+        while (true) {
+            int length = validLength(position);
+            if (length < 0) {
+                break;
+            }
+            if (buffer.get(position + STATE_OFFSET) == PENDING) {
+                pending++;
+            }
+            position += ENTRY_HEADER + length;
+        }
+        // Lo que sigue es basura de una escritura cortada o de otra generación
+        if (position + 4 <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+        return pending;
+    }
+
+    // Largo del JSON de la entrada en offset, o -1 si no hay una entrada válida
+    private int validLength(int offset) {
+        if (offset + ENTRY_HEADER > buffer.capacity()) {
+            return -1;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + ENTRY_HEADER + length > buffer.capacity()) {
+            return -1;
+        }
+        if (buffer.getInt(offset + 8) != generation) {
+            return -1;
+        }
+        return checksum(offset, length) == buffer.getInt(offset + 4) ? length : -1;
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + STATE_OFFSET).position(offset + 8);
+        crc.update(view);
+        view.limit(offset + ENTRY_HEADER + length).position(offset + ENTRY_HEADER);
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Registra a quién avisar por cada fila que Supabase rechazó al reenviarla.
+     */
+    public void onDropped(Consumer<Map<String, Object>> listener) {
+        this.droppedListener = listener;
+    }
+
+    /**
+     * Arranca el fsync periódico y el reenvío de pendientes en un hilo daemon.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync, fsyncInterval.toMillis(), fsyncInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::replay, 0, replayInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+        channel.close();
+    }
+
+    /**
+     * Anota una fila de la tabla scores como pendiente.
+     *
+     * @return identificador de la entrada para {@link #acknowledge(long)}, o -1 si
+     *         el diario está lleno
+     */
+    public long append(Map<String, Object> row) {
+        byte[] json;
+        try {
+            json = JSON.writeValueAsBytes(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Score no serializable", e);
+        }
+
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            int end = position + ENTRY_HEADER + json.length;
+            // Siempre queda lugar para el 0 que marca el final
+            if (end + 4 > buffer.capacity()) {
+                full.increment();
+                return -1;
+            }
+            int offset = position;
+            buffer.putInt(offset + 8, generation);
+            buffer.putLong(offset + 12, clock.getAsLong());
+            buffer.put(offset + STATE_OFFSET, PENDING);
+            buffer.put(offset + ENTRY_HEADER, json);
+            buffer.putInt(end, 0);
+            buffer.putInt(offset + 4, checksum(offset, json.length));
+            // El largo va último: hasta acá la entrada no existe para recover()
+            buffer.putInt(offset, json.length);
+            position = end;
+            pending++;
+            dirty = true;
+            appended.increment();
+            appendNanos.add(System.nanoTime() - start);
+            return entryId(generation, offset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca una entrada como guardada en Supabase.
+     */
+    public void acknowledge(long entry) {
+        if (markDone(entry)) {
+            acknowledged.increment();
+        }
+    }
+
+    /**
+     * Descarta una entrada que Supabase rechazó de forma definitiva (4xx): no
+     * se reenvía.
+     */
+    public void discard(long entry) {
+        if (markDone(entry)) {
+            discarded.increment();
+        }
+    }
+
+    // Marca la entrada como confirmada; false si ya no estaba pendiente
+    private boolean markDone(long entry) {
+        lock.lock();
+        try {
+            if (entry < 0 || (int) (entry >>> 32) != generation) {
+                return false;
+            }
+            int offset = (int) entry;
+            if (buffer.get(offset + STATE_OFFSET) != PENDING) {
+                return false;
+            }
+            buffer.put(offset + STATE_OFFSET, ACKED);
+            pending--;
+            dirty = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acknowledgeAll(List<Long> entries) {
+        lock.lock();
+        try {
+            entries.forEach(this::acknowledge);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long entryId(int generation, int offset) {
+        return ((long) generation << 32) | offset;
+    }
+
+    /**
+     * Reenvía a Supabase un lote de entradas pendientes. No hace nada si ya hay
+     * un reenvío en curso.
+     *
+     * Si Supabase rechaza el lote (4xx), se reenvía cada mitad por separado
+     * hasta aislar las entradas rechazadas: solo esas se descartan, para que
+     * una fila inválida no se lleve consigo al resto del lote.
+     */
+    public void replay() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        List<Long> entries;
+        lock.lock();
+        try {
+            entries = collectPending();
+        } finally {
+            lock.unlock();
+        }
+        if (entries.isEmpty()) {
+            replaying.set(false);
+            compactIfIdle();
+            return;
+        }
+
+        send(entries)
+            .doFinally(signal -> replaying.set(false))
+            .subscribe(
+                done -> { },
+                error -> {
+                    replayFailures.increment();
+                    log.warn("Error reenviando {} scores del diario: {}", entries.size(), error.getMessage());
+                },
+                this::compactIfIdle);
+    }
+
+    private Mono<Void> send(List<Long> entries) {
+        byte[] body;
+        lock.lock();
+        try {
+            body = body(entries);
+        } finally {
+            lock.unlock();
+        }
+        return supabaseClient.post()
+            .uri("/scores")
+            .header("Prefer", "return=minimal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(replayInterval.multipliedBy(10))
+            .doOnSuccess(response -> {
+                acknowledgeAll(entries);
+                replayed.add(entries.size());
+            })
+            .then()
+            .onErrorResume(ScoreJournal::isRejected, error -> {
+                if (entries.size() > 1) {
+                    int half = entries.size() / 2;
+                    return send(entries.subList(0, half)).then(send(entries.subList(half, entries.size())));
+                }
+                // Supabase no la va a aceptar nunca: reenviarla bloquearía el diario
+                if (markDone(entries.get(0))) {
+                    discarded.increment();
+                    log.error("Supabase rechazó un score del diario, se descarta: {}", error.getMessage());
+                    notifyDropped(body);
+                }
+                return Mono.empty();
+            });
+    }
+
+    private void notifyDropped(byte[] body) {
+        try {
+            for (Map<String, Object> row : JSON.readValue(body, ROWS)) {
+                droppedListener.accept(row);
+            }
+        } catch (IOException e) {
+            log.error("Error leyendo los scores descartados del diario", e);
+        }
+    }
+
+    // 4xx salvo 429: el lote es inválido, no un problema pasajero
+    private static boolean isRejected(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is4xxClientError() && response.getStatusCode().value() != 429;
+        }
+        return false;
+    }
+
+    // Junta hasta replayBatch entradas pendientes
+    private List<Long> collectPending() {
+        List<Long> entries = new ArrayList<>();
+        long cutoff = clock.getAsLong() - replayDelayMillis;
+        for (int offset = ackedOffset; offset < position && entries.size() < replayBatch; ) {
+            int length = buffer.getInt(offset);
+            if (buffer.get(offset + STATE_OFFSET) == PENDING && buffer.getLong(offset + 12) <= cutoff) {
+                entries.add(entryId(generation, offset));
+            }
+            offset += ENTRY_HEADER + length;
+        }
+        return entries;
+    }
+
+    // Arma un array JSON con las filas de las entradas
+    private byte[] body(List<Long> entries) {
+        int size = 2;
+        for (long entry : entries) {
+            size += buffer.getInt((int) entry) + 1;
+        }
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.put((byte) '[');
+        for (long entry : entries) {
+            int offset = (int) entry;
+            if (body.position() > 1) {
+                body.put((byte) ',');
+            }
+            body.put(buffer.slice(offset + ENTRY_HEADER, buffer.getInt(offset)));
+        }
+        body.put((byte) ']');
+        return Arrays.copyOf(body.array(), body.position());
+    }
+
+    // Avanza el offset confirmado y, si no queda nada pendiente, reinicia el archivo
+    private void compactIfIdle() {
+        lock.lock();
+        try {
+            while (ackedOffset < position && buffer.get(ackedOffset + STATE_OFFSET) == ACKED) {
+                ackedOffset += ENTRY_HEADER + buffer.getInt(ackedOffset);
+            }
+            if (ackedOffset == position && position > buffer.capacity() / 2) {
+                generation++;
+                position = HEADER_SIZE;
+                ackedOffset = HEADER_SIZE;
+                buffer.putInt(HEADER_SIZE, 0);
+                buffer.putInt(HEADER_GENERATION, generation);
+            }
+            if (buffer.getInt(HEADER_ACKED) != ackedOffset) {
+                buffer.putInt(HEADER_ACKED, ackedOffset);
+                dirty = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fuerza a disco las escrituras hechas desde el último fsync.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        buffer.force();
+    }
+
+    public int getPending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getUsedBytes() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Entradas pendientes encontradas al abrir el diario.
+     */
+    public int getRecoveredCount() {
+        return recovered;
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    public long getAcknowledgedCount() {
+        return acknowledged.sum();
+    }
+
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    public long getReplayFailureCount() {
+        return replayFailures.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getFullCount() {
+        return full.sum();
+    }
+
+    /**
+     * Duración media de una anotación, en microsegundos.
+     */
+    public double getAverageAppendMicros() {
+        long count = appended.sum();
+        return count == 0 ? 0 : appendNanos.sum() / 1e3 / count;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Excepción lanzada cuando la cola de escritura diferida de scores está llena.
+ */
+public class ScoreQueueFullException extends RuntimeException {
+
+    public ScoreQueueFullException(String message) {
+        super(message);
+    }
+}
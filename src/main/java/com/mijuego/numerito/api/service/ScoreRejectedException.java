@@ -0,0 +1,12 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Excepción lanzada cuando Supabase rechaza un score de forma definitiva
+ * (respuesta 4xx salvo 429): reintentarlo no cambiaría el resultado.
+ */
+public class ScoreRejectedException extends RuntimeException {
+
+    public ScoreRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,23 +2,89 @@ package com.mijuego.numerito.api.service;
 
 import com.mijuego.numerito.api.dto.SaveScoreRequest;
 import com.mijuego.numerito.api.dto.ScoreResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class ScoreService {
 
+        private static final Logger log = LoggerFactory.getLogger(ScoreService.class);
+
         private final WebClient supabaseClient;
+        private final LeaderboardCache leaderboard;
+        private final LeaderboardIndex leaderboardIndex;
+        private final ScoreWriteBehind writeBehind;
+        private final ScoreJournal journal;
+        private final DailyChallenge daily;
+        private final Duration journalInsertTimeout;
 
-        public ScoreService(@Qualifier("supabaseWebClient") WebClient supabaseClient) {
+        public ScoreService(@Qualifier("supabaseWebClient") WebClient supabaseClient,
+                        Optional<ScoreWriteBehind> writeBehind,
+                        Optional<ScoreJournal> journal,
+                        DailyChallenge daily,
+                        @Value("${numerito.scores.journal.insert-timeout:2s}") Duration journalInsertTimeout,
+                        @Value("${numerito.leaderboard.fresh-ttl:5s}") Duration freshTtl,
+                        @Value("${numerito.leaderboard.stale-ttl:60s}") Duration staleTtl,
+                        @Value("${numerito.leaderboard.min-fetch:100}") int minFetch,
+                        @Value("${numerito.leaderboard.max-limit:1000}") int maxLimit,
+                        @Value("${numerito.leaderboard.index-capacity:1000}") int indexCapacity,
+                        @Value("${numerito.leaderboard.reconcile-interval:5m}") Duration reconcileInterval) {
                 this.supabaseClient = supabaseClient;
+                this.writeBehind = writeBehind.orElse(null);
+                this.journal = journal.orElse(null);
+                this.daily = daily;
+                this.journalInsertTimeout = journalInsertTimeout;
+                this.leaderboard = new LeaderboardCache(this::fetchTopScores, freshTtl.toNanos(),
+                                staleTtl.toNanos(), minFetch, maxLimit, System::nanoTime);
+                this.leaderboardIndex = indexCapacity > 0
+                                ? new LeaderboardIndex(this::fetchTopScores, indexCapacity, reconcileInterval)
+                                : null;
+                if (this.writeBehind != null) {
+                        this.writeBehind.onDropped(this::onScoreDropped);
+                }
+                if (this.journal != null) {
+                        this.journal.onDropped(this::onScoreDropped);
+                }
+        }
+
+        @PostConstruct
+        void startLeaderboardIndex() {
+                if (leaderboardIndex != null) {
+                        leaderboardIndex.start();
+                }
+        }
+
+        @PreDestroy
+        void stopLeaderboardIndex() {
+                if (leaderboardIndex != null) {
+                        leaderboardIndex.stop();
+                }
         }
 
+        /**
+         * Guarda un score en Supabase.
+         *
+         * Con escritura diferida, o con el diario activo y Supabase caído o lento,
+         * el score se confirma sin id: queda pendiente y se inserta más tarde.
+         * Si Supabase lo rechaza (4xx salvo 429) falla con
+         * {@link ScoreRejectedException} y, con el diario, se descarta su entrada.
+         */
         public Mono<ScoreResponse> saveScore(SaveScoreRequest request) {
                 // Map DTO fields to Supabase column names
                 Map<String, Object> body = Map.of(
@@ -27,26 +93,112 @@ public class ScoreService {
                                 "time_seconds", request.timeSeconds(),
                                 "game_id", request.gameId() != null ? request.gameId() : "");
 
+                if (writeBehind != null) {
+                        return acceptForWriteBehind(request, body);
+                }
+
+                long entry = journal != null ? journal.append(body) : -1;
+                Mono<ScoreResponse> insert = insertScore(body);
+                if (entry < 0) {
+                        return insert.doOnNext(this::onScoreSaved);
+                }
+                return insert
+                                .timeout(journalInsertTimeout)
+                                .doOnNext(saved -> journal.acknowledge(entry))
+                                .doOnNext(this::onScoreSaved)
+                                // Ya está en el diario: se reenvía cuando Supabase responda
+                                .onErrorResume(ScoreService::isTransient, e -> {
+                                        log.warn("Score pendiente en el diario: {}", e.toString());
+                                        return Mono.just(accept(request, body));
+                                })
+                                // Rechazo definitivo: reenviarlo daría el mismo error
+                                .doOnError(e -> journal.discard(entry));
+        }
+
+        // Fallas que pueden pasar solas: timeout, conexión, 5xx, 429 o circuito abierto
+        private static boolean isTransient(Throwable error) {
+                if (error instanceof TimeoutException
+                                || error instanceof SupabaseUnavailableException
+                                || error instanceof WebClientRequestException) {
+                        return true;
+                }
+                if (error instanceof WebClientResponseException response) {
+                        return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+                }
+                return false;
+        }
+
+        private Mono<ScoreResponse> insertScore(Map<String, Object> body) {
                 return supabaseClient.post()
                                 .uri("/scores")
                                 .header("Prefer", "return=representation")
                                 .bodyValue(body)
                                 .retrieve()
-                                .onStatus(status -> status.isError(), response -> response.bodyToMono(String.class)
-                                                .flatMap(errorBody -> {
-                                                        System.err.println("❌ Supabase Error: " + response.statusCode()
-                                                                        + " - " + errorBody);
-                                                        return Mono.error(
-                                                                        new RuntimeException("Supabase Error: "
-                                                                                        + response.statusCode() + " "
-                                                                                        + errorBody));
+                                .onStatus(status -> status.isError(), response -> response.createException()
+                                                .map(error -> {
+                                                        log.error("Supabase respondió {} al guardar un score: {}",
+                                                                        error.getStatusCode().value(),
+                                                                        error.getResponseBodyAsString());
+                                                        return isTransient(error) ? error
+                                                                        : new ScoreRejectedException(
+                                                                                        "Supabase rechazó el score", error);
                                                 }))
                                 .bodyToFlux(ScoreResponse.class)
                                 .next()
-                                .doOnError(e -> System.err.println("❌ Error saving score: " + e.getMessage()));
+                                .doOnError(e -> log.error("Error guardando el score: {}", e.toString()));
         }
 
+        // El score se confirma al encolarlo; todavía no tiene id de Supabase
+        private Mono<ScoreResponse> acceptForWriteBehind(SaveScoreRequest request, Map<String, Object> body) {
+                if (!writeBehind.offer(body)) {
+                        return Mono.error(new ScoreQueueFullException(
+                                        "Demasiados scores pendientes, intenta de nuevo en unos segundos"));
+                }
+                return Mono.just(accept(request, body));
+        }
+
+        // Score pendiente de insertar: sin id y con la hora local como createdAt
+        private ScoreResponse accept(SaveScoreRequest request, Map<String, Object> body) {
+                ScoreResponse accepted = new ScoreResponse(null, request.playerName(), request.attempts(),
+                                (String) body.get("game_id"), request.timeSeconds(), Instant.now().toString());
+                onScoreSaved(accepted);
+                return accepted;
+        }
+
+        /**
+         * Ranking ordenado por intentos y tiempo.
+         *
+         * Se sirve desde {@link LeaderboardIndex} cuando ya está cargado y el límite
+         * entra en su capacidad; si no, desde {@link LeaderboardCache}.
+         */
         public Flux<ScoreResponse> getTopScores(int limit) {
+                if (leaderboardIndex != null && leaderboardIndex.isReady() && limit <= leaderboardIndex.capacity()) {
+                        return Flux.fromIterable(leaderboardIndex.top(limit));
+                }
+                return leaderboard.getTopScores(limit);
+        }
+
+        private void onScoreSaved(ScoreResponse saved) {
+                leaderboard.onScoreSaved(saved);
+                if (leaderboardIndex != null) {
+                        leaderboardIndex.onScoreSaved(saved);
+                }
+                daily.onScoreSaved(saved);
+        }
+
+        // Un score confirmado como pendiente que finalmente no se guardó sale de los rankings
+        private void onScoreDropped(Map<String, Object> row) {
+                ScoreResponse dropped = new ScoreResponse(null, (String) row.get("player_name"),
+                                ((Number) row.get("attempts")).intValue(), (String) row.get("game_id"),
+                                ((Number) row.get("time_seconds")).longValue(), null);
+                leaderboard.onScoreDropped(dropped);
+                if (leaderboardIndex != null) {
+                        leaderboardIndex.onScoreDropped(dropped);
+                }
+                daily.onScoreDropped(dropped);
+        }
+
+        private Flux<ScoreResponse> fetchTopScores(int limit) {
                 return supabaseClient.get()
                                 .uri(uriBuilder -> uriBuilder
                                                 .path("/scores")
@@ -0,0 +1,266 @@
+package com.mijuego.numerito.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Escritura diferida de scores a Supabase (write-behind).
+ *
+ * {@link #offer(Map)} deja la fila en una cola acotada y retorna enseguida; un
+ * hilo de fondo junta filas en lotes y las inserta con un único POST de un
+ * array JSON (inserción masiva de PostgREST). Un lote se envía al llegar a
+ * batchSize filas o al pasar flushInterval desde la primera fila del lote.
+ *
+ * Si la cola está llena, offer retorna false y el llamador debe rechazar el
+ * score (backpressure). Los scores ya aceptados no se descartan por una caída
+ * de Supabase: ante errores de red, 5xx o 429 el lote se reintenta sin límite,
+ * con backoff exponencial acotado por maxBackoff y jitter, mientras las filas
+ * nuevas esperan en la cola. Si Supabase rechaza un lote con otro 4xx, este
+ * se parte en mitades hasta aislar las filas rechazadas: solo esas se
+ * descartan, se cuentan como fallidas y se informan a {@link #onDropped(Consumer)}.
+ */
+public class ScoreWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreWriteBehind.class);
+
+    // Espera máxima entre comprobaciones de stop()
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final WebClient supabaseClient;
+    private final BlockingQueue<Map<String, Object>> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final long retryBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean running;
+    private Thread flusher;
+    private volatile Consumer<Map<String, Object>> droppedListener = row -> { };
+
+    /**
+     * @param supabaseClient cliente de la API REST de Supabase
+     * @param queueCapacity filas pendientes como máximo
+     * @param batchSize filas por lote como máximo
+     * @param flushInterval espera máxima desde la primera fila de un lote
+     * @param retryBackoff espera antes del primer reintento (se duplica en cada uno)
+     * @param maxBackoff espera máxima entre reintentos
+     */
+    public ScoreWriteBehind(WebClient supabaseClient, int queueCapacity, int batchSize,
+                            Duration flushInterval, Duration retryBackoff, Duration maxBackoff) {
+        this.supabaseClient = supabaseClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(retryBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Registra a quién avisar por cada fila que Supabase rechaza.
+     */
+    public void onDropped(Consumer<Map<String, Object>> listener) {
+        this.droppedListener = listener;
+    }
+
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "score-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Detiene el hilo de fondo después de enviar las filas pendientes.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        flusher = null;
+    }
+
+    /**
+     * Encola una fila de la tabla scores.
+     *
+     * @return false si la cola está llena
+     */
+    public boolean offer(Map<String, Object> row) {
+        if (queue.offer(row)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void run() {
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        long intervalNanos = flushInterval.toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                Map<String, Object> first = queue.poll(Math.min(intervalNanos, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Completar el lote hasta batchSize o hasta que venza el intervalo;
+                // al detenerse se envía lo que haya sin esperar
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Map<String, Object> next = queue.poll(Math.min(remaining, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Map<String, Object>> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            send(batch);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            batches.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulate(elapsed);
+        }
+    }
+
+    // Envía el lote hasta que Supabase lo acepte; si lo rechaza, reenvía cada mitad por separado
+    private void send(List<Map<String, Object>> batch) throws InterruptedException {
+        long backoff = retryBackoffNanos;
+        while (true) {
+            try {
+                supabaseClient.post()
+                    .uri("/scores")
+                    .header("Prefer", "return=minimal")
+                    .bodyValue(List.copyOf(batch))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block();
+                flushed.add(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    if (batch.size() == 1) {
+                        rejected(batch.get(0), e);
+                        return;
+                    }
+                    int half = batch.size() / 2;
+                    send(batch.subList(0, half));
+                    send(batch.subList(half, batch.size()));
+                    return;
+                }
+                retries.increment();
+                log.warn("Supabase no respondió al guardar {} scores, se reintenta: {}", batch.size(), e.getMessage());
+                TimeUnit.NANOSECONDS.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                backoff = Math.min(backoff * 2, maxBackoffNanos);
+            }
+        }
+    }
+
+    private void rejected(Map<String, Object> row, RuntimeException e) {
+        failed.increment();
+        log.error("Supabase rechazó un score, se descarta: {}", e.getMessage());
+        droppedListener.accept(row);
+    }
+
+    // Errores de red, 5xx y 429 se reintentan; otro 4xx fallaría igual
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return true;
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Tamaño medio de los lotes enviados.
+     */
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) (flushed.sum() + failed.sum()) / count;
+    }
+
+    /**
+     * Duración media de un envío, reintentos incluidos, en milisegundos.
+     */
+    public double getAverageFlushMillis() {
+        long count = batches.sum();
+        return count == 0 ? 0 : flushNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1e6;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Reloj de baja resolución para las marcas de tiempo de las partidas.
+ *
+ * Cuenta segundos desde el 2024-01-01T00:00:00Z, lo que cabe en un int hasta
+ * 2092 y permite guardar las marcas como un int por partida.
+ */
+@FunctionalInterface
+public interface SessionClock {
+
+    long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    SessionClock SYSTEM = () -> (int) ((System.currentTimeMillis() - EPOCH_MILLIS) / 1000);
+
+    /**
+     * Segundos transcurridos desde la época del reloj.
+     */
+    int now();
+}
@@ -0,0 +1,156 @@
+package com.mijuego.numerito.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expiración de partidas activas y archivo de las ganadas.
+ *
+ * Cada partida creada se programa en una {@link ExpiryWheel}; un único hilo
+ * de fondo avanza la rueda una vez por segundo y, para cada entrada vencida,
+ * le pide al {@link SessionStore} que aplique la {@link ExpiryPolicy}:
+ * descartar partidas abandonadas (TTL de inactividad), descartar las que
+ * superan la vida máxima (TTL absoluto) o archivar las ganadas en el
+ * {@link GameArchive}.
+ */
+public class SessionExpiry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionExpiry.class);
+
+    private static final int WHEEL_SIZE = 1024;
+
+    private final SessionStore store;
+    private final ExpiryPolicy policy;
+    private final GameArchive archive;
+    private final SessionClock clock;
+    private final ExpiryWheel wheel;
+
+    private final LongAdder evictedIdle = new LongAdder();
+    private final LongAdder evictedMaxTtl = new LongAdder();
+    private final LongAdder archived = new LongAdder();
+
+    private ScheduledExecutorService sweeper;
+
+    public SessionExpiry(SessionStore store, ExpiryPolicy policy, GameArchive archive, SessionClock clock) {
+        this.store = store;
+        this.policy = policy;
+        this.archive = archive;
+        this.clock = clock;
+        this.wheel = new ExpiryWheel(WHEEL_SIZE, clock.now());
+    }
+
+    /**
+     * Inicia el barrido periódico en un hilo daemon.
+     */
+    public synchronized void start() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Programa la primera revisión de una partida recién creada.
+     */
+    public void track(String gameId) {
+        wheel.schedule(GameIds.high(gameId), GameIds.low(gameId), policy.firstCheck(clock.now()));
+    }
+
+    /**
+     * Programa la revisión de una partida a partir de su clave, por ejemplo al
+     * restaurarla de un snapshot. Se revisa en el próximo segundo y la política
+     * decide con sus marcas de tiempo originales, así que el tiempo fuera de
+     * servicio cuenta como inactividad.
+     */
+    public void track(long high, long low) {
+        wheel.schedule(high, low, clock.now() + 1);
+    }
+
+    /**
+     * Programa el archivo de una partida recién ganada, pasado finished-ttl.
+     * La revisión de vencimiento que ya tenía encontrará la partida archivada
+     * y se descartará.
+     */
+    public void trackFinished(String gameId) {
+        wheel.schedule(GameIds.high(gameId), GameIds.low(gameId), policy.archiveCheck(clock.now()));
+    }
+
+    /**
+     * Procesa las entradas vencidas hasta el instante actual.
+     *
+     * @return cantidad de partidas revisadas
+     */
+    public int sweep() {
+        return wheel.advance(clock.now(), this::expire);
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Un error puntual no debe detener el barrido periódico
+            log.error("Error expirando partidas", e);
+        }
+    }
+
+    private int expire(long high, long low, int now) {
+        int result = store.expire(high, low, policy, now, archive);
+        switch (result) {
+            case ExpiryPolicy.EVICT_IDLE -> evictedIdle.increment();
+            case ExpiryPolicy.EVICT_MAX -> evictedMaxTtl.increment();
+            case ExpiryPolicy.ARCHIVE -> archived.increment();
+            default -> {
+                // Sigue activa (próxima revisión) o ya no existe
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retorna la cantidad de intentos de una partida archivada, o -1 si no está archivada.
+     */
+    public int findArchived(String gameId) {
+        return archive.find(gameId);
+    }
+
+    public boolean removeArchived(String gameId) {
+        return archive.remove(gameId);
+    }
+
+    public int getArchivedGamesCount() {
+        return archive.size();
+    }
+
+    public long getEvictedIdleCount() {
+        return evictedIdle.sum();
+    }
+
+    public long getEvictedMaxTtlCount() {
+        return evictedMaxTtl.sum();
+    }
+
+    public long getArchivedCount() {
+        return archived.sum();
+    }
+
+    public long getPendingChecks() {
+        return wheel.pending();
+    }
+}
@@ -0,0 +1,310 @@
+package com.mijuego.numerito.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshots de las partidas activas en un archivo binario compacto, para que
+ * un reinicio o un deploy no las pierda.
+ *
+ * Al arrancar se restaura el último snapshot antes de que el servidor acepte
+ * peticiones; después se escribe uno nuevo cada interval y otro al detenerse.
+ *
+ * La escritura recorre el almacén con {@link SessionStore#forEach}, que no
+ * detiene los intentos, y vuelca los registros en orden a un archivo temporal
+ * que al terminar reemplaza al anterior con un rename atómico: una caída a
+ * mitad de escritura deja el snapshot previo intacto. La lectura mapea el
+ * archivo en memoria y valida un CRC32C del contenido antes de restaurar nada.
+ *
+ * Formato: cabecera de {@value #HEADER_SIZE} bytes (magic, versión, instante
+ * de escritura, cantidad de partidas, largo y CRC del contenido) seguida de un
+ * registro por partida: gameId (dos long), secreto, intentos y terminada,
+ * creación, último acceso, cantidad de jugadas y las jugadas.
+ */
+public class SessionSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionSnapshots.class);
+
+    static final int HEADER_SIZE = 32;
+
+    private static final int MAGIC = 0x4E534E50; // "NSNP"
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final SessionStore store;
+    private final SessionExpiry expiry;
+    private final Path path;
+    private final Duration interval;
+
+    private ScheduledExecutorService writer;
+
+    private volatile int restoredCount;
+    private volatile long restoreMillis;
+    private volatile int lastWrittenCount;
+    private volatile long lastWriteMillis;
+    private volatile long lastWriteBytes;
+    private volatile long lastWrittenAt;
+
+    /**
+     * @param store almacén de partidas activas
+     * @param expiry expiración, para programar las partidas restauradas
+     * @param path archivo del snapshot
+     * @param interval cada cuánto se escribe un snapshot
+     */
+    public SessionSnapshots(SessionStore store, SessionExpiry expiry, Path path, Duration interval) {
+        this.store = store;
+        this.expiry = expiry;
+        this.path = path;
+        this.interval = interval;
+    }
+
+    /**
+     * Restaura el último snapshot y programa los siguientes en un hilo daemon.
+     */
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        try {
+            restore();
+        } catch (IOException | RuntimeException e) {
+            // Un snapshot ilegible no debe impedir arrancar: se empieza sin partidas
+            log.error("Error restaurando partidas de {}", path, e);
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        writer.scheduleWithFixedDelay(this::writeSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene los snapshots periódicos y escribe uno final.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(30, TimeUnit.SECONDS);
+        writer = null;
+        writeSafely();
+    }
+
+    private void writeSafely() {
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error escribiendo el snapshot de partidas", e);
+        }
+    }
+
+    /**
+     * Escribe un snapshot de las partidas activas.
+     *
+     * @return cantidad de partidas escritas
+     */
+    public synchronized int write() throws IOException {
+        long start = System.nanoTime();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        int count;
+        long bodyLength;
+        int crc;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter records = new RecordWriter(channel);
+            try {
+                store.forEach(records);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            records.flush();
+            count = records.count;
+            bodyLength = records.bytes;
+            crc = (int) records.crc.getValue();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(System.currentTimeMillis())
+                .putInt(count)
+                .putInt(crc)
+                .putLong(bodyLength)
+                .flip();
+            channel.write(header, 0);
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        lastWrittenCount = count;
+        lastWriteBytes = HEADER_SIZE + bodyLength;
+        lastWriteMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastWrittenAt = System.currentTimeMillis();
+        return count;
+    }
+
+    /**
+     * Restaura las partidas del snapshot, si existe.
+     *
+     * @return cantidad de partidas restauradas
+     * @throws IOException si el archivo no se puede leer o está dañado
+     */
+    public int restore() throws IOException {
+        long start = System.nanoTime();
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Snapshot incompleto: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("El archivo no es un snapshot de partidas de esta versión");
+            }
+            int count = buffer.getInt(16);
+            int crc = buffer.getInt(20);
+            long bodyLength = buffer.getLong(24);
+            if (HEADER_SIZE + bodyLength != channel.size()) {
+                throw new IOException("Snapshot incompleto: se esperaban " + (HEADER_SIZE + bodyLength) + " bytes");
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(HEADER_SIZE, (int) bodyLength));
+            if ((int) checksum.getValue() != crc) {
+                throw new IOException("Snapshot dañado: el CRC no coincide");
+            }
+
+            buffer.position(HEADER_SIZE);
+            int[] moves = new int[16];
+            for (int i = 0; i < count; i++) {
+                long high = buffer.getLong();
+                long low = buffer.getLong();
+                int secretIndex = buffer.getShort();
+                int state = buffer.getInt();
+                int created = buffer.getInt();
+                int lastAccess = buffer.getInt();
+                int moveCount = buffer.getInt();
+                if (moves.length < moveCount) {
+                    moves = new int[Math.max(moveCount, moves.length * 2)];
+                }
+                for (int move = 0; move < moveCount; move++) {
+                    moves[move] = buffer.getInt();
+                }
+
+                if (store.restore(high, low, secretIndex, state >>> 1, (state & 1) != 0, created, lastAccess,
+                        moves, moveCount)) {
+                    expiry.track(high, low);
+                    restored++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        restoredCount = restored;
+        restoreMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return restored;
+    }
+
+    /**
+     * Vuelca los registros a un buffer y el buffer al archivo cuando se llena,
+     * calculando el CRC sobre la marcha.
+     */
+    private static final class RecordWriter implements SessionStore.SnapshotVisitor {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private int count;
+        private long bytes;
+
+        RecordWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        @Override
+        public void visit(long high, long low, int secretIndex, int attempts, boolean finished,
+                          int created, int lastAccess, int[] moves, int moveCount) {
+            int size = 8 + 8 + 2 + 4 + 4 + 4 + 4 + moveCount * Integer.BYTES;
+            try {
+                if (buffer.remaining() < size) {
+                    flush();
+                }
+                if (buffer.remaining() < size) {
+                    throw new IOException("Partida con demasiadas jugadas para el snapshot: " + moveCount);
+                }
+                buffer.putLong(high)
+                    .putLong(low)
+                    .putShort((short) secretIndex)
+                    .putInt((attempts << 1) | (finished ? 1 : 0))
+                    .putInt(created)
+                    .putInt(lastAccess)
+                    .putInt(moveCount);
+                for (int i = 0; i < moveCount; i++) {
+                    buffer.putInt(moves[i]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            bytes += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    public int getRestoredCount() {
+        return restoredCount;
+    }
+
+    public long getRestoreMillis() {
+        return restoreMillis;
+    }
+
+    public int getLastWrittenCount() {
+        return lastWrittenCount;
+    }
+
+    public long getLastWriteMillis() {
+        return lastWriteMillis;
+    }
+
+    public long getLastWriteBytes() {
+        return lastWriteBytes;
+    }
+
+    /**
+     * Instante del último snapshot escrito (epoch millis), o 0 si todavía no hubo.
+     */
+    public long getLastWrittenAt() {
+        return lastWrittenAt;
+    }
+}
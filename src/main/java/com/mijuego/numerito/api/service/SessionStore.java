@@ -0,0 +1,145 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.exception.InvalidGuessException;
+
+/**
+ * Almacén de partidas activas usado por {@link GameService}.
+ *
+ * Las implementaciones deben ser thread-safe: varias peticiones pueden operar
+ * a la vez sobre la misma partida o sobre partidas distintas.
+ *
+ * Implementaciones disponibles (propiedad numerito.sessions.store):
+ * - map: {@link MapSessionStore}, un GameSession por partida
+ * - compact: {@link CompactSessionStore}, estado primitivo en arrays por slot
+ */
+public interface SessionStore {
+
+    /**
+     * Recibe las partidas recorridas por {@link #forEach(SnapshotVisitor)}.
+     */
+    @FunctionalInterface
+    interface SnapshotVisitor {
+
+        /**
+         * @param high mitad alta del gameId
+         * @param low mitad baja del gameId
+         * @param secretIndex índice del secreto según CodeIndex
+         * @param attempts intentos realizados
+         * @param finished true si la partida terminó
+         * @param created instante de creación según {@link SessionClock}
+         * @param lastAccess instante del último intento según {@link SessionClock}
+         * @param moves jugadas según {@link com.mijuego.numerito.MoveHistory}; el array
+         *              se reutiliza entre llamadas
+         * @param moveCount cantidad de jugadas válidas en moves
+         */
+        void visit(long high, long low, int secretIndex, int attempts, boolean finished,
+                   int created, int lastAccess, int[] moves, int moveCount);
+    }
+
+    /**
+     * Registra una nueva partida con el secreto dado.
+     *
+     * @param secretIndex índice del secreto según CodeIndex
+     * @return gameId único de la partida (UUID en texto)
+     */
+    String create(int secretIndex);
+
+    /**
+     * Evalúa un intento en una partida existente con una sola búsqueda y, si
+     * el almacén sigue los candidatos de sus partidas, los filtra.
+     *
+     * @return resultado e informe de candidatos según {@link CandidateSet#track(int, int)}
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido o la partida ya terminó
+     */
+    long guessTracked(String gameId, String guess) throws GameNotFoundException, InvalidGuessException;
+
+    /**
+     * Evalúa un intento en una partida existente con una sola búsqueda.
+     *
+     * @return resultado empaquetado según {@link GuessOutcome}
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido o la partida ya terminó
+     */
+    default int guessOutcome(String gameId, String guess) throws GameNotFoundException, InvalidGuessException {
+        return CandidateSet.outcome(guessTracked(gameId, guess));
+    }
+
+    /**
+     * Evalúa un intento en una partida existente.
+     *
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si el intento no es válido o la partida ya terminó
+     */
+    default GuessResult guess(String gameId, String guess) throws GameNotFoundException, InvalidGuessException {
+        return GuessOutcome.toResult(guessOutcome(gameId, guess));
+    }
+
+    /**
+     * Evalúa una secuencia de intentos ya validados con una sola búsqueda, como
+     * una única transición atómica que se detiene en el primer acierto.
+     *
+     * @param guessIndexes intentos según CodeIndex
+     * @param outcomes destino de los resultados empaquetados según {@link GuessOutcome}
+     * @param reports destino de los informes de candidatos según
+     *                {@link CandidateSet#apply(int, int)}, 0 si no se siguen
+     * @return cantidad de intentos evaluados
+     * @throws GameNotFoundException si la partida no existe
+     * @throws InvalidGuessException si la partida ya terminó
+     */
+    int guessAll(String gameId, int[] guessIndexes, int[] outcomes, int[] reports)
+        throws GameNotFoundException, InvalidGuessException;
+
+    /**
+     * Retorna el estado de una partida, o null si no existe.
+     */
+    GameState find(String gameId);
+
+    /**
+     * Retorna las jugadas de una partida en orden, empaquetadas según
+     * {@link com.mijuego.numerito.MoveHistory}, o null si no existe.
+     */
+    int[] moves(String gameId);
+
+    /**
+     * Elimina una partida.
+     *
+     * @return true si la partida existía y fue eliminada
+     */
+    boolean remove(String gameId);
+
+    /**
+     * Revisa la expiración de una partida según la política, llamado por
+     * {@link SessionExpiry} cuando vence su entrada en la rueda de temporización.
+     *
+     * Si la partida debe salir del almacén la elimina, archivando antes las ganadas.
+     *
+     * @return ExpiryPolicy.ARCHIVE, EVICT_IDLE, EVICT_MAX o ABSENT según lo ocurrido,
+     *         o el instante de la próxima revisión si la partida sigue activa
+     */
+    int expire(long high, long low, ExpiryPolicy policy, int now, GameArchive archive);
+
+    /**
+     * Recorre las partidas almacenadas sin detener los intentos en curso.
+     *
+     * Cada partida se entrega en un estado consistente (si terminó, con todas
+     * sus jugadas), aunque el recorrido completo no es una foto atómica.
+     */
+    void forEach(SnapshotVisitor visitor);
+
+    /**
+     * Restaura una partida de un snapshot con su estado y sus marcas de tiempo.
+     *
+     * @return false si ya existía una partida con ese gameId
+     */
+    boolean restore(long high, long low, int secretIndex, int attempts, boolean finished,
+                    int created, int lastAccess, int[] moves, int moveCount);
+
+    /**
+     * Retorna el número de partidas almacenadas.
+     */
+    int size();
+}
@@ -0,0 +1,163 @@
+package com.mijuego.numerito.api.service;
+
+import java.util.Arrays;
+
+/**
+ * Índice hash de claves UUID (dos long) a slots enteros, sin objetos por entrada.
+ *
+ * Usa direccionamiento abierto con sondeo lineal y borrado por desplazamiento
+ * hacia atrás. Las claves se guardan por slot en arrays paralelos; el slot de
+ * cada clave lo decide quien usa el índice (una pila de libres, un anillo...).
+ *
+ * No es thread-safe: el dueño del índice debe sincronizar los accesos.
+ */
+final class SlotIndex {
+
+    // slot + 1 por bucket, o 0 si el bucket está vacío
+    private int[] table;
+
+    private long[] keyHigh;
+    private long[] keyLow;
+
+    private int size;
+
+    SlotIndex(int initialSlots) {
+        int slots = Math.max(initialSlots, 16);
+        table = new int[Integer.highestOneBit(slots * 4 - 1)];
+        keyHigh = new long[slots];
+        keyLow = new long[slots];
+    }
+
+    /**
+     * Hash de una clave. Los bits altos quedan libres para elegir segmento.
+     */
+    static int hash(long high, long low) {
+        long h = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Retorna el slot de la clave, o -1 si no está.
+     */
+    int find(long high, long low) {
+        int bucket = findBucket(high, low);
+        return bucket < 0 ? -1 : table[bucket] - 1;
+    }
+
+    /**
+     * Asocia la clave al slot dado. Retorna false si la clave ya existía.
+     * El slot debe ser menor que {@link #slotCapacity()}.
+     */
+    boolean put(long high, long low, int slot) {
+        if (findBucket(high, low) >= 0) {
+            return false;
+        }
+        // Factor de carga máximo 0.5 para mantener los sondeos cortos
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        keyHigh[slot] = high;
+        keyLow[slot] = low;
+        place(table, slot, hash(high, low));
+        size++;
+        return true;
+    }
+
+    /**
+     * Quita la clave del índice. Retorna el slot que ocupaba, o -1 si no estaba.
+     */
+    int remove(long high, long low) {
+        int bucket = findBucket(high, low);
+        if (bucket < 0) {
+            return -1;
+        }
+        int slot = table[bucket] - 1;
+        deleteBucket(bucket);
+        keyHigh[slot] = 0;
+        keyLow[slot] = 0;
+        size--;
+        return slot;
+    }
+
+    long high(int slot) {
+        return keyHigh[slot];
+    }
+
+    long low(int slot) {
+        return keyLow[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slotCapacity() {
+        return keyHigh.length;
+    }
+
+    /**
+     * Amplía los arrays de claves para admitir al menos la cantidad de slots dada.
+     */
+    void ensureSlotCapacity(int slots) {
+        if (slots > keyHigh.length) {
+            keyHigh = Arrays.copyOf(keyHigh, slots);
+            keyLow = Arrays.copyOf(keyLow, slots);
+        }
+    }
+
+    private int findBucket(long high, long low) {
+        int mask = table.length - 1;
+        for (int i = hash(high, low) & mask; ; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (keyHigh[slot] == high && keyLow[slot] == low) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Borra un bucket desplazando hacia atrás las entradas siguientes de la
+     * misma cadena de sondeo, para no necesitar marcas de borrado.
+     */
+    private void deleteBucket(int bucket) {
+        int mask = table.length - 1;
+        int hole = bucket;
+        for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            int home = hash(keyHigh[slot], keyLow[slot]) & mask;
+            // La entrada puede ocupar el hueco si su bucket natural no está en (hole, i]
+            boolean homeInRange = hole <= i
+                ? home > hole && home <= i
+                : home > hole || home <= i;
+            if (!homeInRange) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private static void place(int[] table, int slot, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    private void rehash(int newLength) {
+        int[] rehashed = new int[newLength];
+        for (int entry : table) {
+            if (entry != 0) {
+                int slot = entry - 1;
+                place(rehashed, slot, hash(keyHigh[slot], keyLow[slot]));
+            }
+        }
+        table = rehashed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mijuego.numerito.api.service;
+
+/**
+ * Excepción lanzada sin consultar a Supabase mientras el circuito está abierto.
+ */
+public class SupabaseUnavailableException extends RuntimeException {
+
+    public SupabaseUnavailableException(String message) {
+        super(message);
+    }
+}
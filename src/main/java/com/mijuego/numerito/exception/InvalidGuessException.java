@@ -5,7 +5,26 @@ package com.mijuego.numerito.exception;
  */
 public class InvalidGuessException extends Exception {
 
-    public InvalidGuessException(String message) {
+    /**
+     * Regla incumplida por el intento.
+     */
+    public enum Rule {
+        MISSING,
+        LENGTH,
+        NOT_A_DIGIT,
+        LEADING_ZERO,
+        REPEATED_DIGIT,
+        GAME_FINISHED
+    }
+
+    private final Rule rule;
+
+    public InvalidGuessException(Rule rule, String message) {
         super(message);
+        this.rule = rule;
+    }
+
+    public Rule getRule() {
+        return rule;
     }
 }
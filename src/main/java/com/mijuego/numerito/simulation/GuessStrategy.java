@@ -0,0 +1,43 @@
+package com.mijuego.numerito.simulation;
+
+import java.util.Random;
+
+/**
+ * Estrategia de juego para la simulación: decide el próximo intento a partir
+ * de los resultados anteriores.
+ */
+public interface GuessStrategy {
+
+    /**
+     * Nombre con el que se elige la estrategia y se muestra en el reporte.
+     */
+    String name();
+
+    /**
+     * Crea un jugador para un hilo de la simulación. El jugador se reutiliza
+     * entre partidas del mismo hilo, así que puede reservar su estado una vez.
+     */
+    Player newPlayer(Random random);
+
+    /**
+     * Jugador de una partida a la vez. No necesita ser thread-safe.
+     */
+    interface Player {
+
+        /**
+         * Prepara el jugador para una partida nueva.
+         */
+        void reset();
+
+        /**
+         * Próximo intento, como índice según {@link com.mijuego.numerito.CodeIndex}.
+         */
+        int nextGuess();
+
+        /**
+         * Informa el resultado de un intento, empaquetado según
+         * {@link com.mijuego.numerito.ScoreTable}.
+         */
+        void onResult(int guessIndex, int score);
+    }
+}
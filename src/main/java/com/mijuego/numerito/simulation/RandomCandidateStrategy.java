@@ -0,0 +1,53 @@
+package com.mijuego.numerito.simulation;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.ScoreTable;
+
+import java.util.Random;
+
+/**
+ * Juega al azar entre los secretos todavía compatibles con los resultados.
+ *
+ * Es barata (un filtrado lineal por intento, sin reservar memoria por partida)
+ * y gana en unos 5-6 intentos de media: sirve para medir el motor de juego.
+ */
+public class RandomCandidateStrategy implements GuessStrategy {
+
+    @Override
+    public String name() {
+        return "random";
+    }
+
+    @Override
+    public Player newPlayer(Random random) {
+        return new Player() {
+            private final int[] candidates = new int[CodeIndex.SIZE];
+            private int count;
+
+            @Override
+            public void reset() {
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] = i;
+                }
+                count = candidates.length;
+            }
+
+            @Override
+            public int nextGuess() {
+                return candidates[random.nextInt(count)];
+            }
+
+            @Override
+            public void onResult(int guessIndex, int score) {
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    int candidate = candidates[i];
+                    if (ScoreTable.score(guessIndex, candidate) == score) {
+                        candidates[kept++] = candidate;
+                    }
+                }
+                count = kept;
+            }
+        };
+    }
+}
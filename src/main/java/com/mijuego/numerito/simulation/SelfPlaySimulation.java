@@ -0,0 +1,226 @@
+package com.mijuego.numerito.simulation;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GameSession;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.HintSolver;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.exception.InvalidGuessException;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulación sin HTTP: juega partidas completas en paralelo con
+ * {@link SecretNumberGenerator}, {@link GameSession} y una {@link GuessStrategy}.
+ *
+ * Reporta partidas por segundo, la distribución de intentos hasta ganar, la
+ * memoria reservada por partida y la uniformidad de los secretos generados.
+ *
+ * Uso:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.mijuego.numerito.simulation.SelfPlaySimulation \
+ *       -Dexec.args="--games=1000000 --strategy=random --threads=8 --seed=42"
+ */
+public class SelfPlaySimulation {
+
+    /**
+     * Intentos tras los que una partida se corta como no terminada.
+     */
+    public static final int MAX_ATTEMPTS = 64;
+
+    // Partidas que toma cada hilo por vez del contador compartido
+    private static final int BATCH = 1024;
+
+    private final GuessStrategy strategy;
+    private final int threads;
+    private final Long seed;
+
+    /**
+     * @param strategy estrategia de juego
+     * @param threads hilos de la simulación
+     * @param seed semilla para reproducir la corrida, o null para secretos con ThreadLocalRandom
+     */
+    public SelfPlaySimulation(GuessStrategy strategy, int threads, Long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("La simulación necesita al menos un hilo");
+        }
+        this.strategy = strategy;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Juega la cantidad de partidas indicada y retorna el reporte.
+     */
+    public SimulationReport run(long games) throws InterruptedException {
+        ScoreTable.preload();
+        AtomicLong remaining = new AtomicLong(games);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Worker worker = new Worker(i);
+                futures.add(executor.submit(() -> worker.play(remaining)));
+            }
+
+            long[] attemptsHistogram = new long[MAX_ATTEMPTS + 1];
+            long[] secretCounts = new long[CodeIndex.SIZE];
+            long unfinished = 0;
+            long allocatedBytes = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                for (int i = 0; i < attemptsHistogram.length; i++) {
+                    attemptsHistogram[i] += worker.attemptsHistogram[i];
+                }
+                for (int i = 0; i < secretCounts.length; i++) {
+                    secretCounts[i] += worker.secretCounts[i];
+                }
+                unfinished += worker.unfinished;
+                allocatedBytes = worker.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + worker.allocatedBytes;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            return new SimulationReport(strategy.name(), threads, games, elapsed, attemptsHistogram,
+                unfinished, allocatedBytes, chiSquare(secretCounts, games));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la simulación", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double chiSquare(long[] counts, long total) {
+        double expected = (double) total / counts.length;
+        double sum = 0;
+        for (long count : counts) {
+            double diff = count - expected;
+            sum += diff * diff / expected;
+        }
+        return sum;
+    }
+
+    /**
+     * Estado de un hilo de la simulación; se combina al terminar.
+     */
+    private final class Worker {
+
+        final long[] attemptsHistogram = new long[MAX_ATTEMPTS + 1];
+        final long[] secretCounts = new long[CodeIndex.SIZE];
+        long unfinished;
+        long allocatedBytes;
+
+        private final SecretNumberGenerator generator;
+        private final GuessStrategy.Player player;
+
+        Worker(int index) {
+            // Semillas distintas por hilo para no repetir la misma secuencia
+            Random random = seed == null ? new Random() : new Random(seed + 0x9E3779B97F4A7C15L * (2 * index + 1));
+            this.generator = seed == null
+                ? new SecretNumberGenerator()
+                : new SecretNumberGenerator(seed + 0x9E3779B97F4A7C15L * (2 * index + 2));
+            this.player = strategy.newPlayer(random);
+        }
+
+        Worker play(AtomicLong remaining) throws InvalidGuessException {
+            long allocatedBefore = allocatedBytes();
+            while (true) {
+                long batch = Math.min(BATCH, remaining.getAndAdd(-BATCH));
+                if (batch <= 0) {
+                    break;
+                }
+                for (long i = 0; i < batch; i++) {
+                    playGame();
+                }
+            }
+            long allocatedAfter = allocatedBytes();
+            allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+            return this;
+        }
+
+        private void playGame() throws InvalidGuessException {
+            int secretIndex = generator.nextIndex();
+            secretCounts[secretIndex]++;
+            GameSession session = new GameSession(secretIndex);
+
+            player.reset();
+            while (!session.isFinished() && session.getAttempts() < MAX_ATTEMPTS) {
+                int guess = player.nextGuess();
+                int outcome = session.guessOutcome(CodeIndex.toString(guess));
+                player.onResult(guess, GuessOutcome.score(outcome));
+            }
+
+            if (session.isFinished()) {
+                attemptsHistogram[session.getAttempts()]++;
+            } else {
+                unfinished++;
+            }
+        }
+    }
+
+    // Bytes reservados por el hilo actual, o -1 si la JVM no lo informa
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Punto de entrada por consola.
+     *
+     * Argumentos: --games=N (1000000), --threads=N (procesadores),
+     * --strategy=random|minimax|entropy (random), --seed=N (sin semilla).
+     */
+    public static void main(String[] args) throws Exception {
+        long games = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String strategyName = "random";
+        Long seed = null;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+            switch (parts[0]) {
+                case "--games" -> games = Long.parseLong(parts[1]);
+                case "--threads" -> threads = Integer.parseInt(parts[1]);
+                case "--strategy" -> strategyName = parts[1];
+                case "--seed" -> seed = Long.parseLong(parts[1]);
+                default -> throw new IllegalArgumentException("Argumento desconocido: " + parts[0]);
+            }
+        }
+
+        HintSolver solver = null;
+        GuessStrategy strategy;
+        switch (strategyName) {
+            case "random" -> strategy = new RandomCandidateStrategy();
+            case "minimax", "entropy" -> {
+                solver = new HintSolver(HintSolver.Strategy.valueOf(strategyName.toUpperCase(Locale.ROOT)), 0);
+                strategy = new SolverStrategy(solver);
+            }
+            default -> throw new IllegalArgumentException(
+                "Estrategia desconocida: " + strategyName + " (valores: random, minimax, entropy)");
+        }
+
+        try {
+            SimulationReport report = new SelfPlaySimulation(strategy, threads, seed).run(games);
+            System.out.print(report.format());
+        } finally {
+            if (solver != null) {
+                solver.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.mijuego.numerito.simulation;
+
+import com.mijuego.numerito.CodeIndex;
+
+import java.util.Locale;
+
+/**
+ * Resultado de una corrida de {@link SelfPlaySimulation}.
+ *
+ * @param strategy nombre de la estrategia usada
+ * @param threads hilos de la simulación
+ * @param games partidas jugadas
+ * @param elapsedNanos duración total
+ * @param attemptsHistogram partidas ganadas por cantidad de intentos (índice = intentos)
+ * @param unfinished partidas cortadas al llegar a {@link SelfPlaySimulation#MAX_ATTEMPTS}
+ * @param allocatedBytes memoria reservada por los hilos de la simulación, o -1 si la JVM no lo informa
+ * @param secretChiSquare estadístico chi-cuadrado de la frecuencia de cada secreto generado
+ */
+public record SimulationReport(
+    String strategy,
+    int threads,
+    long games,
+    long elapsedNanos,
+    long[] attemptsHistogram,
+    long unfinished,
+    long allocatedBytes,
+    double secretChiSquare
+) {
+
+    public double gamesPerSecond() {
+        return games * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    /**
+     * Media de intentos de las partidas ganadas.
+     */
+    public double meanAttempts() {
+        long won = 0;
+        long total = 0;
+        for (int attempts = 0; attempts < attemptsHistogram.length; attempts++) {
+            won += attemptsHistogram[attempts];
+            total += attempts * attemptsHistogram[attempts];
+        }
+        return won == 0 ? 0 : (double) total / won;
+    }
+
+    /**
+     * Intentos del peor juego ganado.
+     */
+    public int maxAttempts() {
+        for (int attempts = attemptsHistogram.length - 1; attempts > 0; attempts--) {
+            if (attemptsHistogram[attempts] > 0) {
+                return attempts;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Bytes reservados por partida, o -1 si la JVM no lo informa.
+     */
+    public double bytesPerGame() {
+        return allocatedBytes < 0 || games == 0 ? -1 : (double) allocatedBytes / games;
+    }
+
+    /**
+     * Grados de libertad del estadístico de uniformidad de los secretos.
+     */
+    public static int secretDegreesOfFreedom() {
+        return CodeIndex.SIZE - 1;
+    }
+
+    /**
+     * Reporte legible para la consola.
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Estrategia:        %s (%d hilos)%n", strategy, threads));
+        report.append(String.format(Locale.ROOT, "Partidas:          %d en %.2f s%n", games, elapsedNanos / 1e9));
+        report.append(String.format(Locale.ROOT, "Partidas/segundo:  %.0f%n", gamesPerSecond()));
+        report.append(String.format(Locale.ROOT, "Intentos (media):  %.3f, máximo %d, sin terminar %d%n",
+            meanAttempts(), maxAttempts(), unfinished));
+        if (allocatedBytes >= 0) {
+            report.append(String.format(Locale.ROOT, "Memoria/partida:   %.0f bytes%n", bytesPerGame()));
+        }
+        report.append(String.format(Locale.ROOT, "Chi² secretos:     %.1f (%d grados de libertad)%n",
+            secretChiSquare, secretDegreesOfFreedom()));
+        report.append("Distribución de intentos:\n");
+        for (int attempts = 1; attempts < attemptsHistogram.length; attempts++) {
+            long count = attemptsHistogram[attempts];
+            if (count > 0) {
+                report.append(String.format(Locale.ROOT, "  %3d: %10d (%6.3f%%)%n",
+                    attempts, count, count * 100.0 / games));
+            }
+        }
+        return report.toString();
+    }
+}
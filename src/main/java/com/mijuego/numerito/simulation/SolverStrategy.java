@@ -0,0 +1,51 @@
+package com.mijuego.numerito.simulation;
+
+import com.mijuego.numerito.HintSolver;
+import com.mijuego.numerito.MoveHistory;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Juega siempre la pista de {@link HintSolver}, para medir la calidad del solver.
+ */
+public class SolverStrategy implements GuessStrategy {
+
+    private final HintSolver solver;
+
+    public SolverStrategy(HintSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public String name() {
+        return solver.getStrategy().name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Player newPlayer(Random random) {
+        return new Player() {
+            private int[] moves = new int[16];
+            private int count;
+
+            @Override
+            public void reset() {
+                count = 0;
+            }
+
+            @Override
+            public int nextGuess() {
+                return solver.hint(Arrays.copyOf(moves, count)).guessIndex();
+            }
+
+            @Override
+            public void onResult(int guessIndex, int score) {
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, count * 2);
+                }
+                moves[count++] = MoveHistory.pack(guessIndex, score);
+            }
+        };
+    }
+}
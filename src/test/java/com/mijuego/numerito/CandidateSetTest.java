@@ -0,0 +1,122 @@
+package com.mijuego.numerito;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+
+    @Test
+    void testNewSetContainsEveryCode() {
+        CandidateSet candidates = new CandidateSet();
+
+        assertEquals(CodeIndex.SIZE, candidates.count());
+        assertEquals((CodeIndex.SIZE + 63) / 64, CandidateSet.WORDS);
+        for (int code = 0; code < CodeIndex.SIZE; code++) {
+            assertTrue(candidates.contains(code));
+        }
+    }
+
+    @Test
+    void testFilteringMatchesTheSolverCandidates() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int game = 0; game < 50; game++) {
+            int secret = random.nextInt(CodeIndex.SIZE);
+            CandidateSet candidates = new CandidateSet();
+            List<Integer> moves = new ArrayList<>();
+
+            for (int attempt = 0; attempt < 6; attempt++) {
+                int guess = random.nextInt(CodeIndex.SIZE);
+                int score = ScoreTable.score(guess, secret);
+                boolean wasCandidate = candidates.contains(guess);
+
+                int report = candidates.apply(guess, score);
+                moves.add(MoveHistory.pack(guess, score));
+
+                int[] expected = HintSolver.candidates(moves.stream().mapToInt(Integer::intValue).toArray());
+                assertNotEquals(0, report);
+                assertEquals(expected.length, CandidateSet.remaining(report));
+                assertEquals(expected.length, candidates.count());
+                assertEquals(wasCandidate, CandidateSet.consistent(report));
+                assertTrue(candidates.contains(secret));
+                for (int code : expected) {
+                    assertTrue(candidates.contains(code));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReplayRebuildsTheSameSet() {
+        int secret = CodeIndex.indexOf(1234);
+        int[] guesses = {CodeIndex.indexOf(5678), CodeIndex.indexOf(1325), CodeIndex.indexOf(4321)};
+        CandidateSet applied = new CandidateSet();
+        int[] moves = new int[guesses.length + 2];
+        for (int i = 0; i < guesses.length; i++) {
+            int score = ScoreTable.score(guesses[i], secret);
+            applied.apply(guesses[i], score);
+            moves[i] = MoveHistory.pack(guesses[i], score);
+        }
+
+        CandidateSet replayed = CandidateSet.replay(moves, guesses.length);
+
+        assertEquals(applied.count(), replayed.count());
+        for (int code = 0; code < CodeIndex.SIZE; code++) {
+            assertEquals(applied.contains(code), replayed.contains(code));
+        }
+        assertEquals(CodeIndex.SIZE, CandidateSet.replay(moves, 0).count());
+    }
+
+    @Test
+    void testConcurrentAppliesLeaveTheSameSetAsSequential() throws Exception {
+        int secret = CodeIndex.indexOf(2468);
+        SplittableRandom random = new SplittableRandom(5);
+        int threads = 4;
+        int[][] guesses = new int[threads][3];
+        CandidateSet sequential = new CandidateSet();
+        for (int[] perThread : guesses) {
+            for (int i = 0; i < perThread.length; i++) {
+                perThread[i] = random.nextInt(CodeIndex.SIZE);
+                sequential.apply(perThread[i], ScoreTable.score(perThread[i], secret));
+            }
+        }
+
+        CandidateSet concurrent = new CandidateSet();
+        Thread[] players = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int[] perThread = guesses[t];
+            players[t] = new Thread(() -> {
+                for (int guess : perThread) {
+                    int report = concurrent.apply(guess, ScoreTable.score(guess, secret));
+                    assertTrue(CandidateSet.remaining(report) >= 1);
+                }
+            });
+            players[t].start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+
+        assertEquals(sequential.count(), concurrent.count());
+        assertTrue(concurrent.contains(secret));
+    }
+
+    @Test
+    void testTrackedValuesKeepOutcomeAndReport() {
+        int outcome = GuessOutcome.pack(ScoreTable.pack(1, 2), 7);
+        int report = new CandidateSet().apply(CodeIndex.indexOf(1325), ScoreTable.pack(1, 2));
+
+        long tracked = CandidateSet.track(outcome, report);
+
+        assertEquals(outcome, CandidateSet.outcome(tracked));
+        assertEquals(report, CandidateSet.report(tracked));
+        assertEquals(0, CandidateSet.report(CandidateSet.track(outcome, 0)));
+        assertTrue(CandidateSet.consistent(report));
+        int[] moves = {MoveHistory.pack(CodeIndex.indexOf(1325), ScoreTable.pack(1, 2))};
+        assertEquals(HintSolver.candidates(moves).length, CandidateSet.remaining(report));
+    }
+}
@@ -0,0 +1,82 @@
+package com.mijuego.numerito;
+
+import com.mijuego.numerito.exception.InvalidGuessException;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeIndexTest {
+
+    @Test
+    void testSizeMatchesAllValidCodes() {
+        int count = 0;
+        for (int value = 1000; value <= 9999; value++) {
+            Set<Character> digits = new HashSet<>();
+            for (char c : Integer.toString(value).toCharArray()) {
+                digits.add(c);
+            }
+            if (digits.size() == 4) {
+                count++;
+            }
+        }
+
+        assertEquals(count, CodeIndex.SIZE);
+    }
+
+    @Test
+    void testIndexRoundTrip() throws InvalidGuessException {
+        for (int index = 0; index < CodeIndex.SIZE; index++) {
+            String code = CodeIndex.toString(index);
+
+            assertEquals(index, CodeIndex.parse(code));
+            assertEquals(index, CodeIndex.indexOf(CodeIndex.valueOf(index)));
+        }
+    }
+
+    @Test
+    void testIndexesFollowNumericOrder() {
+        assertEquals("1023", CodeIndex.toString(0));
+        assertEquals("9876", CodeIndex.toString(CodeIndex.SIZE - 1));
+    }
+
+    @Test
+    void testInvalidCodesHaveNoIndex() {
+        assertEquals(-1, CodeIndex.indexOf(123));
+        assertEquals(-1, CodeIndex.indexOf(1123));
+        assertEquals(-1, CodeIndex.indexOf("0123"));
+        assertEquals(-1, CodeIndex.indexOf("12a4"));
+        assertEquals(-1, CodeIndex.indexOf((String) null));
+    }
+
+    @Test
+    void testParseReportsRepeatedDigit() {
+        InvalidGuessException exception = assertThrows(
+            InvalidGuessException.class,
+            () -> CodeIndex.parse("1232")
+        );
+
+        assertTrue(exception.getMessage().endsWith("dígito repetido: 2"));
+        assertEquals(Rule.REPEATED_DIGIT, exception.getRule());
+    }
+
+    @Test
+    void testParseReportsViolatedRule() {
+        assertEquals(Rule.MISSING, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse(null)).getRule());
+        assertEquals(Rule.LENGTH, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse("123")).getRule());
+        assertEquals(Rule.NOT_A_DIGIT, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse("12a4")).getRule());
+        assertEquals(Rule.LEADING_ZERO, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse("0123")).getRule());
+    }
+
+    @Test
+    void testParseNumericAppliesTheSameRules() throws InvalidGuessException {
+        assertEquals(CodeIndex.parse("1234"), CodeIndex.parse(1234));
+        assertEquals(CodeIndex.parse("9876"), CodeIndex.parse(9876));
+        assertEquals(Rule.LEADING_ZERO, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse(123)).getRule());
+        assertEquals(Rule.LENGTH, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse(12345)).getRule());
+        assertEquals(Rule.REPEATED_DIGIT, assertThrows(InvalidGuessException.class, () -> CodeIndex.parse(1123)).getRule());
+    }
+}
@@ -3,6 +3,14 @@ package com.mijuego.numerito;
 import com.mijuego.numerito.exception.InvalidGuessException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameSessionTest {
@@ -267,4 +275,167 @@ class GameSessionTest {
         GuessResult result = session2.guess("1234");
         assertFalse(result.isWin());
     }
+
+    @Test
+    void testConcurrentGuessesDoNotLoseAttempts() throws Exception {
+        GameSession session = new GameSession("1234");
+        int threads = 8;
+        int guessesPerThread = 1_000;
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < guessesPerThread; i++) {
+                session.guess("5678");
+            }
+            return null;
+        });
+
+        assertEquals(threads * guessesPerThread, session.getAttempts());
+        assertFalse(session.isFinished());
+    }
+
+    @Test
+    void testConcurrentWinningGuessesHaveSingleWinner() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            GameSession session = new GameSession("1234");
+            int threads = 8;
+
+            List<Boolean> outcomes = runConcurrently(threads, () -> {
+                try {
+                    return session.guess("1234").isWin();
+                } catch (InvalidGuessException e) {
+                    assertTrue(e.getMessage().contains("ya ha terminado"));
+                    return false;
+                }
+            });
+
+            assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+            assertEquals(1, session.getAttempts());
+            assertTrue(session.isFinished());
+        }
+    }
+
+    @Test
+    void testGuessAllStopsAtWin() throws InvalidGuessException {
+        GameSession session = new GameSession("1234");
+        session.guess("5678");
+
+        int[] guesses = {CodeIndex.indexOf(1243), CodeIndex.indexOf(1234), CodeIndex.indexOf(9012)};
+        int[] outcomes = new int[guesses.length];
+        int[] reports = new int[guesses.length];
+        int count = session.guessAll(guesses, outcomes, reports);
+
+        assertEquals(2, count);
+        assertEquals(2, GuessOutcome.attemptNumber(outcomes[0]));
+        assertFalse(GuessOutcome.isWin(outcomes[0]));
+        assertTrue(GuessOutcome.isWin(outcomes[1]));
+        assertEquals(3, session.getAttempts());
+        assertTrue(session.isFinished());
+        assertArrayEquals(new int[3], reports);
+        assertThrows(InvalidGuessException.class, () -> session.guessAll(guesses, outcomes, reports));
+    }
+
+    @Test
+    void testLongHistoryKeepsEveryMoveInOrder() throws InvalidGuessException {
+        GameSession session = new GameSession("1234");
+        int[] guesses = new int[200];
+        for (int i = 0; i < guesses.length; i++) {
+            // Cualquier código distinto del secreto
+            guesses[i] = (CodeIndex.indexOf(1234) + 1 + i) % CodeIndex.SIZE;
+            session.guess(CodeIndex.toString(guesses[i]));
+        }
+
+        int[] moves = session.getMoves();
+
+        assertEquals(guesses.length, moves.length);
+        for (int i = 0; i < guesses.length; i++) {
+            assertEquals(guesses[i], MoveHistory.guessIndex(moves[i]));
+            assertEquals(ScoreTable.score(guesses[i], CodeIndex.indexOf(1234)), MoveHistory.score(moves[i]));
+        }
+    }
+
+    @Test
+    void testConcurrentGuessesRecordEveryMove() throws Exception {
+        GameSession session = new GameSession("1234");
+        int threads = 8;
+        int guessesPerThread = 100;
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < guessesPerThread; i++) {
+                session.guess("5678");
+            }
+            return null;
+        });
+
+        int[] moves = session.getMoves();
+        assertEquals(threads * guessesPerThread, moves.length);
+        for (int move : moves) {
+            assertEquals(CodeIndex.indexOf(5678), MoveHistory.guessIndex(move));
+        }
+    }
+
+    @Test
+    void testTrackedSessionReportsRemainingCandidates() throws InvalidGuessException {
+        GameSession session = new GameSession(CodeIndex.indexOf(1234), true);
+        assertEquals(CodeIndex.SIZE, session.getRemainingCandidates());
+
+        long first = session.guessTracked("5678");
+        int afterFirst = CandidateSet.remaining(CandidateSet.report(first));
+        assertTrue(CandidateSet.consistent(CandidateSet.report(first)));
+        assertEquals(1, GuessOutcome.attemptNumber(CandidateSet.outcome(first)));
+        assertEquals(afterFirst, session.getRemainingCandidates());
+
+        // 5678 ya quedó descartado: repetirlo no es consistente ni filtra más
+        int repeated = CandidateSet.report(session.guessTracked("5678"));
+        assertFalse(CandidateSet.consistent(repeated));
+        assertEquals(afterFirst, CandidateSet.remaining(repeated));
+
+        int[] outcomes = new int[2];
+        int[] reports = new int[2];
+        session.guessAll(new int[]{CodeIndex.indexOf(1325), CodeIndex.indexOf(1234)}, outcomes, reports);
+        assertTrue(CandidateSet.remaining(reports[0]) < afterFirst);
+        assertEquals(1, CandidateSet.remaining(reports[1]));
+        assertTrue(CandidateSet.consistent(reports[1]));
+        assertEquals(1, session.getRemainingCandidates());
+        assertEquals(-1, new GameSession(CodeIndex.indexOf(1234)).getRemainingCandidates());
+        assertEquals(0, CandidateSet.report(new GameSession(CodeIndex.indexOf(1234)).guessTracked("5678")));
+    }
+
+    @Test
+    void testRestoredSessionReplaysItsCandidates() throws InvalidGuessException {
+        GameSession session = new GameSession(CodeIndex.indexOf(1234), true);
+        session.guess("5678");
+        session.guess("1325");
+        int[] moves = session.getMoves();
+
+        GameSession restored = GameSession.restore(CodeIndex.indexOf(1234), 2, false, moves, moves.length, true);
+
+        assertEquals(session.getRemainingCandidates(), restored.getRemainingCandidates());
+        assertEquals(-1, GameSession.restore(CodeIndex.indexOf(1234), 2, false, moves, moves.length)
+            .getRemainingCandidates());
+    }
+
+    /**
+     * Ejecuta la tarea en varios hilos a la vez y retorna sus resultados.
+     */
+    private static <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
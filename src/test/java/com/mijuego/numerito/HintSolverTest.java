@@ -0,0 +1,80 @@
+package com.mijuego.numerito;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintSolverTest {
+
+    private static final Map<HintSolver.Strategy, HintSolver> solvers = new EnumMap<>(HintSolver.Strategy.class);
+
+    @BeforeAll
+    static void createSolvers() {
+        for (HintSolver.Strategy strategy : HintSolver.Strategy.values()) {
+            solvers.put(strategy, new HintSolver(strategy, 0));
+        }
+    }
+
+    @AfterAll
+    static void closeSolvers() {
+        solvers.values().forEach(HintSolver::close);
+    }
+
+    @Test
+    void testOpeningHintConsidersAllCodes() {
+        Hint hint = solvers.get(HintSolver.Strategy.MINIMAX).hint(new int[0]);
+
+        assertEquals(CodeIndex.SIZE, hint.candidates());
+        assertEquals(4, hint.guess().length());
+    }
+
+    @Test
+    void testCandidatesAreConsistentWithMoves() {
+        int secret = CodeIndex.indexOf(1234);
+        int guess = CodeIndex.indexOf(1243);
+        int[] moves = {MoveHistory.pack(guess, ScoreTable.score(guess, secret))};
+
+        int[] candidates = HintSolver.candidates(moves);
+
+        assertTrue(Arrays.stream(candidates).anyMatch(candidate -> candidate == secret));
+        for (int candidate : candidates) {
+            assertEquals(ScoreTable.score(guess, secret), ScoreTable.score(guess, candidate));
+        }
+    }
+
+    @Test
+    void testHintWithInconsistentMovesIsRejected() {
+        int guess = CodeIndex.indexOf(1234);
+        int[] moves = {
+            MoveHistory.pack(guess, ScoreTable.pack(0, 0)),
+            MoveHistory.pack(guess, ScoreTable.pack(1, 0))
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> solvers.get(HintSolver.Strategy.MINIMAX).hint(moves));
+    }
+
+    @ParameterizedTest
+    @EnumSource(HintSolver.Strategy.class)
+    void testFollowingHintsWinsWithinEightGuesses(HintSolver.Strategy strategy) throws Exception {
+        HintSolver solver = solvers.get(strategy);
+        Random random = new Random(42);
+
+        for (int game = 0; game < 20; game++) {
+            GameSession session = new GameSession(random.nextInt(CodeIndex.SIZE));
+            while (!session.isFinished()) {
+                Hint hint = solver.hint(session.getMoves());
+                session.guess(hint.guess());
+                assertTrue(session.getAttempts() <= 8, "La partida debería resolverse en 8 intentos");
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mijuego.numerito;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreTableTest {
+
+    /**
+     * Algoritmo de referencia: conteo con dos pasadas sobre los caracteres.
+     */
+    private static int referenceScore(String guess, String secret) {
+        int bien = 0;
+        int regular = 0;
+        for (int i = 0; i < 4; i++) {
+            if (guess.charAt(i) == secret.charAt(i)) {
+                bien++;
+            } else if (secret.indexOf(guess.charAt(i)) >= 0) {
+                regular++;
+            }
+        }
+        return ScoreTable.pack(bien, regular);
+    }
+
+    @Test
+    void testTableMatchesReferenceForAllCodesAgainstSomeSecrets() {
+        Random random = new Random(7);
+        for (int n = 0; n < 50; n++) {
+            int secret = random.nextInt(CodeIndex.SIZE);
+            for (int guess = 0; guess < CodeIndex.SIZE; guess++) {
+                assertEquals(
+                    referenceScore(CodeIndex.toString(guess), CodeIndex.toString(secret)),
+                    ScoreTable.score(guess, secret),
+                    CodeIndex.toString(guess) + " contra " + CodeIndex.toString(secret));
+            }
+        }
+    }
+
+    @Test
+    void testScoreIsSymmetric() {
+        Random random = new Random(11);
+        for (int n = 0; n < 10_000; n++) {
+            int a = random.nextInt(CodeIndex.SIZE);
+            int b = random.nextInt(CodeIndex.SIZE);
+            assertEquals(ScoreTable.score(a, b), ScoreTable.score(b, a));
+        }
+    }
+
+    @Test
+    void testScoreAgainstReadsTheSameResultFromTheSecretRow() {
+        Random random = new Random(13);
+        for (int n = 0; n < 10_000; n++) {
+            int guess = random.nextInt(CodeIndex.SIZE);
+            int secret = random.nextInt(CodeIndex.SIZE);
+            assertEquals(ScoreTable.score(guess, secret), ScoreTable.scoreAgainst(guess, secret));
+        }
+    }
+
+    @Test
+    void testOnlyIdenticalCodesWin() {
+        int index = CodeIndex.indexOf(1234);
+
+        assertEquals(ScoreTable.WIN, ScoreTable.score(index, index));
+        assertNotEquals(ScoreTable.WIN, ScoreTable.score(CodeIndex.indexOf(1243), index));
+    }
+
+    @Test
+    void testPackedScoreDecoding() {
+        int score = ScoreTable.score(CodeIndex.indexOf(1325), CodeIndex.indexOf(1234));
+
+        assertEquals(1, ScoreTable.bien(score));
+        assertEquals(2, ScoreTable.regular(score));
+        assertEquals(1, ScoreTable.mal(score));
+    }
+}
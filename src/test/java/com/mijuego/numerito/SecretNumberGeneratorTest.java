@@ -2,8 +2,17 @@ package com.mijuego.numerito;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,4 +85,124 @@ class SecretNumberGeneratorTest {
         assertTrue(generated.size() >= 40,
             "El generador debe producir números variados");
     }
+
+    @Test
+    void testSeededSequenceMatchesSplittableRandom() {
+        SecretNumberGenerator generator = new SecretNumberGenerator(42);
+        SplittableRandom reference = new SplittableRandom(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(reference.nextInt(CodeIndex.SIZE), generator.nextIndex());
+        }
+    }
+
+    @Test
+    void testSeededSequenceIsTheSameWhenSharedAcrossThreads() throws Exception {
+        int threads = 4;
+        int perThread = 25_000;
+        SecretNumberGenerator single = new SecretNumberGenerator(7);
+        int[] expected = new int[threads * perThread];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = single.nextIndex();
+        }
+
+        SecretNumberGenerator shared = new SecretNumberGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> futures = executor.invokeAll(Collections.nCopies(threads, () -> {
+                int[] drawn = new int[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    drawn[i] = shared.nextIndex();
+                }
+                return drawn;
+            }));
+            int[] actual = new int[expected.length];
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(futures.get(t).get(), 0, actual, t * perThread, perThread);
+            }
+
+            // El orden entre hilos depende del scheduling; los secretos sorteados no
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertArrayEquals(expected, actual);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSeededIndexesAreUniform() {
+        SecretNumberGenerator generator = new SecretNumberGenerator(12345);
+
+        // Con semilla el resultado es fijo: umbral de p = 0.001
+        assertUniform(generator::nextIndex, 3.09);
+    }
+
+    @Test
+    void testThreadLocalIndexesAreUniform() {
+        SecretNumberGenerator generator = new SecretNumberGenerator();
+
+        // Sin semilla el test no debe fallar por azar: umbral de p = 1e-6
+        assertUniform(generator::nextIndex, 4.75);
+    }
+
+    @Test
+    void testInjectedRandomIndexesAreUniform() {
+        SecretNumberGenerator generator = new SecretNumberGenerator(new Random(99));
+
+        assertUniform(generator::nextIndex, 3.09);
+    }
+
+    @Test
+    void testConsecutiveSecretsAreIndependent() {
+        // Test serial: pares de primeras cifras de secretos consecutivos, 81 combinaciones
+        SecretNumberGenerator generator = new SecretNumberGenerator(2024);
+        int pairs = 81 * 1_000;
+        long[] counts = new long[81];
+        int previous = generator.generate().charAt(0) - '1';
+        for (int i = 0; i < pairs; i++) {
+            int current = generator.generate().charAt(0) - '1';
+            counts[previous * 9 + current]++;
+            previous = current;
+        }
+
+        double chiSquare = chiSquare(counts, (double) pairs / counts.length);
+        assertTrue(chiSquare < critical(counts.length - 1, 3.09),
+            "Chi-cuadrado " + chiSquare + " para 80 grados de libertad");
+    }
+
+    /**
+     * Sortea 100 secretos por código en promedio y compara la frecuencia de
+     * cada código con la esperada mediante chi-cuadrado.
+     */
+    private static void assertUniform(IntSupplier nextIndex, double z) {
+        int perCode = 100;
+        long[] counts = new long[CodeIndex.SIZE];
+        for (int i = 0; i < CodeIndex.SIZE * perCode; i++) {
+            counts[nextIndex.getAsInt()]++;
+        }
+
+        assertTrue(Arrays.stream(counts).allMatch(count -> count > 0), "Hay códigos que nunca salen");
+        double chiSquare = chiSquare(counts, perCode);
+        assertTrue(chiSquare < critical(CodeIndex.SIZE - 1, z),
+            "Chi-cuadrado " + chiSquare + " para " + (CodeIndex.SIZE - 1) + " grados de libertad");
+        // Demasiado parejo también es sospechoso (p. ej. un recorrido secuencial)
+        assertTrue(chiSquare > critical(CodeIndex.SIZE - 1, -z),
+            "Chi-cuadrado " + chiSquare + " demasiado bajo");
+    }
+
+    private static double chiSquare(long[] counts, double expected) {
+        double sum = 0;
+        for (long count : counts) {
+            double diff = count - expected;
+            sum += diff * diff / expected;
+        }
+        return sum;
+    }
+
+    // Valor crítico de chi-cuadrado por la aproximación de Wilson-Hilferty
+    private static double critical(int degreesOfFreedom, double z) {
+        double k = 2.0 / (9 * degreesOfFreedom);
+        return degreesOfFreedom * Math.pow(1 - k + z * Math.sqrt(k), 3);
+    }
 }
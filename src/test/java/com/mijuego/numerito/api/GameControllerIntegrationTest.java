@@ -1,24 +1,38 @@
 package com.mijuego.numerito.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.api.dto.BatchGuessRequest;
+import com.mijuego.numerito.api.dto.BulkCreateRequest;
+import com.mijuego.numerito.api.dto.GuessFrame;
 import com.mijuego.numerito.api.dto.GuessRequest;
+import com.mijuego.numerito.api.service.DailyChallenge;
+import com.mijuego.numerito.api.service.GameIds;
+import com.mijuego.numerito.api.service.SessionStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Tests de integración para los endpoints de la API.
  */
-@SpringBootTest
+@SpringBootTest(properties = "numerito.daily.seed=0")
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 class GameControllerIntegrationTest {
 
     @Autowired
@@ -27,6 +41,15 @@ class GameControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SessionStore sessions;
+
+    @Autowired
+    private DailyChallenge daily;
+
+    @Autowired
+    private MeterRegistry meters;
+
     @Test
     void testCreateGame_ReturnsGameId() throws Exception {
         mockMvc.perform(post("/api/game")
@@ -174,4 +197,284 @@ class GameControllerIntegrationTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.attempts", is(2)));
     }
+
+    @Test
+    void testCreateGames_ReturnsRequestedAmountOfGameIds() throws Exception {
+        mockMvc.perform(post("/api/game/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateRequest(5))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.gameIds", hasSize(5)))
+            .andExpect(jsonPath("$.message", is("5 partidas creadas exitosamente")));
+    }
+
+    @Test
+    void testCreateGames_WithInvalidCount_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/game/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateRequest(0))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void testMakeGuesses_ReturnsOneResultPerEvaluatedGuess() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/game")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+        String gameId = objectMapper.readTree(createResult.getResponse().getContentAsString())
+            .get("gameId").asText();
+
+        // Si el secreto coincide con un intento, los siguientes no se evalúan
+        MvcResult guessResult = mockMvc.perform(post("/api/game/{gameId}/guesses", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BatchGuessRequest(List.of("1234", "5678", "9012")))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].attemptNumber", is(1)))
+            .andExpect(jsonPath("$[0].bien", notNullValue()))
+            .andReturn();
+
+        int evaluated = objectMapper.readTree(guessResult.getResponse().getContentAsString()).size();
+
+        mockMvc.perform(get("/api/game/{gameId}", gameId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.attempts", is(evaluated)));
+    }
+
+    @Test
+    void testMakeGuesses_WithInvalidGuess_AppliesNone() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/game")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+        String gameId = objectMapper.readTree(createResult.getResponse().getContentAsString())
+            .get("gameId").asText();
+
+        mockMvc.perform(post("/api/game/{gameId}/guesses", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BatchGuessRequest(List.of("1234", "1123")))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error", is("INVALID_GUESS")))
+            .andExpect(jsonPath("$.message", containsString("Intento 2")));
+
+        mockMvc.perform(get("/api/game/{gameId}", gameId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.attempts", is(0)));
+    }
+
+    @Test
+    void testGetHint_ForNewGame_ConsidersAllCodes() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/game")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+        String gameId = objectMapper.readTree(createResult.getResponse().getContentAsString())
+            .get("gameId").asText();
+
+        mockMvc.perform(get("/api/game/{gameId}/hint", gameId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.guess", matchesPattern("^[1-9][0-9]{3}$")))
+            .andExpect(jsonPath("$.remainingCandidates", is(4536)))
+            .andExpect(jsonPath("$.strategy", is("minimax")));
+    }
+
+    @Test
+    void testGetHint_ForWonGame_Returns409WithoutCountingAnInvalidGuess() throws Exception {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest("1234"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.win", is(true)));
+        double invalidBefore = meters.get("numerito.guesses.invalid").tag("rule", "game_finished").counter().count();
+
+        mockMvc.perform(get("/api/game/{gameId}/hint", gameId))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error", is("GAME_FINISHED")));
+
+        assertEquals(invalidBefore,
+            meters.get("numerito.guesses.invalid").tag("rule", "game_finished").counter().count());
+    }
+
+    @Test
+    void testGetHint_WithInvalidGameId_Returns404() throws Exception {
+        mockMvc.perform(get("/api/game/{gameId}/hint", "invalid-game-id"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.error", is("GAME_NOT_FOUND")));
+    }
+
+    @Test
+    void testPrometheusEndpoint_ExposesGameMetrics() throws Exception {
+        mockMvc.perform(post("/api/game"))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/game/{gameId}/guess", "invalid-game-id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest("0123"))))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("numerito_games_active ")))
+            .andExpect(content().string(containsString("numerito_http_requests_seconds_bucket{endpoint=\"create\"")))
+            .andExpect(content().string(containsString("numerito_guesses_invalid_total{rule=\"leading_zero\",}")))
+            .andExpect(content().string(containsString("numerito_supabase_requests_seconds_count")))
+            .andExpect(content().string(containsString("numerito_supabase_breaker_state{state=\"closed\",} 1.0")))
+            .andExpect(content().string(containsString("numerito_supabase_pool_pending ")))
+            .andExpect(content().string(containsString("numerito_sessions_evicted_total{reason=\"idle\",}")))
+            .andExpect(content().string(containsString("numerito_sessions_archive_size ")));
+    }
+
+    private static byte[] guessFrame(String gameId, int guess) {
+        return ByteBuffer.allocate(GuessFrame.REQUEST_LENGTH)
+            .putLong(GameIds.high(gameId))
+            .putLong(GameIds.low(gameId))
+            .putShort((short) guess)
+            .array();
+    }
+
+    @Test
+    void testMakeGuess_WithBinaryFrame_ReturnsBinaryResult() throws Exception {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+
+        byte[] first = mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .accept(GuessFrame.MEDIA_TYPE)
+                .content(guessFrame(gameId, 1243)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(GuessFrame.MEDIA_TYPE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(GuessFrame.RESPONSE_LENGTH, first.length);
+        ByteBuffer result = ByteBuffer.wrap(first);
+        assertEquals(0x22, result.get());
+        assertEquals(1, result.getInt());
+
+        // El formato binario y el JSON operan sobre la misma partida
+        mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest("5678"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.attemptNumber", is(2)));
+
+        byte[] win = mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .content(guessFrame(gameId, 1234)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(new byte[] {0x40, 0, 0, 0, 3}, win);
+    }
+
+    @Test
+    void testMakeGuess_WithInvalidBinaryFrame_ReturnsJsonErrors() throws Exception {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        String otherGameId = sessions.create(CodeIndex.indexOf(1234));
+
+        mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .content(new byte[] {1, 2, 3}))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error", is("INVALID_FRAME")));
+
+        mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .content(guessFrame(otherGameId, 1234)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error", is("INVALID_FRAME")));
+
+        mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                .contentType(GuessFrame.MEDIA_TYPE)
+                .accept(GuessFrame.MEDIA_TYPE)
+                .content(guessFrame(gameId, 1123)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error", is("INVALID_GUESS")))
+            .andExpect(jsonPath("$.message", containsString("repetido")));
+    }
+
+    @Test
+    void testDailyGame_SharesTheSecretAndCountsTheWin() throws Exception {
+        String secret = CodeIndex.toString(DailyChallenge.secretIndex(0, daily.getDate()));
+        long solvedBefore = daily.getGamesSolved();
+        long firstTryBefore = daily.getAttemptsHistogram()[0];
+
+        String[] gameIds = new String[2];
+        for (int i = 0; i < gameIds.length; i++) {
+            MvcResult created = mockMvc.perform(post("/api/daily"))
+                .andExpect(status().isCreated())
+                .andReturn();
+            gameIds[i] = objectMapper.readTree(created.getResponse().getContentAsString()).get("gameId").asText();
+        }
+
+        mockMvc.perform(get("/api/game/{gameId}/hint", gameIds[0]))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.error", is("HINT_NOT_ALLOWED")));
+
+        for (String gameId : gameIds) {
+            mockMvc.perform(post("/api/game/{gameId}/guess", gameId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new GuessRequest(secret))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.win", is(true)));
+        }
+
+        mockMvc.perform(get("/api/daily/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.date", is(daily.getDate().toString())))
+            .andExpect(jsonPath("$.gamesSolved", is((int) solvedBefore + 2)))
+            .andExpect(jsonPath("$.attemptsHistogram[0]", is((int) firstTryBefore + 2)))
+            .andExpect(jsonPath("$.attemptsHistogram", hasSize(DailyChallenge.MAX_TRACKED_ATTEMPTS)));
+
+        mockMvc.perform(get("/api/daily/leaderboard").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", isA(List.class)));
+    }
+
+    @Test
+    void testGetDailyLeaderboard_WithInvalidLimit_ReturnsBadRequest() throws Exception {
+        for (String limit : List.of("0", "-1", String.valueOf(DailyChallenge.MAX_LEADERBOARD_CAPACITY + 1))) {
+            mockMvc.perform(get("/api/daily/leaderboard").param("limit", limit))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")));
+        }
+    }
+
+    @Test
+    void testGetHistory_ReturnsMovesInOrder() throws Exception {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+
+        mockMvc.perform(get("/api/game/{gameId}/history", gameId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.attempts", is(0)))
+            .andExpect(jsonPath("$.moves", hasSize(0)));
+
+        mockMvc.perform(post("/api/game/{gameId}/guesses", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchGuessRequest(List.of("5678", "1243", "1234")))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/game/{gameId}/history", gameId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.gameId", is(gameId)))
+            .andExpect(jsonPath("$.attempts", is(3)))
+            .andExpect(jsonPath("$.finished", is(true)))
+            .andExpect(jsonPath("$.moves[*].guess", contains("5678", "1243", "1234")))
+            .andExpect(jsonPath("$.moves[1].attemptNumber", is(2)))
+            .andExpect(jsonPath("$.moves[1].bien", is(2)))
+            .andExpect(jsonPath("$.moves[1].regular", is(2)))
+            .andExpect(jsonPath("$.moves[1].mal", is(0)))
+            .andExpect(jsonPath("$.moves[0].mal", is(4)));
+    }
+
+    @Test
+    void testGetHistory_WithNonExistentGame_Returns404() throws Exception {
+        mockMvc.perform(get("/api/game/{gameId}/history", "no-existe"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.error", is("GAME_NOT_FOUND")));
+    }
 }
@@ -0,0 +1,276 @@
+package com.mijuego.numerito.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.api.dto.GameCreatedResponse;
+import com.mijuego.numerito.api.dto.GuessFrame;
+import com.mijuego.numerito.api.dto.GuessRequest;
+import com.mijuego.numerito.api.service.GameIds;
+import com.mijuego.numerito.api.service.GameEvents;
+import com.mijuego.numerito.api.service.SessionStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración de la API en el modo reactivo (Netty).
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+class ReactiveGameApiIntegrationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private SessionStore sessions;
+
+    @Autowired
+    private GameEvents gameEvents;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private String createGame() {
+        GameCreatedResponse created = client.post().uri("/api/game")
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(GameCreatedResponse.class)
+            .returnResult()
+            .getResponseBody();
+        assertNotNull(created);
+        return created.gameId();
+    }
+
+    @Test
+    void testRunsOnNetty() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    void testGameFlow_GuessesAndState() {
+        String gameId = createGame();
+
+        client.post().uri("/api/game/{gameId}/guess", gameId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new GuessRequest("1234"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.attemptNumber").isEqualTo(1)
+            .jsonPath("$.bien").value(notNullValue());
+
+        client.post().uri("/api/game/{gameId}/guesses", gameId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"guesses\": [\"5678\", \"9012\"]}")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").value(lessThanOrEqualTo(2));
+
+        client.get().uri("/api/game/{gameId}", gameId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.gameId").isEqualTo(gameId)
+            .jsonPath("$.attempts").value(greaterThanOrEqualTo(2));
+    }
+
+    @Test
+    void testInvalidGuess_Returns400() {
+        String gameId = createGame();
+
+        client.post().uri("/api/game/{gameId}/guess", gameId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new GuessRequest("1123"))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("INVALID_GUESS");
+    }
+
+    @Test
+    void testValidationError_Returns400() {
+        client.post().uri("/api/game/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"count\": 0}")
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("VALIDATION_ERROR");
+    }
+
+    @Test
+    void testUnknownGame_Returns404() {
+        client.get().uri("/api/game/{gameId}", "invalid-game-id")
+            .exchange()
+            .expectStatus().isNotFound()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("GAME_NOT_FOUND");
+    }
+
+    @Test
+    void testBinaryGuess_NegotiatedByContentType() {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        byte[] frame = ByteBuffer.allocate(GuessFrame.REQUEST_LENGTH)
+            .putLong(GameIds.high(gameId))
+            .putLong(GameIds.low(gameId))
+            .putShort((short) 1243)
+            .array();
+
+        byte[] result = client.post().uri("/api/game/{gameId}/guess", gameId)
+            .contentType(GuessFrame.MEDIA_TYPE)
+            .accept(GuessFrame.MEDIA_TYPE)
+            .bodyValue(frame)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(GuessFrame.MEDIA_TYPE)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+        assertArrayEquals(new byte[] {0x22, 0, 0, 0, 1}, result);
+
+        client.post().uri("/api/game/{gameId}/guess", gameId)
+            .contentType(GuessFrame.MEDIA_TYPE)
+            .accept(GuessFrame.MEDIA_TYPE)
+            .bodyValue(new byte[] {1, 2})
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("INVALID_FRAME");
+    }
+
+    @Test
+    void testHint_ForNewGame_ConsidersAllCodes() {
+        String gameId = createGame();
+
+        client.get().uri("/api/game/{gameId}/hint", gameId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.remainingCandidates").isEqualTo(4536);
+    }
+
+    @Test
+    void testCorsPreflight_AllowsFrontendOrigin() {
+        client.options().uri("/api/game")
+            .header(HttpHeaders.ORIGIN, "http://localhost:5173")
+            .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:5173");
+    }
+
+    private URI socketUri(String gameId) {
+        return URI.create("ws://localhost:" + port + "/api/game/" + gameId + "/ws");
+    }
+
+    private JsonNode next(BlockingQueue<String> received) throws Exception {
+        String message = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message, "No llegó ningún mensaje");
+        return objectMapper.readTree(message);
+    }
+
+    @Test
+    void testGameSocket_PushesStateAndGuessesFromSocketAndRest() throws Exception {
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        Sinks.Many<String> outgoing = Sinks.many().unicast().onBackpressureBuffer();
+
+        Disposable connection = new ReactorNettyWebSocketClient()
+            .execute(socketUri(gameId), session -> session.send(outgoing.asFlux().map(session::textMessage))
+                .and(session.receive().map(WebSocketMessage::getPayloadAsText).doOnNext(received::add)))
+            .subscribe();
+        try {
+            JsonNode state = next(received);
+            assertEquals("state", state.get("type").asText());
+            assertEquals(gameId, state.get("gameId").asText());
+            assertEquals(0, state.get("attempts").asInt());
+
+            // Un intento inválido solo responde al remitente
+            outgoing.tryEmitNext("{\"guess\":\"1123\"}");
+            JsonNode error = next(received);
+            assertEquals("error", error.get("type").asText());
+            assertEquals("INVALID_GUESS", error.get("error").asText());
+
+            outgoing.tryEmitNext("{\"guess\":\"5678\"}");
+            JsonNode socketGuess = next(received);
+            assertEquals("guess", socketGuess.get("type").asText());
+            assertEquals("5678", socketGuess.get("guess").asText());
+            assertEquals(1, socketGuess.get("attemptNumber").asInt());
+
+            // Los intentos por la API REST también llegan al canal
+            client.post().uri("/api/game/{gameId}/guess", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new GuessRequest("1234"))
+                .exchange()
+                .expectStatus().isOk();
+            JsonNode restGuess = next(received);
+            assertEquals("1234", restGuess.get("guess").asText());
+            assertEquals(4, restGuess.get("bien").asInt());
+            assertTrue(restGuess.get("win").asBoolean());
+            assertTrue(restGuess.get("finished").asBoolean());
+            assertEquals(1, gameEvents.getSubscriberCount());
+        } finally {
+            connection.dispose();
+        }
+
+        // Al cerrarse la conexión se retira la suscripción
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (gameEvents.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, gameEvents.getSubscriberCount());
+        assertEquals(0, gameEvents.getChannelCount());
+    }
+
+    @Test
+    void testGameSocket_UnknownGameClosesWith4404() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        AtomicReference<CloseStatus> status = new AtomicReference<>();
+
+        new ReactorNettyWebSocketClient()
+            .execute(socketUri("invalid-game-id"), session -> session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(received::add)
+                .then(session.closeStatus())
+                .doOnNext(status::set)
+                .then())
+            .block(Duration.ofSeconds(10));
+
+        assertEquals("GAME_NOT_FOUND", next(received).get("error").asText());
+        assertNotNull(status.get());
+        assertEquals(4404, status.get().getCode());
+    }
+}
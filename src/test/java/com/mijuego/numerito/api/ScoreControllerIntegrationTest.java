@@ -100,6 +100,17 @@ class ScoreControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()", lessThanOrEqualTo(10)));
     }
 
+    @Test
+    void testGetTopScores_WithLimitOutOfRange_Returns400() throws Exception {
+        for (String limit : new String[]{"-1", "0", "1001"}) {
+            mockMvc.perform(get("/api/scores/top")
+                    .param("limit", limit)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")));
+        }
+    }
+
     @Test
     void testScoreResponseStructure() throws Exception {
         // Guardar un score primero
@@ -0,0 +1,161 @@
+package com.mijuego.numerito.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Supabase de mentira para los tests: un HttpServer local que atiende /scores.
+ *
+ * Responde con el estado configurado después de la latencia configurada, y
+ * guarda el cuerpo de cada petición aceptada (estado 2xx). Además puede:
+ * - fallar con 503 las próximas peticiones ({@link #failNext(int)}),
+ * - rechazar con 400 las peticiones cuyo cuerpo contenga un texto
+ *   ({@link #rejectBodiesContaining(String)}),
+ * - retener las respuestas hasta {@link #release()} ({@link #hold()}).
+ */
+public final class StubSupabase implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private volatile int status = 201;
+    private volatile long latencyMillis;
+    private volatile byte[] responseBody = new byte[0];
+    private volatile String rejectedText;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private StubSupabase() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/scores", this::handle);
+    }
+
+    /**
+     * Arranca un stub que acepta todo con 201 y sin cuerpo.
+     */
+    public static StubSupabase start() throws IOException {
+        StubSupabase stub = new StubSupabase();
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Retorna un WebClient sin configurar contra el stub.
+     */
+    public WebClient client() {
+        return WebClient.builder().baseUrl(baseUrl()).build();
+    }
+
+    public StubSupabase status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public StubSupabase latency(Duration latency) {
+        this.latencyMillis = latency.toMillis();
+        return this;
+    }
+
+    /**
+     * Cuerpo JSON de las respuestas 2xx.
+     */
+    public StubSupabase respondWith(String json) {
+        this.responseBody = json.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Responde 503 a las próximas {@code count} peticiones, antes de aplicar el estado.
+     */
+    public StubSupabase failNext(int count) {
+        failuresLeft.set(count);
+        return this;
+    }
+
+    /**
+     * Responde 400 a toda petición cuyo cuerpo contenga {@code text}.
+     */
+    public StubSupabase rejectBodiesContaining(String text) {
+        this.rejectedText = text;
+        return this;
+    }
+
+    /**
+     * Retiene las respuestas hasta {@link #release()}, como mucho 10 segundos.
+     */
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        gate.countDown();
+    }
+
+    /**
+     * Cuerpos de las peticiones aceptadas, en orden de llegada.
+     */
+    public List<String> bodies() {
+        return bodies;
+    }
+
+    /**
+     * Cantidad de peticiones recibidas, aceptadas o no.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        release();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String rejected = rejectedText;
+        int code = rejected != null && body.contains(rejected) ? 400
+            : failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0 ? 503
+            : status;
+
+        byte[] response = code < 300 ? responseBody : "{\"message\":\"error\"}".getBytes(StandardCharsets.UTF_8);
+        if (code < 300) {
+            bodies.add(body);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, response.length == 0 ? -1 : response.length);
+        if (response.length > 0) {
+            exchange.getResponseBody().write(response);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,176 @@
+package com.mijuego.numerito.api.config;
+
+import com.mijuego.numerito.api.StubSupabase;
+import com.mijuego.numerito.api.service.SupabaseUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupabaseConfigTest {
+
+    private StubSupabase supabase;
+    private ConnectionProvider provider;
+    private final SupabasePoolMetrics poolMetrics = new SupabasePoolMetrics();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        supabase = StubSupabase.start().status(200).respondWith("[]");
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (provider != null) {
+            provider.dispose();
+        }
+        supabase.close();
+    }
+
+    private WebClient client(int maxConnections, int pendingAcquireMax, Duration responseTimeout,
+                             SupabaseCircuitBreaker breaker) {
+        provider = SupabaseConfig.connectionProvider(maxConnections, pendingAcquireMax, Duration.ofSeconds(5),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), poolMetrics);
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(supabase.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(
+                        SupabaseConfig.httpClient(provider, Duration.ofSeconds(1), responseTimeout, true)));
+        if (breaker != null) {
+            builder.filter(breaker);
+        }
+        return builder.build();
+    }
+
+    private static String get(WebClient client) {
+        return client.get().uri("/scores").retrieve().bodyToMono(String.class).block();
+    }
+
+    // La conexión vuelve al pool después de entregar el cuerpo, en el event loop
+    private void awaitReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poolMetrics.getAcquired() > 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testHttp2ClientFallsBackToHttp11OnPlainHttp() throws InterruptedException {
+        WebClient client = client(4, 10, Duration.ofSeconds(5), null);
+
+        assertEquals("[]", get(client));
+        awaitReleased();
+        assertEquals("[]", get(client));
+        awaitReleased();
+
+        // Keep-alive: la conexión vuelve al pool y se reutiliza
+        assertEquals(1, poolMetrics.getAllocated());
+        assertEquals(1, poolMetrics.getIdle());
+        assertEquals(0, poolMetrics.getAcquired());
+    }
+
+    @Test
+    void testSlowResponseTimesOut() {
+        supabase.latency(Duration.ofSeconds(2));
+        WebClient client = client(4, 10, Duration.ofMillis(200), null);
+
+        long start = System.nanoTime();
+        assertThrows(WebClientRequestException.class, () -> get(client));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testPendingAcquireLimitFailsFast() throws InterruptedException {
+        supabase.latency(Duration.ofMillis(500));
+        WebClient client = client(1, 1, Duration.ofSeconds(5), null);
+
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(client.get().uri("/scores").retrieve().bodyToMono(String.class).toFuture());
+        }
+
+        // Una conexión prestada y una petición esperando; la tercera no entra
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poolMetrics.getAcquired() == 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+        assertEquals(1, poolMetrics.getAcquired());
+        assertEquals(1, poolMetrics.getMaxAllocated());
+
+        long failed = calls.stream()
+                .map(call -> call.handle((body, error) -> error))
+                .map(CompletableFuture::join)
+                .filter(error -> error != null)
+                .count();
+        assertEquals(1, failed);
+        assertEquals(2, supabase.requests());
+    }
+
+    @Test
+    void testBreakerOpensAfterFailuresAndFailsFast() {
+        supabase.status(503);
+        SupabaseCircuitBreaker breaker = new SupabaseCircuitBreaker(3, Duration.ofSeconds(10), now::get);
+        WebClient client = client(4, 10, Duration.ofSeconds(5), breaker);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(WebClientResponseException.class, () -> get(client));
+        }
+        assertEquals(SupabaseCircuitBreaker.State.OPEN, breaker.getState());
+
+        // Abierto: falla sin llegar al servidor
+        assertThrows(SupabaseUnavailableException.class, () -> get(client));
+        assertEquals(3, supabase.requests());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void testBreakerOpensOnTimeouts() {
+        supabase.latency(Duration.ofSeconds(1));
+        SupabaseCircuitBreaker breaker = new SupabaseCircuitBreaker(2, Duration.ofSeconds(10), now::get);
+        WebClient client = client(4, 10, Duration.ofMillis(100), breaker);
+
+        assertThrows(WebClientRequestException.class, () -> get(client));
+        assertThrows(WebClientRequestException.class, () -> get(client));
+
+        long start = System.nanoTime();
+        assertThrows(SupabaseUnavailableException.class, () -> get(client));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testHalfOpenProbeClosesBreaker() {
+        supabase.status(500);
+        SupabaseCircuitBreaker breaker = new SupabaseCircuitBreaker(1, Duration.ofSeconds(10), now::get);
+        WebClient client = client(4, 10, Duration.ofSeconds(5), breaker);
+        assertThrows(WebClientResponseException.class, () -> get(client));
+        assertEquals(SupabaseCircuitBreaker.State.OPEN, breaker.getState());
+
+        // La prueba falla: vuelve a abrirse
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThrows(WebClientResponseException.class, () -> get(client));
+        assertEquals(SupabaseCircuitBreaker.State.OPEN, breaker.getState());
+
+        // La prueba sale bien: se cierra
+        supabase.status(200);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("[]", get(client));
+        assertEquals(SupabaseCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getOpenedCount());
+    }
+}
@@ -0,0 +1,84 @@
+package com.mijuego.numerito.api.dto;
+
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.api.exception.InvalidFrameException;
+import com.mijuego.numerito.api.service.GameIds;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuessFrameTest {
+
+    private final String gameId = UUID.randomUUID().toString();
+
+    private byte[] frame(String id, int guess) {
+        return ByteBuffer.allocate(GuessFrame.REQUEST_LENGTH)
+            .putLong(GameIds.high(id))
+            .putLong(GameIds.low(id))
+            .putShort((short) guess)
+            .array();
+    }
+
+    @Test
+    void testDecodeReadsTheGuessAsUnsigned() {
+        assertEquals(1234, GuessFrame.decode(frame(gameId, 1234), gameId));
+        assertEquals(9876, GuessFrame.decode(frame(gameId, 9876), gameId));
+        assertEquals(0xFFFF, GuessFrame.decode(frame(gameId, 0xFFFF), gameId));
+    }
+
+    @Test
+    void testDecodeRejectsMalformedFrames() {
+        assertThrows(InvalidFrameException.class, () -> GuessFrame.decode(null, gameId));
+        assertThrows(InvalidFrameException.class, () -> GuessFrame.decode(new byte[17], gameId));
+        assertThrows(InvalidFrameException.class, () -> GuessFrame.decode(new byte[19], gameId));
+        assertThrows(InvalidFrameException.class,
+            () -> GuessFrame.decode(frame(UUID.randomUUID().toString(), 1234), gameId));
+        assertThrows(InvalidFrameException.class, () -> GuessFrame.decode(frame(gameId, 1234), "no-es-un-uuid"));
+    }
+
+    @Test
+    void testEncodeForEveryOutcome() {
+        int[] attemptNumbers = {1, 255, 256, 70_000, Integer.MAX_VALUE >>> 8};
+        for (int bien = 0; bien <= 4; bien++) {
+            for (int regular = 0; bien + regular <= 4; regular++) {
+                for (int attemptNumber : attemptNumbers) {
+                    ByteBuffer response = ByteBuffer.wrap(
+                        GuessFrame.encode(GuessOutcome.pack(ScoreTable.pack(bien, regular), attemptNumber)));
+
+                    assertEquals(GuessFrame.RESPONSE_LENGTH, response.remaining());
+                    int packed = response.get() & 0xFF;
+                    assertEquals(bien, packed >>> 4);
+                    assertEquals(regular, packed & 0xF);
+                    assertEquals(attemptNumber, response.getInt());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDecodeDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        byte[] frame = frame(gameId, 1234);
+
+        // Calentamiento para que el JIT compile la decodificación
+        long sum = 0;
+        for (int i = 0; i < 200_000; i++) {
+            sum += GuessFrame.decode(frame, gameId);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            sum += GuessFrame.decode(frame, gameId);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(300_000L * 1234, sum);
+        assertTrue(allocated < 16 * 1024, "Se reservaron " + allocated + " bytes");
+    }
+}
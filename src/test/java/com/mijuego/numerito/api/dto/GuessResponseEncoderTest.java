@@ -0,0 +1,88 @@
+package com.mijuego.numerito.api.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.ScoreTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuessResponseEncoderTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testEncodedJsonMatchesJacksonForEveryOutcome() throws Exception {
+        int[] attemptNumbers = {1, 9, 10, 99, 100, 12345, Integer.MAX_VALUE >>> 8};
+        for (int bien = 0; bien <= 4; bien++) {
+            for (int regular = 0; bien + regular <= 4; regular++) {
+                int score = ScoreTable.pack(bien, regular);
+                for (int attemptNumber : attemptNumbers) {
+                    int outcome = GuessOutcome.pack(score, attemptNumber);
+                    boolean win = score == ScoreTable.WIN;
+                    GuessResponse response = GuessResponse.from(GuessOutcome.toResult(outcome), win);
+
+                    assertEquals(
+                        objectMapper.writeValueAsString(response),
+                        new String(GuessResponseEncoder.encode(outcome), StandardCharsets.US_ASCII)
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEncodedCandidatesMatchJackson() throws Exception {
+        int[] reports = {0, 1, 2, 3, 20, 21, CodeIndex.SIZE << 1};
+        for (int score : new int[]{ScoreTable.pack(1, 2), ScoreTable.WIN}) {
+            for (int report : reports) {
+                int outcome = GuessOutcome.pack(score, 12);
+                boolean win = score == ScoreTable.WIN;
+                GuessResponse response = GuessResponse.from(GuessOutcome.toResult(outcome), win, report);
+
+                assertEquals(
+                    objectMapper.writeValueAsString(response),
+                    new String(GuessResponseEncoder.encode(outcome, report), StandardCharsets.US_ASCII)
+                );
+            }
+        }
+    }
+
+    @Test
+    void testEncodedBatchMatchesJacksonWithAndWithoutCandidates() throws Exception {
+        int playing = GuessOutcome.pack(ScoreTable.pack(1, 2), 3);
+        int win = GuessOutcome.pack(ScoreTable.WIN, 4);
+        long[] tracked = {CandidateSet.track(playing, 21), CandidateSet.track(win, 3), CandidateSet.track(playing, 0)};
+        List<GuessResponse> responses = List.of(
+            GuessResponse.from(GuessOutcome.toResult(playing), false, 21),
+            GuessResponse.from(GuessOutcome.toResult(win), true, 3),
+            GuessResponse.from(GuessOutcome.toResult(playing), false));
+
+        assertEquals(
+            objectMapper.writeValueAsString(responses),
+            new String(GuessResponseEncoder.encodeAll(tracked), StandardCharsets.US_ASCII)
+        );
+        assertEquals("[]", new String(GuessResponseEncoder.encodeAll(new long[0]), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testEventAddsTypeAndGuessToTheResponse() throws Exception {
+        int outcome = GuessOutcome.pack(ScoreTable.pack(1, 2), 7);
+
+        String event = new String(GuessResponseEncoder.encodeEvent(CodeIndex.indexOf(1234), outcome),
+            StandardCharsets.US_ASCII);
+
+        assertTrue(event.startsWith("{\"type\":\"guess\",\"guess\":\"1234\",\"bien\":1,"), event);
+        JsonNode json = objectMapper.readTree(event);
+        assertEquals(2, json.get("regular").asInt());
+        assertEquals(7, json.get("attemptNumber").asInt());
+        assertFalse(json.get("finished").asBoolean());
+    }
+}
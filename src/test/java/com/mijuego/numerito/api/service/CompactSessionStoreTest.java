@@ -0,0 +1,153 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CandidateSet;
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.HintSolver;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactSessionStoreTest {
+
+    private static final int SECRET_1234 = CodeIndex.indexOf(1234);
+
+    @Test
+    void testCreateGuessAndFind() throws Exception {
+        CompactSessionStore store = new CompactSessionStore(16);
+        String gameId = store.create(SECRET_1234);
+
+        GuessResult result = store.guess(gameId, "1325");
+        assertEquals(1, result.bienCount());
+        assertEquals(2, result.regularCount());
+        assertEquals(1, result.attemptNumber());
+        assertEquals(new GameState(1, false), store.find(gameId));
+
+        GuessResult win = store.guess(gameId, "1234");
+        assertTrue(win.isWin());
+        assertEquals(new GameState(2, true), store.find(gameId));
+    }
+
+    @Test
+    void testGuessAfterWinIsRejected() throws Exception {
+        CompactSessionStore store = new CompactSessionStore(16);
+        String gameId = store.create(SECRET_1234);
+        store.guess(gameId, "1234");
+
+        InvalidGuessException exception = assertThrows(
+            InvalidGuessException.class,
+            () -> store.guess(gameId, "5678")
+        );
+        assertTrue(exception.getMessage().contains("ya ha terminado"));
+    }
+
+    @Test
+    void testUnknownOrMalformedIdsAreNotFound() {
+        CompactSessionStore store = new CompactSessionStore(16);
+
+        assertNull(store.find("invalid-game-id"));
+        assertNull(store.find("00000000-0000-0000-0000-000000000000"));
+        assertThrows(GameNotFoundException.class, () -> store.guess("invalid-game-id", "1234"));
+        assertFalse(store.remove("invalid-game-id"));
+    }
+
+    @Test
+    void testManyInsertsAndRemovesMatchAMap() throws Exception {
+        CompactSessionStore store = new CompactSessionStore(16);
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20_000; i++) {
+            if (!ids.isEmpty() && random.nextInt(3) == 0) {
+                String gameId = ids.remove(random.nextInt(ids.size()));
+                assertTrue(store.remove(gameId));
+                assertFalse(store.remove(gameId));
+                expected.remove(gameId);
+            } else {
+                String gameId = store.create(SECRET_1234);
+                int guesses = random.nextInt(3);
+                for (int g = 0; g < guesses; g++) {
+                    store.guess(gameId, "5678");
+                }
+                ids.add(gameId);
+                expected.put(gameId, guesses);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals(new GameState(entry.getValue(), false), store.find(entry.getKey()));
+        }
+    }
+
+    @Test
+    void testTrackedStoreReportsCandidatesAndReplaysThemOnRestore() throws Exception {
+        CompactSessionStore store = new CompactSessionStore(16, SessionClock.SYSTEM, true);
+        String gameId = store.create(SECRET_1234);
+
+        int first = CandidateSet.report(store.guessTracked(gameId, "5678"));
+        int second = CandidateSet.report(store.guessTracked(gameId, "1325"));
+        assertTrue(CandidateSet.consistent(first));
+        assertTrue(CandidateSet.remaining(second) < CandidateSet.remaining(first));
+        assertEquals(HintSolver.candidates(store.moves(gameId)).length, CandidateSet.remaining(second));
+
+        // Restaurada en otro almacén, la partida sigue desde los mismos candidatos
+        CompactSessionStore restored = new CompactSessionStore(16, SessionClock.SYSTEM, true);
+        store.forEach((high, low, secretIndex, attempts, finished, created, lastAccess, moves, moveCount) ->
+            restored.restore(high, low, secretIndex, attempts, finished, created, lastAccess, moves, moveCount));
+        assertEquals(store.guessTracked(gameId, "4321"), restored.guessTracked(gameId, "4321"));
+
+        // Una secuencia informa cada intento como uno suelto
+        int[] guesses = {CodeIndex.indexOf(1243), CodeIndex.indexOf(1234)};
+        int[] outcomes = new int[2];
+        int[] reports = new int[2];
+        assertEquals(2, restored.guessAll(gameId, guesses, outcomes, reports));
+        assertEquals(CandidateSet.report(store.guessTracked(gameId, "1243")), reports[0]);
+        assertEquals(1, CandidateSet.remaining(reports[1]));
+
+        CompactSessionStore untracked = new CompactSessionStore(16);
+        assertEquals(0, CandidateSet.report(untracked.guessTracked(untracked.create(SECRET_1234), "5678")));
+    }
+
+    @Test
+    void testConcurrentGuessesOnSameGameNeverLoseAttempts() throws Exception {
+        CompactSessionStore store = new CompactSessionStore(16);
+        String gameId = store.create(SECRET_1234);
+        int threads = 8;
+        int guessesPerThread = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < guessesPerThread; i++) {
+                    store.guess(gameId, "5678");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(new GameState(threads * guessesPerThread, false), store.find(gameId));
+    }
+}
@@ -0,0 +1,248 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyChallengeTest {
+
+    private static final long SEED = 42;
+    private static final Instant NOON = Instant.parse("2026-03-10T12:00:00Z");
+
+    /**
+     * Reloj que el test adelanta a mano.
+     */
+    private static final class TestClock extends Clock {
+        final AtomicLong millis = new AtomicLong(NOON.toEpochMilli());
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        void advanceSeconds(long seconds) {
+            millis.addAndGet(seconds * 1000);
+        }
+    }
+
+    private final TestClock clock = new TestClock();
+    private final DailyChallenge daily = new DailyChallenge(SEED, ZoneOffset.UTC, 3, clock);
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // Crea una partida diaria sin almacén: el gameId lleva el secreto recibido
+    private String start() {
+        return daily.start(secret -> "game-" + nextId.incrementAndGet() + "-" + secret);
+    }
+
+    private static int secretOf(String gameId) {
+        return Integer.parseInt(gameId.substring(gameId.lastIndexOf('-') + 1));
+    }
+
+    private static ScoreResponse saved(String gameId, String player) {
+        // El cliente dice 1 intento y 0 segundos: el ranking debe ignorarlo
+        return new ScoreResponse("id-" + gameId, player, 1, gameId, 0, null);
+    }
+
+    @Test
+    void testSecretIsDeterministicPerDay() {
+        LocalDate date = LocalDate.of(2026, 3, 10);
+        int secret = DailyChallenge.secretIndex(SEED, date);
+
+        assertEquals(new SecretNumberGenerator(SEED + date.toEpochDay()).nextIndex(), secret);
+        assertEquals(secret, DailyChallenge.secretIndex(SEED, date));
+        assertEquals(secret, secretOf(start()));
+        assertEquals(secret, secretOf(start()));
+
+        Set<Integer> secrets = new HashSet<>();
+        for (int day = 0; day < 30; day++) {
+            secrets.add(DailyChallenge.secretIndex(SEED, date.plusDays(day)));
+        }
+        assertTrue(secrets.size() > 25, "Los secretos de días distintos deben variar");
+    }
+
+    @Test
+    void testWinsFillTheHistogramOncePerDailyGame() {
+        String first = start();
+        String second = start();
+        start();
+
+        assertTrue(daily.isRanked(first));
+        daily.onWin(first, 4);
+        assertFalse(daily.isRanked(first));
+        assertFalse(daily.isRanked("otra-partida"));
+        daily.onWin(first, 4);
+        daily.onWin("otra-partida", 2);
+        daily.onWin(second, 40);
+
+        assertEquals(3, daily.getGamesStarted());
+        assertEquals(2, daily.getGamesSolved());
+        assertEquals(1, daily.getPlayingCount());
+        long[] histogram = daily.getAttemptsHistogram();
+        assertEquals(DailyChallenge.MAX_TRACKED_ATTEMPTS, histogram.length);
+        assertEquals(1, histogram[3]);
+        assertEquals(0, histogram[1]);
+        assertEquals(1, histogram[DailyChallenge.MAX_TRACKED_ATTEMPTS - 1]);
+    }
+
+    @Test
+    void testLeaderboardUsesServerMeasuredResults() {
+        String slow = start();
+        String fast = start();
+        String unsolved = start();
+        clock.advanceSeconds(30);
+        daily.onWin(fast, 5);
+        clock.advanceSeconds(60);
+        daily.onWin(slow, 5);
+
+        daily.onScoreSaved(saved(slow, "Lenta"));
+        daily.onScoreSaved(saved(fast, "Rápida"));
+        daily.onScoreSaved(saved(fast, "Repetida"));
+        daily.onScoreSaved(saved(unsolved, "Sin ganar"));
+        daily.onScoreSaved(saved("otra-partida", "Otra"));
+
+        List<ScoreResponse> top = daily.top(10);
+        assertEquals(List.of("Rápida", "Lenta"), top.stream().map(ScoreResponse::playerName).toList());
+        assertEquals(5, top.get(0).attempts());
+        assertEquals(30, top.get(0).timeSeconds());
+        assertEquals(90, top.get(1).timeSeconds());
+        assertEquals(1, daily.top(1).size());
+    }
+
+    @Test
+    void testLeaderboardKeepsTheBestUpToCapacity() {
+        int[] attempts = {7, 3, 9, 5, 4};
+        for (int i = 0; i < attempts.length; i++) {
+            String gameId = start();
+            daily.onWin(gameId, attempts[i]);
+            daily.onScoreSaved(saved(gameId, "Jugador " + attempts[i]));
+        }
+
+        assertEquals(List.of(3, 4, 5), daily.top(10).stream().map(ScoreResponse::attempts).toList());
+    }
+
+    @Test
+    void testDroppedPendingScoreLeavesTheLeaderboard() {
+        String kept = start();
+        daily.onWin(kept, 4);
+        daily.onScoreSaved(saved(kept, "Guardada"));
+        String dropped = start();
+        daily.onWin(dropped, 3);
+        daily.onScoreSaved(new ScoreResponse(null, "Pendiente", 1, dropped, 0, null));
+        assertEquals(2, daily.top(10).size());
+
+        // Una fila de otra partida o ya guardada (con id) no se quita
+        daily.onScoreDropped(new ScoreResponse(null, "Pendiente", 1, "otra-partida", 0, null));
+        daily.onScoreDropped(new ScoreResponse(null, "Guardada", 1, kept, 0, null));
+        assertEquals(2, daily.top(10).size());
+
+        daily.onScoreDropped(new ScoreResponse(null, "Pendiente", 1, dropped, 0, null));
+        assertEquals(List.of("Guardada"), daily.top(10).stream().map(ScoreResponse::playerName).toList());
+    }
+
+    @Test
+    void testNewDayStartsFromScratch() {
+        String yesterday = start();
+        daily.onWin(yesterday, 3);
+        daily.onScoreSaved(saved(yesterday, "Ayer"));
+        String unfinished = start();
+        int yesterdaySecret = secretOf(yesterday);
+
+        clock.advanceSeconds(12 * 3600);
+
+        assertEquals(LocalDate.of(2026, 3, 11), daily.getDate());
+        assertEquals(0, daily.getGamesStarted());
+        assertEquals(0, daily.getGamesSolved());
+        assertTrue(daily.top(10).isEmpty());
+        assertEquals(DailyChallenge.secretIndex(SEED, LocalDate.of(2026, 3, 11)), secretOf(start()));
+        assertNotEquals(yesterdaySecret, secretOf(start()));
+
+        // La partida de ayer ya no suma al día nuevo
+        daily.onWin(unfinished, 2);
+        assertEquals(0, daily.getGamesSolved());
+    }
+
+    @Test
+    void testConcurrentWinsAreAllCounted() throws Exception {
+        int threads = 4;
+        int perThread = 5_000;
+        String[][] gameIds = new String[threads][perThread];
+        for (String[] ids : gameIds) {
+            for (int i = 0; i < perThread; i++) {
+                ids[i] = start();
+            }
+        }
+
+        Thread[] players = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String[] ids = gameIds[t];
+            players[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    daily.onWin(ids[i], i % 10 + 1);
+                }
+            });
+            players[t].start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+
+        assertEquals(threads * perThread, daily.getGamesSolved());
+        assertEquals(threads * perThread / 10, daily.getAttemptsHistogram()[0]);
+        assertEquals(0, daily.getPlayingCount());
+    }
+
+    @Test
+    void testServiceCreatesDailyGamesAndCountsWins() throws Exception {
+        SessionStore sessions = new MapSessionStore();
+        SessionExpiry expiry = new SessionExpiry(sessions, new ExpiryPolicy(600, 3600, 60), new GameArchive(4),
+            SessionClock.SYSTEM);
+        GameService service = new GameService(sessions, expiry, new SecretNumberGenerator(),
+            new GameMetrics(new SimpleMeterRegistry()), new GameEvents(), daily);
+        String secret = CodeIndex.toString(DailyChallenge.secretIndex(SEED, LocalDate.of(2026, 3, 10)));
+
+        String first = service.createDailyGame();
+        String second = service.createDailyGame();
+        String regular = service.createGame();
+
+        assertTrue(GuessOutcome.isWin(service.makeGuessOutcome(first, secret)));
+        int[] outcomes = service.makeGuesses(second, List.of(secret.equals("1234") ? "5678" : "1234", secret));
+        assertTrue(GuessOutcome.isWin(outcomes[outcomes.length - 1]));
+        service.makeGuessOutcome(regular, "1234");
+
+        assertEquals(2, daily.getGamesStarted());
+        assertEquals(2, daily.getGamesSolved());
+        assertEquals(1, daily.getAttemptsHistogram()[0]);
+        assertEquals(1, daily.getAttemptsHistogram()[1]);
+    }
+}
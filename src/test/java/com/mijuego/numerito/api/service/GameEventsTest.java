@@ -0,0 +1,112 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessOutcome;
+import com.mijuego.numerito.SecretNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventsTest {
+
+    private final GameEvents events = new GameEvents();
+
+    private List<Long> collect(String gameId, List<Disposable> subscriptions) {
+        List<Long> received = new CopyOnWriteArrayList<>();
+        subscriptions.add(events.subscribe(gameId).subscribe(received::add));
+        return received;
+    }
+
+    @Test
+    void testEventsReachEverySubscriberOfTheGame() {
+        List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+        List<Long> first = collect("a", subscriptions);
+        List<Long> second = collect("a", subscriptions);
+        List<Long> other = collect("b", subscriptions);
+
+        events.publish("a", CodeIndex.indexOf(1234), GuessOutcome.pack(3, 1));
+        events.publish("a", "5678", GuessOutcome.pack(5, 2));
+
+        assertEquals(2, first.size());
+        assertEquals(first, second);
+        assertTrue(other.isEmpty());
+        assertEquals(1234, CodeIndex.valueOf(GameEvents.guessIndex(first.get(0))));
+        assertEquals(GuessOutcome.pack(3, 1), GameEvents.outcome(first.get(0)));
+        assertEquals(5678, CodeIndex.valueOf(GameEvents.guessIndex(first.get(1))));
+        assertEquals(2, GuessOutcome.attemptNumber(GameEvents.outcome(first.get(1))));
+        assertEquals(3, events.getSubscriberCount());
+        assertEquals(2, events.getChannelCount());
+    }
+
+    @Test
+    void testChannelIsRemovedWithTheLastSubscriber() {
+        List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+        collect("a", subscriptions);
+        List<Long> remaining = collect("a", subscriptions);
+
+        subscriptions.get(0).dispose();
+        events.publish("a", CodeIndex.indexOf(1234), GuessOutcome.pack(3, 1));
+        assertEquals(1, remaining.size());
+        assertEquals(1, events.getChannelCount());
+
+        subscriptions.get(1).dispose();
+        assertEquals(0, events.getSubscriberCount());
+        assertEquals(0, events.getChannelCount());
+
+        // Publicar sin suscriptores no recrea el canal
+        events.publish("a", CodeIndex.indexOf(1234), GuessOutcome.pack(3, 2));
+        assertEquals(0, events.getChannelCount());
+    }
+
+    @Test
+    void testServicePublishesSingleAndBatchGuesses() throws Exception {
+        SessionStore sessions = new MapSessionStore();
+        SessionExpiry expiry = new SessionExpiry(sessions, new ExpiryPolicy(600, 3600, 60), new GameArchive(4),
+            SessionClock.SYSTEM);
+        GameService service = new GameService(sessions, expiry, new SecretNumberGenerator(),
+            new GameMetrics(new SimpleMeterRegistry()), events, new DailyChallenge(0, ZoneOffset.UTC, 10));
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+        List<Long> received = collect(gameId, subscriptions);
+
+        int outcome = service.makeGuessOutcome(gameId, "5678");
+        int[] outcomes = service.makeGuesses(gameId, List.of("1243", "1234", "9876"));
+
+        assertEquals(3, received.size());
+        assertEquals(outcome, GameEvents.outcome(received.get(0)));
+        assertEquals(1243, CodeIndex.valueOf(GameEvents.guessIndex(received.get(1))));
+        assertEquals(outcomes[1], GameEvents.outcome(received.get(2)));
+        assertTrue(GuessOutcome.isWin(GameEvents.outcome(received.get(2))));
+    }
+
+    @Test
+    void testConcurrentPublishersDeliverEveryEvent() throws Exception {
+        List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+        List<Long> received = collect("a", subscriptions);
+        int threads = 4;
+        int perThread = 10_000;
+
+        Thread[] publishers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            publishers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    events.publish("a", 0, GuessOutcome.pack(0, base + i + 1));
+                }
+            });
+            publishers[t].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        assertEquals(threads * perThread, received.size());
+        assertEquals(threads * perThread, received.stream().distinct().count());
+    }
+}
@@ -0,0 +1,47 @@
+package com.mijuego.numerito.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameIdsTest {
+
+    @Test
+    void testRandomIdsAreVersion4Uuids() {
+        for (int i = 0; i < 1000; i++) {
+            UUID id = GameIds.random();
+
+            assertEquals(4, id.version());
+            assertEquals(2, id.variant());
+            String text = id.toString();
+            assertTrue(GameIds.isValid(text));
+            assertEquals(id.getMostSignificantBits(), GameIds.high(text));
+            assertEquals(id.getLeastSignificantBits(), GameIds.low(text));
+        }
+    }
+
+    @Test
+    void testRandomIdsDoNotRepeatAcrossThreads() throws Exception {
+        int threads = 4;
+        int perThread = 10_000;
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    all.add(GameIds.random());
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, all.size());
+    }
+}
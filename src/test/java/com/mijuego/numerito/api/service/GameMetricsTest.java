@@ -0,0 +1,97 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.exception.InvalidGuessException.Rule;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final GameMetrics metrics = new GameMetrics(registry);
+
+    private GameService newService(SessionStore sessions) {
+        SessionExpiry expiry = new SessionExpiry(sessions, new ExpiryPolicy(600, 3600, 60), new GameArchive(4),
+            SessionClock.SYSTEM);
+        return new GameService(sessions, expiry, new SecretNumberGenerator(), metrics, new GameEvents(),
+            new DailyChallenge(0, ZoneOffset.UTC, 10));
+    }
+
+    @Test
+    void testWinsAreCountedWithTheirAttempts() throws Exception {
+        SessionStore sessions = new MapSessionStore();
+        GameService service = newService(sessions);
+
+        String single = sessions.create(CodeIndex.indexOf(1234));
+        service.makeGuessOutcome(single, "5678");
+        service.makeGuessOutcome(single, "1243");
+        service.makeGuessOutcome(single, "1234");
+
+        String batch = sessions.create(CodeIndex.indexOf(1234));
+        service.makeGuesses(batch, List.of("5678", "1234", "9876"));
+
+        service.makeGuessOutcome(sessions.create(CodeIndex.indexOf(1234)), "5678");
+
+        assertEquals(2, registry.get("numerito.games.won").counter().count());
+        assertEquals(2, registry.get("numerito.games.win.attempts").summary().count());
+        assertEquals(5, registry.get("numerito.games.win.attempts").summary().totalAmount());
+        assertEquals(3, registry.get("numerito.games.win.attempts").summary().max());
+    }
+
+    @Test
+    void testScrapeUsesPrometheusFormat() {
+        metrics.recordRequest(GameMetrics.Endpoint.GUESS, System.nanoTime() - 2_000_000);
+        metrics.recordInvalidGuess(Rule.REPEATED_DIGIT);
+        metrics.recordGameNotFound();
+        metrics.recordSupabaseCall(System.nanoTime() - 30_000_000, false);
+
+        String scrape = registry.scrape();
+
+        assertTrue(scrape.contains("numerito_http_requests_seconds_bucket{endpoint=\"guess\",le=\"+Inf\",} 1.0"));
+        assertTrue(scrape.contains("numerito_http_requests_seconds_count{endpoint=\"guess\",} 1.0"));
+        assertTrue(scrape.contains("numerito_guesses_invalid_total{rule=\"repeated_digit\",} 1.0"));
+        assertTrue(scrape.contains("numerito_guesses_invalid_total{rule=\"leading_zero\",} 0.0"));
+        assertTrue(scrape.contains("numerito_games_not_found_total 1.0"));
+        assertTrue(scrape.contains("numerito_supabase_requests_seconds_count{outcome=\"error\",} 1.0"));
+        assertTrue(scrape.contains("numerito_games_win_attempts_bucket{le=\"+Inf\",} 0.0"));
+    }
+
+    @Test
+    void testRecordingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GameMetrics.Endpoint[] endpoints = GameMetrics.Endpoint.values();
+        Rule[] rules = Rule.values();
+
+        // Calentamiento para que el JIT compile los caminos de registro
+        for (int i = 0; i < 200_000; i++) {
+            record(endpoints, rules, i);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            record(endpoints, rules, i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Un objeto por medición serían varios MB; el margen cubre la propia medición
+        assertTrue(allocated < 16 * 1024, "Se reservaron " + allocated + " bytes");
+    }
+
+    private void record(GameMetrics.Endpoint[] endpoints, Rule[] rules, int i) {
+        long start = System.nanoTime() - (i & 0xFFFF) * 1_000L;
+        metrics.recordRequest(endpoints[i % endpoints.length], start);
+        metrics.recordInvalidGuess(rules[i % rules.length]);
+        metrics.recordGameNotFound();
+        metrics.recordWin(1 + i % 12);
+        metrics.recordSupabaseCall(start, (i & 1) == 0);
+    }
+}
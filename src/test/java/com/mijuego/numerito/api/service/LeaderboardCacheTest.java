@@ -0,0 +1,195 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardCacheTest {
+
+    private static final long FRESH = 5_000;
+    private static final long STALE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final List<Integer> requestedLimits = new ArrayList<>();
+    private final List<Sinks.One<List<ScoreResponse>>> pending = new ArrayList<>();
+
+    // Cada consulta queda pendiente hasta que el test la completa
+    private final LeaderboardCache cache = new LeaderboardCache(limit -> {
+        requestedLimits.add(limit);
+        Sinks.One<List<ScoreResponse>> sink = Sinks.one();
+        pending.add(sink);
+        return sink.asMono().flatMapMany(Flux::fromIterable);
+    }, FRESH, STALE, 20, 100, now::get);
+
+    private static ScoreResponse score(String id, int attempts, long timeSeconds) {
+        return new ScoreResponse(id, "Jugador " + id, attempts, "game-" + id, timeSeconds, null);
+    }
+
+    private static List<ScoreResponse> ranking(int size) {
+        List<ScoreResponse> scores = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            scores.add(score("s" + i, 3 + i, 60));
+        }
+        return scores;
+    }
+
+    private void complete(int load, List<ScoreResponse> scores) {
+        pending.get(load).tryEmitValue(scores);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() {
+        var first = cache.getTopScores(10).collectList().toFuture();
+        var second = cache.getTopScores(5).collectList().toFuture();
+
+        assertEquals(List.of(20), requestedLimits);
+        complete(0, ranking(20));
+
+        assertEquals(10, first.join().size());
+        assertEquals(5, second.join().size());
+    }
+
+    @Test
+    void testSmallerLimitsAreSlicedFromMemory() {
+        var loaded = cache.getTopScores(20).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        List<ScoreResponse> top3 = cache.getTopScores(3).collectList().block();
+
+        assertEquals(1, requestedLimits.size());
+        assertEquals(List.of("s0", "s1", "s2"), top3.stream().map(ScoreResponse::id).toList());
+    }
+
+    @Test
+    void testLargerLimitTriggersBiggerLoad() {
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        var larger = cache.getTopScores(50).collectList().toFuture();
+        assertEquals(List.of(20, 50), requestedLimits);
+        complete(1, ranking(50));
+
+        assertEquals(50, larger.join().size());
+    }
+
+    @Test
+    void testStaleDataIsServedWhileRefreshing() {
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        now.addAndGet(FRESH + 1);
+        List<ScoreResponse> stale = cache.getTopScores(10).collectList().block();
+
+        assertEquals(10, stale.size());
+        assertEquals(2, requestedLimits.size());
+
+        // Mientras la recarga está en curso no se lanza otra
+        cache.getTopScores(10).collectList().block();
+        assertEquals(2, requestedLimits.size());
+
+        List<ScoreResponse> refreshed = new ArrayList<>(ranking(20));
+        refreshed.set(0, score("nuevo", 1, 10));
+        complete(1, refreshed);
+
+        assertEquals("nuevo", cache.getTopScores(1).blockFirst().id());
+    }
+
+    @Test
+    void testExpiredDataWaitsForReload() {
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        now.addAndGet(STALE + 1);
+        var reloaded = cache.getTopScores(10).collectList().toFuture();
+
+        assertFalse(reloaded.isDone());
+        complete(1, ranking(20));
+        assertEquals(10, reloaded.join().size());
+    }
+
+    @Test
+    void testExpiredDataIsServedWhenReloadFails() {
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        now.addAndGet(STALE + 1);
+        var reloaded = cache.getTopScores(10).collectList().toFuture();
+        pending.get(1).tryEmitError(new RuntimeException("Supabase caído"));
+
+        assertEquals(10, reloaded.join().size());
+    }
+
+    @Test
+    void testSavedScoreIsInsertedInOrder() {
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        cache.onScoreSaved(score("nuevo", 4, 30));
+
+        List<ScoreResponse> top = cache.getTopScores(20).collectList().block();
+        assertEquals(20, top.size());
+        assertEquals(List.of("s0", "nuevo", "s1"), top.subList(0, 3).stream().map(ScoreResponse::id).toList());
+        assertEquals("s18", top.get(19).id());
+        assertEquals(1, requestedLimits.size());
+    }
+
+    @Test
+    void testDroppedPendingScoreIsRemoved() {
+        var loaded = cache.getTopScores(20).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+
+        cache.onScoreSaved(score(null, 4, 30));
+        cache.onScoreDropped(score("s1", 4, 60));
+        assertEquals(20, cache.getTopScores(20).collectList().block().size());
+
+        cache.onScoreDropped(score(null, 4, 30));
+
+        List<ScoreResponse> top = cache.getTopScores(19).collectList().block();
+        assertEquals(List.of("s0", "s1"), top.subList(0, 2).stream().map(ScoreResponse::id).toList());
+        assertEquals("s18", top.get(18).id());
+        assertEquals(1, requestedLimits.size());
+
+        // El puesto 20 ya no se conoce: pedirlo recarga
+        cache.getTopScores(20).subscribe();
+        assertEquals(2, requestedLimits.size());
+    }
+
+    @Test
+    void testNonPositiveLimitIsEmptyWithoutLoading() {
+        assertEquals(List.of(), cache.getTopScores(-1).collectList().block());
+        assertEquals(List.of(), cache.getTopScores(0).collectList().block());
+        assertTrue(requestedLimits.isEmpty());
+
+        var loaded = cache.getTopScores(10).collectList().toFuture();
+        complete(0, ranking(20));
+        loaded.join();
+        assertEquals(List.of(), cache.getTopScores(-1).collectList().block());
+        assertEquals(1, requestedLimits.size());
+    }
+
+    @Test
+    void testFailedLoadIsRetried() {
+        var failed = cache.getTopScores(10).collectList().toFuture();
+        pending.get(0).tryEmitError(new RuntimeException("Supabase caído"));
+        assertTrue(failed.isCompletedExceptionally());
+
+        var retried = cache.getTopScores(10).collectList().toFuture();
+        assertEquals(2, requestedLimits.size());
+        complete(1, ranking(20));
+        assertEquals(10, retried.join().size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardIndexTest {
+
+    private final List<Sinks.One<List<ScoreResponse>>> loads = new ArrayList<>();
+
+    // Cada carga queda pendiente hasta que el test la completa
+    private final LeaderboardIndex index = new LeaderboardIndex(limit -> {
+        Sinks.One<List<ScoreResponse>> sink = Sinks.one();
+        loads.add(sink);
+        return sink.asMono().flatMapMany(Flux::fromIterable);
+    }, 5, Duration.ofMinutes(5));
+
+    private static ScoreResponse score(String id, int attempts, long timeSeconds) {
+        return new ScoreResponse(id, "Jugador " + id, attempts, "game-" + id, timeSeconds, null);
+    }
+
+    private static List<String> ids(List<ScoreResponse> scores) {
+        return scores.stream().map(ScoreResponse::id).toList();
+    }
+
+    private void warm(ScoreResponse... scores) {
+        index.reconcile();
+        loads.get(loads.size() - 1).tryEmitValue(List.of(scores));
+    }
+
+    @Test
+    void testIsNotReadyUntilLoaded() {
+        assertFalse(index.isReady());
+        assertThrows(IllegalStateException.class, () -> index.top(5));
+
+        warm(score("a", 4, 30));
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("a"), ids(index.top(5)));
+    }
+
+    @Test
+    void testLoadedScoresAreSortedAndBounded() {
+        warm(score("c", 6, 10), score("a", 4, 30), score("b", 4, 40),
+            score("d", 7, 10), score("e", 8, 10), score("f", 9, 10));
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), ids(index.top(10)));
+        assertEquals(List.of("a", "b"), ids(index.top(2)));
+        assertEquals(List.of(), index.top(0));
+        assertEquals(List.of(), index.top(-1));
+    }
+
+    @Test
+    void testSavedScoresAreInsertedInOrder() {
+        warm(score("a", 4, 30), score("b", 6, 30));
+
+        index.onScoreSaved(score("c", 5, 10));
+        index.onScoreSaved(score("d", 4, 20));
+        index.onScoreSaved(score("d", 4, 20));
+
+        assertEquals(List.of("d", "a", "c", "b"), ids(index.top(5)));
+    }
+
+    @Test
+    void testWorseScoresFallOffWhenFull() {
+        warm(score("a", 1, 10), score("b", 2, 10), score("c", 3, 10), score("d", 4, 10), score("e", 5, 10));
+
+        index.onScoreSaved(score("peor", 9, 10));
+        index.onScoreSaved(score("mejor", 2, 5));
+
+        assertEquals(List.of("a", "mejor", "b", "c", "d"), ids(index.top(5)));
+    }
+
+    @Test
+    void testReconcileReplacesDriftAndKeepsConcurrentSaves() {
+        warm(score("a", 4, 30), score("viejo", 5, 30));
+
+        index.reconcile();
+        index.onScoreSaved(score("nuevo", 3, 10));
+        loads.get(1).tryEmitValue(List.of(score("a", 4, 30), score("otra-instancia", 6, 10)));
+
+        assertEquals(List.of("nuevo", "a", "otra-instancia"), ids(index.top(5)));
+    }
+
+    @Test
+    void testFailedReconcileKeepsCurrentScores() {
+        warm(score("a", 4, 30));
+
+        index.reconcile();
+        loads.get(1).tryEmitError(new RuntimeException("Supabase caído"));
+
+        assertEquals(List.of("a"), ids(index.top(5)));
+
+        // Se puede volver a reconciliar
+        warm(score("b", 3, 30));
+        assertEquals(List.of("b"), ids(index.top(5)));
+    }
+
+    // Score confirmado sin id, como lo devuelven la escritura diferida y el diario
+    private static ScoreResponse pending(String id, int attempts, long timeSeconds) {
+        ScoreResponse saved = score(id, attempts, timeSeconds);
+        return new ScoreResponse(null, saved.playerName(), attempts, saved.gameId(), timeSeconds, "ahora");
+    }
+
+    private static List<String> games(List<ScoreResponse> scores) {
+        return scores.stream().map(ScoreResponse::gameId).toList();
+    }
+
+    @Test
+    void testPendingScoreIsReplacedOnceItArrivesWithItsId() {
+        warm(score("a", 4, 30));
+
+        index.onScoreSaved(pending("p", 3, 10));
+        index.onScoreSaved(pending("p", 3, 10));
+        assertEquals(List.of("game-p", "game-a"), games(index.top(5)));
+
+        index.onScoreSaved(score("p", 3, 10));
+
+        assertEquals(List.of("p", "a"), ids(index.top(5)));
+    }
+
+    @Test
+    void testReconcileDropsPendingScoresItAlreadyLoaded() {
+        warm(score("a", 4, 30));
+
+        index.reconcile();
+        index.onScoreSaved(pending("p", 3, 10));
+        index.onScoreSaved(pending("q", 5, 10));
+        loads.get(1).tryEmitValue(List.of(score("a", 4, 30), score("p", 3, 10)));
+
+        assertEquals(List.of("game-p", "game-a", "game-q"), games(index.top(5)));
+        assertEquals("p", index.top(1).get(0).id());
+    }
+
+    @Test
+    void testDroppedPendingScoreLeavesTheIndex() {
+        warm(score("a", 4, 30));
+        index.onScoreSaved(pending("p", 3, 10));
+
+        index.onScoreDropped(pending("p", 3, 10));
+        index.onScoreDropped(pending("nunca-guardado", 1, 1));
+
+        assertEquals(List.of("a"), ids(index.top(5)));
+    }
+
+    @Test
+    void testEvictedScoresCanComeBack() {
+        warm(score("a", 1, 10), score("b", 2, 10), score("c", 3, 10), score("d", 4, 10), score("e", 5, 10));
+
+        index.onScoreSaved(score("mejor", 1, 5));
+        index.onScoreSaved(score("e", 0, 1));
+
+        assertEquals(List.of("e", "mejor", "a", "b", "c"), ids(index.top(5)));
+    }
+}
@@ -0,0 +1,226 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.StubSupabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreJournalTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    // Filas con este game_id hacen fallar con 400 todo lote que las incluya
+    private static final String REJECTED_GAME = "\"game_id\":\"rechazada\"";
+
+    @TempDir
+    Path dir;
+
+    private StubSupabase supabase;
+    private WebClient client;
+    private List<String> bodies;
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        supabase = StubSupabase.start().rejectBodiesContaining(REJECTED_GAME);
+        client = supabase.client();
+        bodies = supabase.bodies();
+    }
+
+    @AfterEach
+    void stopServer() {
+        supabase.close();
+    }
+
+    private ScoreJournal open() throws IOException {
+        return new ScoreJournal(client, dir.resolve("scores.journal"), CAPACITY, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(30), 100, now::get);
+    }
+
+    private static Map<String, Object> row(int i) {
+        return Map.of("player_name", "Jugador " + i, "attempts", 5, "time_seconds", 60, "game_id", "g" + i);
+    }
+
+    private static void awaitReplay(ScoreJournal journal, long replayed) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (journal.getReplayedCount() + journal.getDiscardedCount() < replayed) {
+            assertTrue(System.nanoTime() < deadline, "El reenvío no terminó a tiempo");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testPendingEntriesSurviveReopen() throws IOException {
+        ScoreJournal journal = open();
+        long first = journal.append(row(1));
+        journal.append(row(2));
+        journal.append(row(3));
+        journal.acknowledge(first);
+        assertEquals(2, journal.getPending());
+
+        // Sin close(): simula una caída del proceso
+        ScoreJournal reopened = open();
+
+        assertEquals(2, reopened.getPending());
+        assertEquals(2, reopened.getRecoveredCount());
+        assertEquals(journal.getUsedBytes(), reopened.getUsedBytes());
+        reopened.close();
+        journal.close();
+    }
+
+    @Test
+    void testTornEntryIsDroppedOnRecovery() throws IOException {
+        ScoreJournal journal = open();
+        journal.append(row(1));
+        int afterFirst = journal.getUsedBytes();
+        journal.append(row(2));
+        journal.close();
+
+        // Corrompe un byte del JSON de la segunda entrada
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("scores.journal").toFile(), "rw")) {
+            file.seek(journal.getUsedBytes() - 3);
+            file.write('X');
+        }
+
+        ScoreJournal reopened = open();
+        assertEquals(1, reopened.getPending());
+        assertEquals(afterFirst, reopened.getUsedBytes());
+
+        // La próxima entrada ocupa el lugar de la corrupta
+        reopened.append(row(3));
+        reopened.close();
+        ScoreJournal again = open();
+        assertEquals(2, again.getPending());
+        again.close();
+    }
+
+    @Test
+    void testReplaySendsPendingEntriesAsOneArray() throws IOException, InterruptedException {
+        ScoreJournal journal = open();
+        long acked = journal.append(row(1));
+        journal.append(row(2));
+        journal.append(row(3));
+        journal.acknowledge(acked);
+
+        // Todavía no pasó replay-delay: la inserción original puede estar en curso
+        journal.replay();
+        assertTrue(bodies.isEmpty());
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        journal.replay();
+        awaitReplay(journal, 2);
+
+        assertEquals(1, bodies.size());
+        String body = bodies.get(0);
+        assertTrue(body.startsWith("[") && body.endsWith("]"), body);
+        assertFalse(body.contains("Jugador 1"));
+        assertTrue(body.contains("Jugador 2") && body.contains("Jugador 3"));
+        assertEquals(0, journal.getPending());
+        journal.close();
+
+        // Confirmadas: no se reenvían después de reabrir
+        ScoreJournal reopened = open();
+        assertEquals(0, reopened.getPending());
+        reopened.close();
+    }
+
+    @Test
+    void testFailedReplayKeepsEntriesPending() throws IOException, InterruptedException {
+        supabase.status(503);
+        ScoreJournal journal = open();
+        journal.append(row(1));
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        journal.replay();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (journal.getReplayFailureCount() == 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+        assertEquals(1, journal.getPending());
+
+        supabase.status(201);
+        Thread.sleep(50);
+        journal.replay();
+        awaitReplay(journal, 1);
+        assertEquals(0, journal.getPending());
+        journal.close();
+    }
+
+    @Test
+    void testRejectedEntriesAreDiscarded() throws IOException, InterruptedException {
+        supabase.status(400);
+        ScoreJournal journal = open();
+        journal.append(row(1));
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        journal.replay();
+        awaitReplay(journal, 1);
+
+        assertEquals(1, journal.getDiscardedCount());
+        assertEquals(0, journal.getPending());
+        journal.close();
+    }
+
+    @Test
+    void testRejectedRowIsDiscardedWithoutItsBatch() throws IOException, InterruptedException {
+        ScoreJournal journal = open();
+        List<Map<String, Object>> dropped = new CopyOnWriteArrayList<>();
+        journal.onDropped(dropped::add);
+        Map<String, Object> bad = Map.of("player_name", "Jugador x", "attempts", 5, "time_seconds", 60,
+            "game_id", "rechazada");
+        for (int i = 0; i < 10; i++) {
+            journal.append(i == 3 ? bad : row(i));
+        }
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        journal.replay();
+        awaitReplay(journal, 10);
+
+        assertEquals(9, journal.getReplayedCount());
+        assertEquals(1, journal.getDiscardedCount());
+        assertEquals(0, journal.getPending());
+        assertEquals(List.of(bad), dropped);
+        assertEquals(9, bodies.stream().mapToInt(body -> body.split("\"player_name\"", -1).length - 1).sum());
+        journal.close();
+    }
+
+    @Test
+    void testFullJournalRejectsAndCompactsOnceAcknowledged() throws IOException {
+        ScoreJournal journal = open();
+        int appended = 0;
+        long entry;
+        while ((entry = journal.append(row(appended))) >= 0) {
+            journal.acknowledge(entry);
+            appended++;
+        }
+        assertTrue(appended > 100);
+        assertEquals(1, journal.getFullCount());
+
+        // Todo confirmado: el reenvío reinicia el archivo desde el principio
+        journal.replay();
+        assertEquals(ScoreJournal.HEADER_SIZE, journal.getUsedBytes());
+        long next = journal.append(row(0));
+        assertTrue(next >= 0);
+        journal.close();
+
+        // Las entradas de la generación anterior no reaparecen
+        ScoreJournal reopened = open();
+        assertEquals(1, reopened.getPending());
+        reopened.close();
+    }
+}
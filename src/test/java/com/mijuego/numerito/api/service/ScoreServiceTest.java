@@ -0,0 +1,80 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.StubSupabase;
+import com.mijuego.numerito.api.dto.SaveScoreRequest;
+import com.mijuego.numerito.api.dto.ScoreResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private StubSupabase supabase;
+    private ScoreJournal journal;
+    private ScoreService service;
+
+    @BeforeEach
+    void start() throws IOException {
+        supabase = StubSupabase.start()
+            .respondWith("[{\"id\":\"s1\",\"player_name\":\"Ana\",\"attempts\":5,\"time_seconds\":60}]");
+        WebClient client = supabase.client();
+
+        journal = new ScoreJournal(client, dir.resolve("scores.journal"), 64 * 1024, Duration.ofSeconds(1),
+            Duration.ofSeconds(1), Duration.ofSeconds(30), 100, System::nanoTime);
+        service = new ScoreService(client, Optional.empty(), Optional.of(journal),
+            new DailyChallenge(0, ZoneOffset.UTC, 10), Duration.ofSeconds(2), Duration.ofSeconds(5),
+            Duration.ofSeconds(60), 100, 1000, 0, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        journal.close();
+        supabase.close();
+    }
+
+    private static SaveScoreRequest request() {
+        return new SaveScoreRequest("Ana", 5, "g1", 60);
+    }
+
+    @Test
+    void testSavedScoreIsAcknowledged() {
+        ScoreResponse saved = service.saveScore(request()).block();
+
+        assertEquals("s1", saved.id());
+        assertEquals(0, journal.getPending());
+        assertEquals(1, journal.getAcknowledgedCount());
+    }
+
+    @Test
+    void testServerErrorKeepsTheScorePendingInTheJournal() {
+        supabase.status(503);
+
+        ScoreResponse accepted = service.saveScore(request()).block();
+
+        assertNull(accepted.id());
+        assertEquals(1, journal.getPending());
+    }
+
+    @Test
+    void testRejectedScoreFailsAndIsDiscardedFromTheJournal() {
+        supabase.status(400);
+
+        assertThrows(ScoreRejectedException.class, () -> service.saveScore(request()).block());
+        assertEquals(0, journal.getPending());
+        assertEquals(1, journal.getDiscardedCount());
+        assertEquals(0, journal.getAcknowledgedCount());
+    }
+}
@@ -0,0 +1,190 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.api.StubSupabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreWriteBehindTest {
+
+    // Filas con este game_id hacen fallar con 400 todo lote que las incluya
+    private static final String REJECTED_GAME = "\"game_id\":\"rechazada\"";
+
+    private StubSupabase supabase;
+    private WebClient client;
+
+    // Cuerpos aceptados por el stub de Supabase
+    private List<String> bodies;
+
+    private ScoreWriteBehind writeBehind;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        supabase = StubSupabase.start().rejectBodiesContaining(REJECTED_GAME);
+        client = supabase.client();
+        bodies = supabase.bodies();
+    }
+
+    @AfterEach
+    void stopServer() throws InterruptedException {
+        supabase.release();
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+        supabase.close();
+    }
+
+    private ScoreWriteBehind start(int capacity, int batchSize, Duration flushInterval) {
+        writeBehind = new ScoreWriteBehind(client, capacity, batchSize, flushInterval, Duration.ofMillis(10),
+            Duration.ofMillis(20));
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    private static Map<String, Object> row(int i) {
+        return Map.of("player_name", "Jugador " + i, "attempts", 5, "time_seconds", 60, "game_id", "g" + i);
+    }
+
+    private static void awaitFlushed(ScoreWriteBehind writeBehind, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writeBehind.getFlushedCount() + writeBehind.getFailedCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "El lote no se envió a tiempo");
+            Thread.sleep(10);
+        }
+    }
+
+    private static int countRows(String body) {
+        return body.split("\"player_name\"", -1).length - 1;
+    }
+
+    @Test
+    void testFullBatchesAreSentAsOneArray() throws InterruptedException {
+        // Intervalo largo: solo el tamaño del lote dispara el envío
+        ScoreWriteBehind writeBehind = start(1000, 100, Duration.ofSeconds(5));
+        for (int i = 0; i < 200; i++) {
+            assertTrue(writeBehind.offer(row(i)));
+        }
+
+        awaitFlushed(writeBehind, 200);
+
+        assertEquals(2, bodies.size());
+        for (String body : bodies) {
+            assertTrue(body.startsWith("["), body);
+            assertEquals(100, countRows(body));
+        }
+        assertEquals(2, writeBehind.getBatchCount());
+        assertEquals(100.0, writeBehind.getAverageBatchSize());
+    }
+
+    @Test
+    void testPartialBatchIsSentAfterInterval() throws InterruptedException {
+        ScoreWriteBehind writeBehind = start(1000, 100, Duration.ofMillis(50));
+        for (int i = 0; i < 3; i++) {
+            writeBehind.offer(row(i));
+        }
+
+        awaitFlushed(writeBehind, 3);
+
+        assertEquals(1, bodies.size());
+        assertEquals(3, countRows(bodies.get(0)));
+    }
+
+    @Test
+    void testFailedBatchIsRetried() throws InterruptedException {
+        supabase.failNext(2);
+        ScoreWriteBehind writeBehind = start(1000, 10, Duration.ofMillis(20));
+        writeBehind.offer(row(1));
+
+        awaitFlushed(writeBehind, 1);
+
+        assertEquals(1, writeBehind.getFlushedCount());
+        assertEquals(0, writeBehind.getFailedCount());
+        assertEquals(2, writeBehind.getRetryCount());
+        assertEquals(1, bodies.size());
+    }
+
+    @Test
+    void testBatchIsKeptWhileSupabaseIsDown() throws InterruptedException {
+        // Más fallos que los reintentos de antes: el lote no se descarta
+        supabase.failNext(20);
+        List<Map<String, Object>> dropped = new CopyOnWriteArrayList<>();
+        ScoreWriteBehind writeBehind = start(1000, 10, Duration.ofMillis(20));
+        writeBehind.onDropped(dropped::add);
+        writeBehind.offer(row(1));
+        writeBehind.offer(row(2));
+
+        awaitFlushed(writeBehind, 2);
+
+        assertEquals(2, writeBehind.getFlushedCount());
+        assertEquals(0, writeBehind.getFailedCount());
+        assertEquals(20, writeBehind.getRetryCount());
+        assertTrue(dropped.isEmpty());
+        assertEquals(2, countRows(bodies.get(0)));
+    }
+
+    @Test
+    void testRejectedRowIsDroppedWithoutItsBatch() throws InterruptedException {
+        List<Map<String, Object>> dropped = new CopyOnWriteArrayList<>();
+        ScoreWriteBehind writeBehind = start(1000, 10, Duration.ofMillis(50));
+        writeBehind.onDropped(dropped::add);
+        Map<String, Object> bad = Map.of("player_name", "Jugador x", "attempts", 5, "time_seconds", 60,
+            "game_id", "rechazada");
+        for (int i = 0; i < 10; i++) {
+            writeBehind.offer(i == 6 ? bad : row(i));
+        }
+
+        awaitFlushed(writeBehind, 10);
+
+        assertEquals(9, writeBehind.getFlushedCount());
+        assertEquals(1, writeBehind.getFailedCount());
+        assertEquals(List.of(bad), dropped);
+        assertEquals(9, bodies.stream().mapToInt(ScoreWriteBehindTest::countRows).sum());
+        assertEquals(0, writeBehind.getRetryCount());
+    }
+
+    @Test
+    void testFullQueueRejectsScores() throws InterruptedException {
+        // El stub retiene el primer lote, así que la cola no se vacía
+        supabase.hold();
+        ScoreWriteBehind writeBehind = start(5, 1, Duration.ofMillis(10));
+        writeBehind.offer(row(0));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writeBehind.getQueued() > 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(writeBehind.offer(row(i)));
+        }
+        assertFalse(writeBehind.offer(row(6)));
+        assertEquals(1, writeBehind.getRejectedCount());
+
+        supabase.release();
+        awaitFlushed(writeBehind, 6);
+        assertEquals(6, writeBehind.getFlushedCount());
+    }
+
+    @Test
+    void testStopSendsPendingScores() throws InterruptedException {
+        ScoreWriteBehind writeBehind = start(1000, 100, Duration.ofSeconds(5));
+        for (int i = 0; i < 7; i++) {
+            writeBehind.offer(row(i));
+        }
+
+        writeBehind.stop();
+
+        assertEquals(7, writeBehind.getFlushedCount());
+        assertEquals(0, writeBehind.getQueued());
+    }
+}
@@ -0,0 +1,171 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.SecretNumberGenerator;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionExpiryTest {
+
+    private static final int IDLE = 600;
+    private static final int MAX = 3600;
+    private static final int FINISHED = 60;
+
+    private final AtomicInteger now = new AtomicInteger(1_000);
+    private final SessionClock clock = now::get;
+
+    private SessionStore sessions;
+    private SessionExpiry expiry;
+    private GameService service;
+
+    private void setUp(String storeType) {
+        sessions = storeType.equals("compact")
+            ? new CompactSessionStore(16, clock)
+            : new MapSessionStore(clock);
+        expiry = new SessionExpiry(sessions, new ExpiryPolicy(IDLE, MAX, FINISHED), new GameArchive(4), clock);
+        service = new GameService(sessions, expiry, new SecretNumberGenerator(),
+            new GameMetrics(new SimpleMeterRegistry()), new GameEvents(),
+            new DailyChallenge(0, ZoneOffset.UTC, 10));
+    }
+
+    private void advanceTo(int seconds) {
+        // El barrido corre una vez por segundo
+        while (now.get() < seconds) {
+            now.incrementAndGet();
+            expiry.sweep();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testAbandonedGameIsEvictedAfterIdleTtl(String storeType) throws Exception {
+        setUp(storeType);
+        String gameId = service.createGame();
+
+        advanceTo(1_000 + IDLE - 1);
+        assertEquals(1, service.getActiveGamesCount());
+
+        advanceTo(1_000 + IDLE + FINISHED);
+        assertEquals(0, service.getActiveGamesCount());
+        assertEquals(1, expiry.getEvictedIdleCount());
+        assertThrows(GameNotFoundException.class, () -> service.getGameState(gameId));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testActiveGameIsOnlyCheckedWhenItsTtlExpires(String storeType) throws Exception {
+        setUp(storeType);
+        service.createGame();
+
+        // Sin revisiones periódicas cada finished-ttl: la rueda no toca la partida antes del TTL
+        int checked = 0;
+        while (now.get() < 1_000 + IDLE - 1) {
+            now.incrementAndGet();
+            checked += expiry.sweep();
+        }
+        assertEquals(0, checked);
+        assertEquals(1, expiry.getPendingChecks());
+
+        advanceTo(1_000 + IDLE);
+        assertEquals(0, service.getActiveGamesCount());
+        assertEquals(1, expiry.getEvictedIdleCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testActiveGameIsEvictedAfterMaxTtl(String storeType) throws Exception {
+        setUp(storeType);
+        String gameId = sessions.create(CodeIndex.indexOf(1234));
+        expiry.track(gameId);
+
+        // Un intento cada 5 minutos mantiene la partida activa hasta el TTL absoluto
+        while (now.get() < 1_000 + MAX - 300) {
+            advanceTo(now.get() + 300);
+            service.makeGuess(gameId, "5678");
+        }
+        assertEquals(1, service.getActiveGamesCount());
+
+        advanceTo(1_000 + MAX + FINISHED);
+        assertEquals(0, service.getActiveGamesCount());
+        assertEquals(1, expiry.getEvictedMaxTtlCount());
+        assertEquals(0, expiry.getEvictedIdleCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testWonGameIsArchivedAndStillQueryable(String storeType) throws Exception {
+        setUp(storeType);
+        String gameId = service.createGame();
+        int attempts = winGame(gameId);
+
+        advanceTo(now.get() + 2 * FINISHED);
+
+        assertEquals(0, service.getActiveGamesCount());
+        assertEquals(1, expiry.getArchivedCount());
+        assertEquals(new GameState(attempts, true), service.getGameState(gameId));
+
+        InvalidGuessException exception = assertThrows(
+            InvalidGuessException.class,
+            () -> service.makeGuess(gameId, "1234")
+        );
+        assertTrue(exception.getMessage().contains("ya ha terminado"));
+
+        GameFinishedException finished = assertThrows(
+            GameFinishedException.class,
+            () -> service.getMoves(gameId)
+        );
+        assertTrue(finished.isArchived());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testArchiveDropsOldestGamesWhenFull(String storeType) throws Exception {
+        setUp(storeType);
+        String first = service.createGame();
+        winGame(first);
+        for (int i = 0; i < 4; i++) {
+            winGame(service.createGame());
+        }
+
+        advanceTo(now.get() + 2 * FINISHED);
+
+        assertEquals(5, expiry.getArchivedCount());
+        assertEquals(4, expiry.getArchivedGamesCount());
+        assertTrue(service.findGame(first).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testDeletedGameIsDroppedFromWheel(String storeType) {
+        setUp(storeType);
+        String gameId = service.createGame();
+        assertTrue(service.deleteGame(gameId));
+
+        advanceTo(1_000 + IDLE + FINISHED);
+
+        assertEquals(0, expiry.getEvictedIdleCount());
+        assertEquals(0, expiry.getPendingChecks());
+    }
+
+    /**
+     * Recorre los códigos hasta acertar el secreto. Retorna la cantidad de intentos.
+     */
+    private int winGame(String gameId) throws Exception {
+        for (int value = 1000; value <= 9999; value++) {
+            if (CodeIndex.indexOf(value) < 0) {
+                continue;
+            }
+            if (service.makeGuess(gameId, Integer.toString(value)).isWin()) {
+                return service.getGameState(gameId).attempts();
+            }
+        }
+        throw new AssertionError("No se encontró el secreto");
+    }
+}
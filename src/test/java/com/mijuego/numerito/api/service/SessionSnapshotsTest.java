@@ -0,0 +1,197 @@
+package com.mijuego.numerito.api.service;
+
+import com.mijuego.numerito.CodeIndex;
+import com.mijuego.numerito.GuessResult;
+import com.mijuego.numerito.MoveHistory;
+import com.mijuego.numerito.ScoreTable;
+import com.mijuego.numerito.exception.InvalidGuessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSnapshotsTest {
+
+    private static final int SECRET_1234 = CodeIndex.indexOf(1234);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger now = new AtomicInteger(1_000);
+    private final SessionClock clock = now::get;
+
+    private SessionStore newStore(String storeType) {
+        return storeType.equals("compact")
+            ? new CompactSessionStore(16, clock)
+            : new MapSessionStore(clock);
+    }
+
+    private SessionExpiry newExpiry(SessionStore store) {
+        return new SessionExpiry(store, new ExpiryPolicy(600, 3600, 60), new GameArchive(4), clock);
+    }
+
+    private SessionSnapshots snapshots(SessionStore store) {
+        return new SessionSnapshots(store, newExpiry(store), dir.resolve("sessions.snapshot"), Duration.ofHours(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testRestoreKeepsStateAndMoves(String storeType) throws Exception {
+        SessionStore store = newStore(storeType);
+        String fresh = store.create(SECRET_1234);
+        String playing = store.create(SECRET_1234);
+        String won = store.create(SECRET_1234);
+        store.guess(playing, "1325");
+        store.guess(playing, "5678");
+        store.guess(won, "1234");
+
+        assertEquals(3, snapshots(store).write());
+
+        SessionStore restored = newStore(storeType);
+        assertEquals(3, snapshots(restored).restore());
+
+        assertEquals(new GameState(0, false), restored.find(fresh));
+        assertEquals(new GameState(2, false), restored.find(playing));
+        assertEquals(new GameState(1, true), restored.find(won));
+        assertArrayEquals(store.moves(playing), restored.moves(playing));
+        assertArrayEquals(new int[] {MoveHistory.pack(SECRET_1234, ScoreTable.WIN)}, restored.moves(won));
+
+        // La partida sigue donde quedó
+        GuessResult next = restored.guess(playing, "1234");
+        assertTrue(next.isWin());
+        assertEquals(3, next.attemptNumber());
+        assertEquals(3, restored.moves(playing).length);
+        assertThrows(InvalidGuessException.class, () -> restored.guess(won, "1234"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testRestoredGamesKeepTheirTimestampsForExpiry(String storeType) throws Exception {
+        SessionStore store = newStore(storeType);
+        String gameId = store.create(SECRET_1234);
+        snapshots(store).write();
+
+        // Reinicio 500 segundos después: la inactividad acumulada cuenta
+        now.addAndGet(500);
+        SessionStore restored = newStore(storeType);
+        SessionExpiry expiry = newExpiry(restored);
+        new SessionSnapshots(restored, expiry, dir.resolve("sessions.snapshot"), Duration.ofHours(1)).restore();
+        assertEquals(1, expiry.getPendingChecks());
+
+        while (now.get() < 1_000 + 600 + 60) {
+            now.incrementAndGet();
+            expiry.sweep();
+        }
+        assertNull(restored.find(gameId));
+        assertEquals(1, expiry.getEvictedIdleCount());
+    }
+
+    @Test
+    void testMissingSnapshotRestoresNothing() throws IOException {
+        SessionStore store = newStore("map");
+        assertEquals(0, snapshots(store).restore());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejectedWithoutRestoringAnything() throws Exception {
+        SessionStore store = newStore("compact");
+        for (int i = 0; i < 100; i++) {
+            store.guess(store.create(SECRET_1234), "5678");
+        }
+        snapshots(store).write();
+
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("sessions.snapshot").toFile(), "rw")) {
+            file.seek(file.length() / 2);
+            int value = file.read();
+            file.seek(file.length() / 2);
+            file.write(value ^ 0xFF);
+        }
+
+        SessionStore restored = newStore("compact");
+        SessionSnapshots snapshots = snapshots(restored);
+        assertThrows(IOException.class, snapshots::restore);
+        assertEquals(0, restored.size());
+
+        // start() arranca igual, sin partidas
+        snapshots.start();
+        snapshots.stop();
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    void testStopWritesFinalSnapshotAtomically() throws Exception {
+        SessionStore store = newStore("map");
+        SessionSnapshots snapshots = snapshots(store);
+        snapshots.start();
+        String gameId = store.create(SECRET_1234);
+        snapshots.stop();
+
+        assertFalse(Files.exists(dir.resolve("sessions.snapshot.tmp")));
+        SessionStore restored = newStore("map");
+        snapshots(restored).restore();
+        assertNotNull(restored.find(gameId));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "compact"})
+    void testSnapshotDoesNotBlockConcurrentGuesses(String storeType) throws Exception {
+        SessionStore store = newStore(storeType);
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            gameIds.add(store.create(SECRET_1234));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> players = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                int offset = t;
+                players.add(executor.submit(() -> {
+                    int guesses = 0;
+                    for (int i = offset; running.get(); i = (i + 2) % gameIds.size()) {
+                        store.guess(gameIds.get(i), "5678");
+                        guesses++;
+                    }
+                    return guesses;
+                }));
+            }
+
+            SessionSnapshots snapshots = snapshots(store);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(gameIds.size(), snapshots.write());
+            }
+            running.set(false);
+            for (Future<Integer> player : players) {
+                assertTrue(player.get(10, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Como mucho falta la jugada del intento que estaba en curso al copiar la partida
+        SessionStore restored = newStore(storeType);
+        assertEquals(gameIds.size(), snapshots(restored).restore());
+        for (String gameId : gameIds) {
+            int missing = restored.find(gameId).attempts() - restored.moves(gameId).length;
+            assertTrue(missing == 0 || missing == 1, "Faltan " + missing + " jugadas en " + gameId);
+        }
+    }
+}
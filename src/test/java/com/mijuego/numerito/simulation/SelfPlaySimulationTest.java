@@ -0,0 +1,42 @@
+package com.mijuego.numerito.simulation;
+
+import com.mijuego.numerito.HintSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulationTest {
+
+    @Test
+    void testRandomStrategyWinsEveryGame() throws Exception {
+        SimulationReport report = new SelfPlaySimulation(new RandomCandidateStrategy(), 4, 42L).run(5_000);
+
+        assertEquals(5_000, report.games());
+        assertEquals(0, report.unfinished());
+        assertEquals(5_000, Arrays.stream(report.attemptsHistogram()).sum());
+        assertTrue(report.meanAttempts() > 3 && report.meanAttempts() < 8);
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+
+    @Test
+    void testSameSeedOnOneThreadIsReproducible() throws Exception {
+        SimulationReport first = new SelfPlaySimulation(new RandomCandidateStrategy(), 1, 7L).run(1_000);
+        SimulationReport second = new SelfPlaySimulation(new RandomCandidateStrategy(), 1, 7L).run(1_000);
+
+        assertArrayEquals(first.attemptsHistogram(), second.attemptsHistogram());
+        assertEquals(first.secretChiSquare(), second.secretChiSquare());
+    }
+
+    @Test
+    void testSolverStrategyNeverNeedsMoreThanEightGuesses() throws Exception {
+        try (HintSolver solver = new HintSolver(HintSolver.Strategy.MINIMAX, 0)) {
+            SimulationReport report = new SelfPlaySimulation(new SolverStrategy(solver), 2, 1L).run(200);
+
+            assertEquals(0, report.unfinished());
+            assertTrue(report.maxAttempts() <= 8);
+            assertEquals("minimax", report.strategy());
+        }
+    }
+}